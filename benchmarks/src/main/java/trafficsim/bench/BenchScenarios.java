@@ -0,0 +1,90 @@
+/***************************************************************
+
+- File:        BenchScenarios.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Scenario sizing and sampling shared by the benchmarks.
+
+- Description:
+- Configures the core ScenarioGenerator for a benchmark's size
+- parameters and draws seeded samples of intersections and roads, so
+- every suite runs on the same reproducible networks.
+
+***************************************************************/
+
+package trafficsim.bench;
+
+import java.util.List;
+import java.util.Random;
+
+import trafficsim.core.model.Intersection;
+import trafficsim.core.model.Road;
+import trafficsim.core.scenario.ScenarioGenerator;
+import trafficsim.core.scenario.ScenarioGenerator.Layout;
+
+final class BenchScenarios
+{
+    static final long SEED = 42L;
+
+    // guard cstr
+    private BenchScenarios()
+    {
+    }
+
+    /**
+    * Returns a generator for a network of the given size without cars.
+    *
+    * @param layout            The network shape.
+    * @param intersectionCount The number of intersections.
+    * @param roundaboutShare   The share of roundabouts, from 0 to 1.
+    * @return                  The configured generator.
+    */
+    static ScenarioGenerator network(Layout layout, int intersectionCount, double roundaboutShare)
+    {
+        ScenarioGenerator generator = new ScenarioGenerator(SEED);
+        generator.setLayout(layout);
+        generator.setIntersectionCount(intersectionCount);
+        generator.setRoundaboutShare(roundaboutShare);
+        return generator;
+    }
+
+    /**
+    * Returns a generator whose network averages carsPerRoad of the given cars on
+    * each road. Intersections are all signalised.
+    *
+    * @param layout      The network shape.
+    * @param carCount    The number of cars.
+    * @param carsPerRoad The average number of cars per road.
+    * @return            The configured generator.
+    */
+    static ScenarioGenerator withCars(Layout layout, int carCount, double carsPerRoad)
+    {
+        // the layouts all have close to four directed roads per intersection
+        int intersectionCount = Math.max(2, (int) Math.ceil(carCount / (4.0 * carsPerRoad)));
+        ScenarioGenerator generator = network(layout, intersectionCount, 0.0);
+        generator.setCarCount(carCount);
+        return generator;
+    }
+
+    static Intersection[] sampleIntersections(List<Intersection> intersections, int count)
+    {
+        Random rng = new Random(SEED);
+        Intersection[] sample = new Intersection[count];
+        for (int i = 0; i < count; ++i)
+        {
+            sample[i] = intersections.get(rng.nextInt(intersections.size()));
+        }
+        return sample;
+    }
+
+    static Road[] sampleRoads(List<Road> roads, int count)
+    {
+        Random rng = new Random(SEED);
+        Road[] sample = new Road[count];
+        for (int i = 0; i < count; ++i)
+        {
+            sample[i] = roads.get(rng.nextInt(roads.size()));
+        }
+        return sample;
+    }
+}
@@ -0,0 +1,116 @@
+/***************************************************************
+
+- File:        CarUpdateBenchmark.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Measures the cost of one tick of car updates.
+
+- Description:
+- Updates every car of a generated network once per operation, either
+- car by car with Car.update or in the engine's two phases with
+- computeNext and commit. Signals and lane order advance alongside,
+- as they would in the engine, so traffic keeps flowing instead of
+- settling into queues at red lights after a few seconds.
+
+***************************************************************/
+
+package trafficsim.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import trafficsim.core.model.Car;
+import trafficsim.core.model.Intersection;
+import trafficsim.core.model.Road;
+import trafficsim.core.model.RoadNetwork;
+import trafficsim.core.scenario.Scenario;
+import trafficsim.core.scenario.ScenarioGenerator.Layout;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CarUpdateBenchmark
+{
+    private static final double TICK_SECONDS = 0.016;
+    private static final int WARM_UP_TICKS = 2_000;
+
+    @Param({ "100", "1000", "10000" })
+    public int cars;
+
+    @Param({ "4" })
+    public double carsPerRoad;
+
+    @Param({ "GRID" })
+    public Layout layout;
+
+    private Intersection[] intersections;
+    private Road[] roads;
+    private Car[] carArray;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        Scenario scenario = BenchScenarios.withCars(layout, cars, carsPerRoad).generate(new RoadNetwork());
+        scenario.attachWithoutEngine();
+
+        intersections = scenario.intersections().toArray(new Intersection[0]);
+        roads = scenario.roads().toArray(new Road[0]);
+        carArray = scenario.cars().toArray(new Car[0]);
+
+        // let queues and gaps form before measuring
+        for (int i = 0; i < WARM_UP_TICKS; ++i)
+        {
+            twoPhaseTick();
+        }
+    }
+
+    @Benchmark
+    public void sequentialTick()
+    {
+        advanceWorld();
+        for (Car car : carArray)
+        {
+            car.update(TICK_SECONDS);
+        }
+    }
+
+    @Benchmark
+    public void twoPhaseTick()
+    {
+        advanceWorld();
+        for (Car car : carArray)
+        {
+            car.computeNext(TICK_SECONDS);
+        }
+        for (Car car : carArray)
+        {
+            car.commit();
+        }
+    }
+
+    private void advanceWorld()
+    {
+        for (Intersection intersection : intersections)
+        {
+            intersection.update(TICK_SECONDS);
+        }
+        for (Road road : roads)
+        {
+            road.update(TICK_SECONDS);
+        }
+    }
+}
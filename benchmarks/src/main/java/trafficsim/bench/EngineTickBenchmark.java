@@ -0,0 +1,86 @@
+/***************************************************************
+
+- File:        EngineTickBenchmark.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Measures the tick throughput of the simulation engine.
+
+- Description:
+- Loads a generated network and its cars, spread along their start
+- roads, into a MANUAL clock engine through the usual events, lets it
+- settle, then advances it one tick per operation. Covers event
+- draining, signal and road updates, the two-phase car update (in
+- parallel above the engine's threshold), and snapshot publishing.
+
+***************************************************************/
+
+package trafficsim.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import trafficsim.core.scenario.ScenarioGenerator.Layout;
+import trafficsim.core.sim.EngineConfig;
+import trafficsim.core.sim.SimulationEngine;
+import trafficsim.core.sim.SimulationEngine.ClockMode;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class EngineTickBenchmark
+{
+    private static final double SETTLE_SIM_SECONDS = 60.0;
+
+    @Param({ "100", "1000", "10000" })
+    public int cars;
+
+    @Param({ "4" })
+    public double carsPerRoad;
+
+    @Param({ "false", "true" })
+    public boolean vehicleStore;
+
+    @Param({ "GRID" })
+    public Layout layout;
+
+    private SimulationEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        EngineConfig config = new EngineConfig();
+        config.setClockMode(ClockMode.MANUAL);
+        config.setVehicleStoreEnabled(vehicleStore);
+        engine = new SimulationEngine(config);
+
+        BenchScenarios.withCars(layout, cars, carsPerRoad).generate(engine.roadNetwork()).postTo(engine);
+        engine.runUntil(SETTLE_SIM_SECONDS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        engine.shutdown();
+    }
+
+    @Benchmark
+    public void tick()
+    {
+        engine.step(1);
+    }
+}
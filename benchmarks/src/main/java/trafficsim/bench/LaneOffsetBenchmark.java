@@ -0,0 +1,66 @@
+/***************************************************************
+
+- File:        LaneOffsetBenchmark.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Measures the lane offset lookup used when drawing roads.
+
+- Description:
+- Calls IntersectionUtil.getLaneOffsetVector for a seeded sample of
+- roads from a generated grid, as the renderer does for each road and
+- car it places. Roads in all four grid directions are covered.
+
+***************************************************************/
+
+package trafficsim.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import trafficsim.core.model.Road;
+import trafficsim.core.model.RoadNetwork;
+import trafficsim.core.scenario.Scenario;
+import trafficsim.core.scenario.ScenarioGenerator.Layout;
+import trafficsim.ui.adapter.IntersectionUtil;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class LaneOffsetBenchmark
+{
+    private static final int ROAD_SAMPLE = 4096;
+
+    private Road[] roads;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        Scenario scenario = BenchScenarios.network(Layout.GRID, 1000, 0.0).generate(new RoadNetwork());
+        roads = BenchScenarios.sampleRoads(scenario.roads(), ROAD_SAMPLE);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROAD_SAMPLE)
+    public void getLaneOffsetVector(Blackhole bh)
+    {
+        for (Road road : roads)
+        {
+            bh.consume(IntersectionUtil.getLaneOffsetVector(road));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/***************************************************************
+
+- File:        LeaderLookupBenchmark.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Measures how a car finds the car ahead of it.
+
+- Description:
+- Car finds its leader through Road.leaderOf, which reads the road's
+- ordered occupancy list. Looks up the leader of every car on a grid
+- whose roads hold the given number of cars on average, so the cost per
+- lookup can be checked for independence from road crowding. Cars
+- are not moved, so each stays on its start road.
+
+***************************************************************/
+
+package trafficsim.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import trafficsim.core.model.Car;
+import trafficsim.core.model.Road;
+import trafficsim.core.model.RoadNetwork;
+import trafficsim.core.scenario.Scenario;
+import trafficsim.core.scenario.ScenarioGenerator.Layout;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class LeaderLookupBenchmark
+{
+    private static final int LOOKUPS = 10_000;
+
+    @Param({ "2", "16", "128" })
+    public int carsPerRoad;
+
+    private Car[] lookupCars;
+    private Road[] lookupRoads;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        Scenario scenario = BenchScenarios.withCars(Layout.GRID, LOOKUPS, carsPerRoad).generate(new RoadNetwork());
+        scenario.attachWithoutEngine();
+
+        lookupCars = scenario.cars().toArray(new Car[0]);
+        lookupRoads = scenario.spawnRoads().toArray(new Road[0]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public void leaderOf(Blackhole bh)
+    {
+        for (int i = 0; i < lookupCars.length; ++i)
+        {
+            bh.consume(lookupRoads[i].leaderOf(lookupCars[i]));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/***************************************************************
+
+- File:        RoadNetworkBenchmark.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Measures road network queries on large graphs.
+
+- Description:
+- Runs outgoing, findAllConnectedRoads and findOppositeRoad against
+- a generated network of the given number of intersections, cycling
+- through a fixed, seeded sample of intersections and roads so every
+- operation queries a different part of the graph.
+
+***************************************************************/
+
+package trafficsim.bench;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import trafficsim.core.model.Intersection;
+import trafficsim.core.model.Road;
+import trafficsim.core.model.RoadNetwork;
+import trafficsim.core.scenario.Scenario;
+import trafficsim.core.scenario.ScenarioGenerator.Layout;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class RoadNetworkBenchmark
+{
+    private static final int SAMPLE_SIZE = 1024; // power of two, see next()
+
+    @Param({ "100", "1000", "10000" })
+    public int intersections;
+
+    @Param({ "0.25" })
+    public double roundaboutShare;
+
+    @Param({ "GRID" })
+    public Layout layout;
+
+    private RoadNetwork network;
+    private Intersection[] sampleIntersections;
+    private Road[] sampleRoads;
+    private int cursor = 0;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        network = new RoadNetwork();
+        Scenario scenario = BenchScenarios.network(layout, intersections, roundaboutShare).generate(network);
+        scenario.attachWithoutEngine();
+
+        sampleIntersections = BenchScenarios.sampleIntersections(scenario.intersections(), SAMPLE_SIZE);
+        sampleRoads = BenchScenarios.sampleRoads(scenario.roads(), SAMPLE_SIZE);
+    }
+
+    @Benchmark
+    public List<Road> outgoing()
+    {
+        return network.outgoing(sampleIntersections[next()]);
+    }
+
+    @Benchmark
+    public List<Road> findAllConnectedRoads()
+    {
+        return network.findAllConnectedRoads(sampleIntersections[next()]);
+    }
+
+    @Benchmark
+    public Optional<Road> findOppositeRoad()
+    {
+        return network.findOppositeRoad(sampleRoads[next()]);
+    }
+
+    private int next()
+    {
+        cursor = (cursor + 1) & (SAMPLE_SIZE - 1);
+        return cursor;
+    }
+}
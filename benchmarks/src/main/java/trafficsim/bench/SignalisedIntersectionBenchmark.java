@@ -0,0 +1,87 @@
+/***************************************************************
+
+- File:        SignalisedIntersectionBenchmark.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Measures the per-tick update of signalised intersections.
+
+- Description:
+- Advances the signal cycle of every intersection of a generated
+- network by one tick per operation. Grid intersections have two to
+- four approaches, and their cycles are staggered by the warm-up so
+- phase changes are spread over the ticks as in a real network.
+
+***************************************************************/
+
+package trafficsim.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import trafficsim.core.model.Intersection;
+import trafficsim.core.model.RoadNetwork;
+import trafficsim.core.model.SignalisedIntersection;
+import trafficsim.core.scenario.Scenario;
+import trafficsim.core.scenario.ScenarioGenerator.Layout;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SignalisedIntersectionBenchmark
+{
+    private static final double TICK_SECONDS = 0.016;
+    private static final double MAX_STAGGER_SECONDS = 25.0;
+
+    @Param({ "100", "1000", "10000" })
+    public int intersections;
+
+    @Param({ "GRID" })
+    public Layout layout;
+
+    private SignalisedIntersection[] signalised;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        Scenario scenario = BenchScenarios.network(layout, intersections, 0.0).generate(new RoadNetwork());
+        scenario.attachWithoutEngine();
+        signalised = scenario.intersections().stream()
+                .map(SignalisedIntersection.class::cast)
+                .toArray(SignalisedIntersection[]::new);
+
+        // a seeded stagger, so intersections do not all change phase on the same tick
+        Random rng = new Random(BenchScenarios.SEED);
+        for (Intersection intersection : signalised)
+        {
+            int ticks = (int) (rng.nextDouble() * MAX_STAGGER_SECONDS / TICK_SECONDS);
+            for (int t = 0; t < ticks; ++t)
+            {
+                intersection.update(TICK_SECONDS);
+            }
+        }
+    }
+
+    @Benchmark
+    public void update()
+    {
+        for (SignalisedIntersection intersection : signalised)
+        {
+            intersection.update(TICK_SECONDS);
+        }
+    }
+}
@@ -4,9 +4,15 @@ module trafficsim
     requires javafx.fxml;
     requires org.jfxtras.styles.jmetro;
     requires javafx.graphics;
+    requires transitive jdk.management;
+    requires jdk.jfr;
 
     opens trafficsim.ui.controller to javafx.fxml;
 
     exports trafficsim.app;
+    exports trafficsim.core.events;
+    exports trafficsim.core.model;
+    exports trafficsim.core.scenario;
+    exports trafficsim.core.sim;
     exports trafficsim.ui.controller;
 }
@@ -0,0 +1,109 @@
+/***************************************************************
+
+- File:        AddCarsEvent.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Event for adding many cars to the simulation.
+
+- Description:
+- Encapsulates a request to spawn a batch of cars in one pass at a
+- tick boundary. Cars are dealt out over the given spawn intersections
+- in turn, so car i spawns at spawn point i modulo the number of
+- spawn points.
+
+***************************************************************/
+
+package trafficsim.core.events;
+
+import trafficsim.core.model.Car;
+import trafficsim.core.model.Intersection;
+import java.util.List;
+import java.util.Objects;
+
+public final class AddCarsEvent implements ModelCommandEvent
+{
+    private final List<Car> cars;
+    private final List<Intersection> spawnPoints;
+
+    /**
+    * Constructs an AddCarsEvent for the specified cars and spawn points.
+    *
+    * @param cars        The cars to be added, copied on construction.
+    * @param spawnPoints The intersections the cars spawn at, in turn.
+    * @throws IllegalArgumentException if there are cars but no spawn points.
+    */
+    public AddCarsEvent(List<Car> cars, List<? extends Intersection> spawnPoints)
+    {
+        if (!cars.isEmpty() && spawnPoints.isEmpty())
+        {
+            throw new IllegalArgumentException("at least one spawn point is required");
+        }
+        this.cars = List.copyOf(cars);
+        this.spawnPoints = List.copyOf(spawnPoints);
+    }
+
+    /**
+    * Returns the cars to be added to the simulation.
+    *
+    * @return An unmodifiable list of cars.
+    */
+    public List<Car> getCars()
+    {
+        return cars;
+    }
+
+    /**
+    * Returns the intersections the cars spawn at.
+    *
+    * @return An unmodifiable list of spawn intersections.
+    */
+    public List<Intersection> getSpawnPoints()
+    {
+        return spawnPoints;
+    }
+
+    /**
+    * Returns the intersection where the car at the given index spawns.
+    *
+    * @param carIndex Index into getCars().
+    * @return         The spawn Intersection.
+    */
+    public Intersection spawnPointFor(int carIndex)
+    {
+        return spawnPoints.get(carIndex % spawnPoints.size());
+    }
+
+    /**
+    * Checks if this event is equal to another object.
+    *
+    * @param o The object to compare with.
+    * @return  True if the objects are equal, false otherwise.
+    */
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass())
+        {
+            return false;
+        }
+
+        AddCarsEvent that = (AddCarsEvent) o;
+        return Objects.equals(cars, that.cars) && Objects.equals(spawnPoints, that.spawnPoints);
+    }
+
+    /**
+    * Computes the hash code for this event.
+    *
+    * @return The hash code.
+    */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(cars, spawnPoints);
+    }
+}
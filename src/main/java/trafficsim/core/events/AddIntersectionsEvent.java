@@ -0,0 +1,78 @@
+/***************************************************************
+
+- File:        AddIntersectionsEvent.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Event for adding many intersections to the simulation.
+
+- Description:
+- Encapsulates a request to add a batch of intersections to the
+- simulation model in one pass at a tick boundary. Used when loading
+- large layouts instead of posting one AddIntersectionEvent each.
+
+***************************************************************/
+
+package trafficsim.core.events;
+
+import trafficsim.core.model.Intersection;
+import java.util.List;
+import java.util.Objects;
+
+public final class AddIntersectionsEvent implements ModelCommandEvent
+{
+    private final List<Intersection> intersections;
+
+    /**
+    * Constructs an AddIntersectionsEvent for the specified intersections.
+    *
+    * @param intersections The intersections to be added, copied on construction.
+    */
+    public AddIntersectionsEvent(List<? extends Intersection> intersections)
+    {
+        this.intersections = List.copyOf(intersections);
+    }
+
+    /**
+    * Returns the intersections to be added to the simulation.
+    *
+    * @return An unmodifiable list of intersections.
+    */
+    public List<Intersection> getIntersections()
+    {
+        return intersections;
+    }
+
+    /**
+    * Checks if this event is equal to another object.
+    *
+    * @param o The object to compare with.
+    * @return  True if the objects are equal, false otherwise.
+    */
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass())
+        {
+            return false;
+        }
+
+        AddIntersectionsEvent that = (AddIntersectionsEvent) o;
+        return Objects.equals(intersections, that.intersections);
+    }
+
+    /**
+    * Computes the hash code for this event.
+    *
+    * @return The hash code.
+    */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(intersections);
+    }
+}
@@ -0,0 +1,78 @@
+/***************************************************************
+
+- File:        AddRoadsEvent.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Event for adding many roads to the simulation.
+
+- Description:
+- Encapsulates a request to add a batch of road segments to the
+- simulation model in one pass at a tick boundary. Roads are one-way,
+- so a two-way street needs both directions in the batch.
+
+***************************************************************/
+
+package trafficsim.core.events;
+
+import trafficsim.core.model.Road;
+import java.util.List;
+import java.util.Objects;
+
+public final class AddRoadsEvent implements ModelCommandEvent
+{
+    private final List<Road> roads;
+
+    /**
+    * Constructs an AddRoadsEvent for the specified roads.
+    *
+    * @param roads The roads to be added, copied on construction.
+    */
+    public AddRoadsEvent(List<Road> roads)
+    {
+        this.roads = List.copyOf(roads);
+    }
+
+    /**
+    * Returns the roads to be added to the simulation.
+    *
+    * @return An unmodifiable list of roads.
+    */
+    public List<Road> getRoads()
+    {
+        return roads;
+    }
+
+    /**
+    * Checks if this event is equal to another object.
+    *
+    * @param o The object to compare with.
+    * @return  True if the objects are equal, false otherwise.
+    */
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass())
+        {
+            return false;
+        }
+
+        AddRoadsEvent that = (AddRoadsEvent) o;
+        return Objects.equals(roads, that.roads);
+    }
+
+    /**
+    * Computes the hash code for this event.
+    *
+    * @return The hash code.
+    */
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(roads);
+    }
+}
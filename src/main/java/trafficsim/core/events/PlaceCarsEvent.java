@@ -0,0 +1,117 @@
+/***************************************************************
+
+- File:        PlaceCarsEvent.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Event for adding many cars at given road positions.
+
+- Description:
+- Encapsulates a request to add a batch of cars in one pass at a tick
+- boundary, each on a road of its own at a given offset along it,
+- rather than at the start of a road leaving a spawn intersection as
+- AddCarsEvent does. Used to load prepared scenarios whose cars are
+- already spread over the network.
+
+***************************************************************/
+
+package trafficsim.core.events;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import trafficsim.core.model.Car;
+import trafficsim.core.model.Road;
+
+public final class PlaceCarsEvent implements ModelCommandEvent
+{
+    private final List<Car> cars;
+    private final List<Road> roads;
+    private final double[] offsets;
+
+    /**
+    * Constructs a PlaceCarsEvent for the specified cars and positions.
+    *
+    * @param cars    The cars to be added, copied on construction.
+    * @param roads   The road each car starts on, in the order of cars.
+    * @param offsets The offset in meters along its road where each car starts.
+    * @throws IllegalArgumentException if the three lists differ in length.
+    */
+    public PlaceCarsEvent(List<Car> cars, List<Road> roads, double[] offsets)
+    {
+        if (roads.size() != cars.size() || offsets.length != cars.size())
+        {
+            throw new IllegalArgumentException("need one road and one offset per car");
+        }
+        this.cars = List.copyOf(cars);
+        this.roads = List.copyOf(roads);
+        this.offsets = offsets.clone();
+    }
+
+    /**
+    * Returns the cars to be added to the simulation.
+    *
+    * @return An unmodifiable list of cars.
+    */
+    public List<Car> getCars()
+    {
+        return cars;
+    }
+
+    /**
+    * Returns the road the car at the given index starts on.
+    *
+    * @param carIndex Index into getCars().
+    * @return         The start Road.
+    */
+    public Road roadFor(int carIndex)
+    {
+        return roads.get(carIndex);
+    }
+
+    /**
+    * Returns where along its road the car at the given index starts.
+    *
+    * @param carIndex Index into getCars().
+    * @return         The offset in meters.
+    */
+    public double offsetFor(int carIndex)
+    {
+        return offsets[carIndex];
+    }
+
+    /**
+    * Checks if this event is equal to another object.
+    *
+    * @param o The object to compare with.
+    * @return  True if the objects are equal, false otherwise.
+    */
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass())
+        {
+            return false;
+        }
+
+        PlaceCarsEvent that = (PlaceCarsEvent) o;
+        return Objects.equals(cars, that.cars) && Objects.equals(roads, that.roads)
+                && Arrays.equals(offsets, that.offsets);
+    }
+
+    /**
+    * Computes the hash code for this event.
+    *
+    * @return The hash code.
+    */
+    @Override
+    public int hashCode()
+    {
+        return 31 * Objects.hash(cars, roads) + Arrays.hashCode(offsets);
+    }
+}
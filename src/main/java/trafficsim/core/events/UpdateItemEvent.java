@@ -8,7 +8,11 @@
 - Description:
 - Encapsulates an update operation for a simulation object, using a
 - Consumer to apply changes to the item. Used for model updates that
-- require a command/event pattern.
+- require a command/event pattern. An update that sets every property
+- it touches to a final value, rather than changing them relative to
+- their current values, can be marked as carrying the item's full
+- state; the engine then lets a later such update for the same item
+- replace it while it waits in the queue.
 
 ***************************************************************/
 
@@ -20,17 +24,58 @@ public final class UpdateItemEvent<T> implements AppliableCommand
 {
     private final T item;
     private final Consumer<T> updater;
+    private final boolean isFullState;
 
     /**
-    * Constructs an UpdateItemEvent for the given item and updater.
+    * Constructs an UpdateItemEvent for the given item and updater. The update
+    * is always applied, after any update posted before it.
     *
     * @param item    The item to be updated.
     * @param updater The Consumer that applies the update to the item.
     */
     public UpdateItemEvent(T item, Consumer<T> updater)
+    {
+        this(item, updater, false);
+    }
+
+    /**
+    * Constructs an UpdateItemEvent for the given item and updater.
+    * A full-state update must set the same properties as every other
+    * full-state update of the item, each to a value that does not depend on
+    * the item's current state, because a later full-state update for the same
+    * item replaces it, unapplied, while it is still queued.
+    *
+    * @param item        The item to be updated.
+    * @param updater     The Consumer that applies the update to the item.
+    * @param isFullState True if the update may be replaced by a later full-state
+    *                    update of the same item.
+    */
+    public UpdateItemEvent(T item, Consumer<T> updater, boolean isFullState)
     {
         this.item = item;
         this.updater = updater;
+        this.isFullState = isFullState;
+    }
+
+    /**
+    * Returns the item this event updates.
+    *
+    * @return The item to be updated.
+    */
+    public T getItem()
+    {
+        return item;
+    }
+
+    /**
+    * Returns whether this update carries the item's full state, so that a later
+    * full-state update of the same item may replace it.
+    *
+    * @return True for a full-state update.
+    */
+    public boolean isFullState()
+    {
+        return isFullState;
     }
 
     /**
@@ -8,42 +8,49 @@
 - Description:
 - Simulates car dynamics, including speed, acceleration, lane following,
 - and interaction with traffic lights and other cars. Handles movement,
-- collision avoidance, and state updates for each simulation tick.
+- collision avoidance, and state updates for each simulation tick. Updates
+- run in two phases (compute, then commit) so that every car reads the
+- same snapshot of its neighbours regardless of update order. When the
+- car is held in a VehicleStore, its state lives in the store's arrays
+- and this object is only a handle for the UI and events.
 
 ***************************************************************/
 
 package trafficsim.core.model;
 
-import java.util.List;
-import java.util.Optional;
 import java.util.Random;
-import java.util.stream.Collectors;
-import trafficsim.ui.adapter.IntersectionUtil;
 
 public class Car implements Updatable
 {
-    private static final double STOP_LINE_OFFSET_METERS = 7.0;
-    private static final double CAR_LENGTH_METERS = 5.0;
-    private static final double SAFE_FOLLOWING_GAP_METERS = 3.0;
-
     private volatile double maxSpeed;
     private volatile double acceleration;
     private final RoadNetwork net;
-    private final Random rng = new Random();
+    private final Random rng;
     private volatile boolean showDataBubble = true;
 
     private final Object stateLock = new Object();
 
-    // Dynamic state - guarded by stateLock
+    // Committed state - written by the simulation thread under stateLock,
+    // read without locking by every car during the compute phase
     private Road road;
     private double s;
     private double v;
+    private double targetV;
     private Road initialRoad;
     private double initialS;
 
-    // internal state
-    private double targetV;
-    private List<Updatable> allSimObjects;
+    // Next state - written only by this car's compute phase, published by commit
+    private Road nextRoad;
+    private double nextS;
+    private double nextV;
+    private double nextTargetV;
+
+    // position in the current road's occupancy ring, maintained by Road
+    int laneIndex = -1;
+
+    // set while the car's state lives in a VehicleStore, maintained by the store
+    volatile VehicleStore store;
+    int slot = -1;
 
     /**
     * Constructs a Car with the specified road network, maximum speed, and acceleration.
@@ -53,8 +60,28 @@ public class Car implements Updatable
     * @param acceleration The acceleration of the car (m/s^2).
     */
     public Car(RoadNetwork net, double maxSpeed, double acceleration)
+    {
+        this(net, maxSpeed, acceleration, new Random());
+    }
+
+    /**
+    * Constructs a Car whose route choices follow a seeded random stream, so a
+    * scenario replays the same way every run.
+    *
+    * @param net          The RoadNetwork the car operates in.
+    * @param maxSpeed     The maximum speed of the car (m/s).
+    * @param acceleration The acceleration of the car (m/s^2).
+    * @param seed         The seed for the car's route choices.
+    */
+    public Car(RoadNetwork net, double maxSpeed, double acceleration, long seed)
+    {
+        this(net, maxSpeed, acceleration, new Random(seed));
+    }
+
+    private Car(RoadNetwork net, double maxSpeed, double acceleration, Random rng)
     {
         this.net = net;
+        this.rng = rng;
         this.maxSpeed = maxSpeed;
         this.acceleration = acceleration;
         this.v = 0.0;
@@ -79,6 +106,12 @@ public class Car implements Updatable
     */
     public double getVelocity()
     {
+        VehicleStore bound = store;
+        if (bound != null)
+        {
+            return bound.velocityOf(this);
+        }
+
         synchronized (stateLock)
         {
             return this.v;
@@ -94,244 +127,180 @@ public class Car implements Updatable
     */
     public void attachTo(Road road, double offsetMeters)
     {
-        this.road = road;
-        this.s = Math.max(0.0, Math.min(offsetMeters, road.length()));
+        synchronized (stateLock)
+        {
+            moveToRoad(road, Math.max(0.0, Math.min(offsetMeters, road.length())));
 
-        this.initialRoad = this.road;
-        this.initialS = this.s;
+            this.initialRoad = this.road;
+            this.initialS = this.s;
+        }
     }
 
     /**
-    * Resets the car to its initial road and position, and stops its motion.
+    * Removes the car from the road it is on, e.g. when it is deleted from the simulation.
     */
-    public void resetToInitialState()
-    {
-        this.road = this.initialRoad;
-        this.s = this.initialS;
-        this.v = 0.0;
-        this.targetV = 0.0;
-    }
-
-    private boolean shouldStopForLight()
+    public void detach()
     {
-        if (road == null)
-        {
-            return true;
-        }
-        Intersection dest = road.to();
-        TrafficLightState lightState = dest.getSignalStateFor(road);
-
-        if (lightState == TrafficLightState.GREEN)
-        {
-            return false;
-        }
-
-        if (lightState == TrafficLightState.RED)
-        {
-            return true;
-        }
-
-        if (acceleration < 1e-6)
+        synchronized (stateLock)
         {
-            return true;
+            moveToRoad(null, 0.0);
+            this.v = 0.0;
+            this.targetV = 0.0;
         }
-
-        double stopLine = Math.max(0, road.length() - STOP_LINE_OFFSET_METERS);
-        double remainingDistanceToStopLine = stopLine - s;
-        double requiredStoppingDistance = (v * v) / (2.0 * acceleration);
-
-        return remainingDistanceToStopLine <= requiredStoppingDistance;
     }
 
     /**
-    * Updates the car's state for the given time step.
-    * Handles speed adjustment, movement, traffic light compliance,
-    * and lane following logic.
-    *
-    * @param deltaTime The time step in seconds.
+    * Resets the car to its initial road and position, and stops its motion.
     */
-    @Override
-    public void update(double deltaTime)
+    public void resetToInitialState()
     {
         synchronized (stateLock)
         {
-            if (road == null)
-            {
-                return;
-            }
-        }
-
-        decideTargetSpeed();
-
-        if (Math.abs(v - targetV) < 1e-3)
-        {
-            v = targetV;
-        } else if (v < targetV)
-        {
-            v = Math.min(v + acceleration * deltaTime, targetV);
-        } else
-        {
-            v = Math.max(v - acceleration * deltaTime, targetV);
+            moveToRoad(this.initialRoad, this.initialS);
+            this.v = 0.0;
+            this.targetV = 0.0;
         }
+    }
 
-        double potentialNewS = s + v * deltaTime;
-        boolean stopIsRequired = shouldStopForLight();
-
-        if (stopIsRequired)
+    /**
+    * Moves the car to a road and offset, keeping both roads' occupancy in step.
+    * Must be called on the simulation thread while holding stateLock.
+    *
+    * @param newRoad The road to move to, or null to leave the network.
+    * @param newS    The offset along the new road in meters.
+    */
+    private void moveToRoad(Road newRoad, double newS)
+    {
+        if (newRoad != this.road)
         {
-            double stopLine = Math.max(0, road.length() - STOP_LINE_OFFSET_METERS);
-            if (potentialNewS >= stopLine)
-            {
-                s = stopLine;
-                v = 0;
-            } else
+            if (this.road != null)
             {
-                s = potentialNewS;
+                this.road.leave(this);
             }
-        } else
-        {
-            if (potentialNewS >= road.length())
+            if (newRoad != null)
             {
-                Optional<Road> nextRoadOpt = findNextRoad();
-                if (nextRoadOpt.isPresent())
-                {
-                    double overflowDistance = potentialNewS - road.length();
-                    this.road = nextRoadOpt.get();
-                    this.s = overflowDistance;
-                    this.v = Math.min(v, this.road.speedLimit());
-                } else
-                {
-                    // dead end, no uturns on signalised intersections
-                    s = road.length();
-                    v = 0;
-                }
-            } else
-            {
-                s = potentialNewS;
+                newRoad.enter(this, newS);
             }
         }
-
+        this.road = newRoad;
+        this.s = newS;
     }
 
     /**
-    * Sets the list of all simulation objects for leader-finding and collision avoidance.
+    * Returns the committed offset along the current road, for the road's occupancy ordering.
     *
-    * @param objects List of Updatable simulation objects.
+    * @return The offset in meters.
     */
-    public void setSimulationObjects(List<Updatable> objects)
+    double distanceAlongRoad()
     {
-        this.allSimObjects = objects;
+        return s;
     }
 
-    private Optional<Car> findLeader()
+    /**
+    * Returns a seed for a VehicleStore's per-car random stream.
+    *
+    * @return A random, non-zero seed.
+    */
+    long nextSeed()
     {
-        if (allSimObjects == null || road == null)
-        {
-            return Optional.empty();
-        }
-
-        Car leader = null;
-        double minDistance = Double.POSITIVE_INFINITY;
+        long seed = rng.nextLong();
+        return seed != 0 ? seed : 1L;
+    }
 
-        for (Updatable obj : allSimObjects)
-        {
-            if (obj instanceof Car && obj != this)
-            {
-                Car otherCar = (Car) obj;
-
-                synchronized (otherCar.stateLock)
-                {
-                    if (otherCar.road == this.road && otherCar.s > this.s)
-                    {
-                        double distance = otherCar.s - this.s;
-                        if (distance < minDistance)
-                        {
-                            minDistance = distance;
-                            leader = otherCar;
-                        }
-                    }
-                }
-            }
-        }
-        return Optional.ofNullable(leader);
+    /**
+    * Updates the car's state for the given time step.
+    * Computes and immediately commits the next state; use computeNext and commit
+    * separately to update many cars against one consistent snapshot.
+    *
+    * @param deltaTime The time step in seconds.
+    */
+    @Override
+    public void update(double deltaTime)
+    {
+        computeNext(deltaTime);
+        commit();
     }
 
     /**
-    * Determines the car's target speed based on speed limits, traffic lights,
-    * and the position of the leading car (if any). Calculates a safe speed
-    * to avoid collisions and to stop at red lights if necessary.
+    * First phase of a two-phase tick. Computes the car's next speed, position and
+    * road from the committed state of this car and its neighbours, without
+    * modifying any committed state. Handles speed adjustment, movement, traffic
+    * light compliance and lane following. Safe to call for many cars in parallel
+    * as long as no car commits until every car has computed.
+    *
+    * @param deltaTime The time step in seconds.
     */
-    private void decideTargetSpeed()
+    public void computeNext(double deltaTime)
     {
-        double effectiveSpeedLimit = Math.min(maxSpeed, road.speedLimit());
-        double closestObstacleDistance = Double.POSITIVE_INFINITY;
+        Road curRoad = this.road;
+        double curS = this.s;
+        double curV = this.v;
+        double accel = this.acceleration;
 
-        if (shouldStopForLight())
+        nextRoad = curRoad;
+        nextS = curS;
+        nextV = curV;
+        nextTargetV = targetV;
+
+        if (curRoad == null)
         {
-            double stopLine = Math.max(0, road.length() - STOP_LINE_OFFSET_METERS);
-            closestObstacleDistance = Math.max(0, stopLine - s);
+            return;
         }
 
-        Optional<Car> leaderOpt = findLeader();
-        if (leaderOpt.isPresent())
-        {
-            Car leader = leaderOpt.get();
-            double leaderS;
+        Car leader = curRoad.leaderOf(this);
+        double target = CarDynamics.targetSpeed(curRoad, curS, curV, accel, maxSpeed, leader != null,
+                leader != null ? leader.s : 0.0);
+        double newV = CarDynamics.approachSpeed(curV, target, accel, deltaTime);
 
-            synchronized (leader.stateLock)
+        nextTargetV = target;
+        double potentialNewS = curS + newV * deltaTime;
+
+        if (CarDynamics.shouldStopForLight(curRoad, curS, newV, accel))
+        {
+            double stopLine = CarDynamics.stopLine(curRoad);
+            if (potentialNewS >= stopLine)
+            {
+                nextS = stopLine;
+                nextV = 0;
+            } else
             {
-                leaderS = leader.s;
+                nextS = potentialNewS;
+                nextV = newV;
             }
-
-            double distanceToLeader = (leaderS - this.s) - CAR_LENGTH_METERS - SAFE_FOLLOWING_GAP_METERS;
-
-            closestObstacleDistance = Math.min(closestObstacleDistance, Math.max(0, distanceToLeader));
-        }
-
-        if (closestObstacleDistance != Double.POSITIVE_INFINITY)
+        } else if (potentialNewS >= curRoad.length())
         {
-            double safeSpeed = Math.sqrt(2.0 * acceleration * closestObstacleDistance);
-            targetV = Math.min(effectiveSpeedLimit, safeSpeed);
+            Road next = CarDynamics.chooseNextRoad(net, curRoad, rng.nextDouble());
+            if (next != null)
+            {
+                double overflowDistance = potentialNewS - curRoad.length();
+                nextRoad = next;
+                nextS = overflowDistance;
+                nextV = Math.min(newV, next.speedLimit());
+            } else
+            {
+                // dead end, no uturns on signalised intersections
+                nextS = curRoad.length();
+                nextV = 0;
+            }
         } else
         {
-            targetV = effectiveSpeedLimit;
+            nextS = potentialNewS;
+            nextV = newV;
         }
     }
 
     /**
-    * Selects the next road for the car to enter when it reaches the end of its current road.
-    * Avoids U-turns at signalised intersections. Returns an Optional containing the next road,
-    * or empty if no valid continuation exists.
-    *
-    * @return Optional containing the next Road, or empty if at a dead end.
+    * Second phase of a two-phase tick. Publishes the state prepared by
+    * computeNext as the car's committed state.
     */
-    private Optional<Road> findNextRoad()
+    public void commit()
     {
-        Intersection node = road.to();
-        Intersection prevNode = road.from();
-        List<Road> allOutgoing = net.outgoing(node);
-
-        if (allOutgoing.isEmpty())
-        {
-            return Optional.empty();
-        }
-
-        List<Road> validChoices;
-        if (node instanceof SignalisedIntersection)
-        {
-            validChoices = allOutgoing.stream().filter(r -> r.to() != prevNode).collect(Collectors.toList());
-        } else
-        {
-            validChoices = allOutgoing;
-        }
-
-        if (validChoices.isEmpty())
+        synchronized (stateLock)
         {
-            return Optional.empty();
+            moveToRoad(nextRoad, nextS);
+            this.v = nextV;
+            this.targetV = nextTargetV;
         }
-
-        return Optional.of(validChoices.get(rng.nextInt(validChoices.size())));
-
     }
 
     /**
@@ -342,6 +311,12 @@ public class Car implements Updatable
     */
     public Vec2 worldPos()
     {
+        VehicleStore bound = store;
+        if (bound != null)
+        {
+            return bound.worldPosOf(this);
+        }
+
         Road localRoad;
         double localS;
 
@@ -351,29 +326,7 @@ public class Car implements Updatable
             localS = this.s;
         }
 
-        if (localRoad == null)
-        {
-            return new Vec2(0, 0);
-        }
-
-        Vec2 a = road.from().position();
-        Vec2 b = road.to().position();
-
-        double dx = b.x - a.x;
-        double dy = b.y - a.y;
-        double lengthMeters = road.length();
-
-        double t = lengthMeters > 0 ? Math.min(1.0, s / lengthMeters) : 0;
-
-        double centerX = a.x + dx * t;
-        double centerY = a.y + dy * t;
-
-        Vec2 offsetPx = IntersectionUtil.getLaneOffsetVector(road);
-
-        double offsetX_meters = offsetPx.x / IntersectionUtil.PX_PER_M;
-        double offsetY_meters = offsetPx.y / IntersectionUtil.PX_PER_M;
-
-        return new Vec2(centerX + offsetX_meters, centerY + offsetY_meters);
+        return CarDynamics.worldPosition(localRoad, localS);
     }
 
     /**
@@ -383,13 +336,37 @@ public class Car implements Updatable
     */
     public double headingRad()
     {
-        if (road == null)
+        VehicleStore bound = store;
+        if (bound != null)
         {
-            return 0.0;
+            return bound.headingOf(this);
         }
 
-        Vec2 a = road.from().position(), b = road.to().position();
-        return Math.atan2(b.y - a.y, b.x - a.x);
+        Road localRoad;
+        synchronized (stateLock)
+        {
+            localRoad = this.road;
+        }
+
+        return CarDynamics.heading(localRoad);
+    }
+
+    /**
+    * Writes the car's committed world position, heading and speed into the given
+    * arrays at index i. Reads without locking, so it must be called on the
+    * simulation thread between ticks, and only for a car not held in a VehicleStore.
+    *
+    * @param i       The index to write.
+    * @param x       Receives the x world coordinate in meters.
+    * @param y       Receives the y world coordinate in meters.
+    * @param heading Receives the heading in radians.
+    * @param speed   Receives the speed in meters per second.
+    */
+    public void sampleInto(int i, double[] x, double[] y, double[] heading, double[] speed)
+    {
+        CarDynamics.worldPositionInto(road, s, x, y, i);
+        heading[i] = CarDynamics.heading(road);
+        speed[i] = v;
     }
 
     public double getMaxSpeed()
@@ -405,11 +382,21 @@ public class Car implements Updatable
     public void setMaxSpeed(double v)
     {
         this.maxSpeed = Math.max(0, v);
+        VehicleStore bound = store;
+        if (bound != null)
+        {
+            bound.setMaxSpeed(this, this.maxSpeed);
+        }
     }
 
     public void setAcceleration(double a)
     {
         this.acceleration = Math.max(0, a);
+        VehicleStore bound = store;
+        if (bound != null)
+        {
+            bound.setAcceleration(this, this.acceleration);
+        }
     }
 
     public boolean getShowDataBubble()
@@ -421,4 +408,4 @@ public class Car implements Updatable
     {
         this.showDataBubble = show;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,259 @@
+/***************************************************************
+
+- File:        CarDynamics.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Shared car kinematics for the simulation.
+
+- Description:
+- Stateless rules for target speed, traffic light compliance, speed
+- changes, route choice and road geometry. Used both by Car objects
+- and by the array-backed VehicleStore, so the two storage layouts
+- drive identically.
+
+***************************************************************/
+
+package trafficsim.core.model;
+
+import java.util.List;
+
+final class CarDynamics
+{
+    static final double STOP_LINE_OFFSET_METERS = 7.0;
+    static final double CAR_LENGTH_METERS = 5.0;
+    static final double SAFE_FOLLOWING_GAP_METERS = 3.0;
+
+    // guard cstr
+    private CarDynamics()
+    {
+    }
+
+    /**
+    * Returns the offset along the road at which cars stop for a signal.
+    *
+    * @param road The road being driven.
+    * @return     The stop line offset in meters.
+    */
+    static double stopLine(Road road)
+    {
+        return Math.max(0, road.length() - STOP_LINE_OFFSET_METERS);
+    }
+
+    /**
+    * Decides whether a car must stop at the end of its road. Red always stops,
+    * green never does, and yellow stops if the car can still brake before the line.
+    *
+    * @param road         The road being driven.
+    * @param s            The car's offset along the road in meters.
+    * @param v            The car's speed in meters per second.
+    * @param acceleration The car's acceleration in meters per second squared.
+    * @return             True if the car should stop at the stop line.
+    */
+    static boolean shouldStopForLight(Road road, double s, double v, double acceleration)
+    {
+        if (road == null)
+        {
+            return true;
+        }
+        TrafficLightState lightState = road.to().getSignalStateFor(road);
+
+        if (lightState == TrafficLightState.GREEN)
+        {
+            return false;
+        }
+
+        if (lightState == TrafficLightState.RED)
+        {
+            return true;
+        }
+
+        if (acceleration < 1e-6)
+        {
+            return true;
+        }
+
+        double remainingDistanceToStopLine = stopLine(road) - s;
+        double requiredStoppingDistance = (v * v) / (2.0 * acceleration);
+
+        return remainingDistanceToStopLine <= requiredStoppingDistance;
+    }
+
+    /**
+    * Determines a car's target speed based on speed limits, traffic lights,
+    * and the position of the leading car (if any). Calculates a safe speed
+    * to avoid collisions and to stop at red lights if necessary.
+    *
+    * @param road         The road being driven.
+    * @param s            The car's offset along the road in meters.
+    * @param v            The car's speed in meters per second.
+    * @param acceleration The car's acceleration in meters per second squared.
+    * @param maxSpeed     The car's maximum speed in meters per second.
+    * @param hasLeader    Whether another car is ahead on the same road.
+    * @param leaderS      The leading car's offset in meters, if there is one.
+    * @return             The target speed in meters per second.
+    */
+    static double targetSpeed(Road road, double s, double v, double acceleration, double maxSpeed,
+            boolean hasLeader, double leaderS)
+    {
+        double effectiveSpeedLimit = Math.min(maxSpeed, road.speedLimit());
+        double closestObstacleDistance = Double.POSITIVE_INFINITY;
+
+        if (shouldStopForLight(road, s, v, acceleration))
+        {
+            closestObstacleDistance = Math.max(0, stopLine(road) - s);
+        }
+
+        if (hasLeader)
+        {
+            double distanceToLeader = (leaderS - s) - CAR_LENGTH_METERS - SAFE_FOLLOWING_GAP_METERS;
+            closestObstacleDistance = Math.min(closestObstacleDistance, Math.max(0, distanceToLeader));
+        }
+
+        if (closestObstacleDistance != Double.POSITIVE_INFINITY)
+        {
+            double safeSpeed = Math.sqrt(2.0 * acceleration * closestObstacleDistance);
+            return Math.min(effectiveSpeedLimit, safeSpeed);
+        }
+        return effectiveSpeedLimit;
+    }
+
+    /**
+    * Moves a speed toward its target by at most one time step of acceleration.
+    *
+    * @param v            The current speed in meters per second.
+    * @param target       The target speed in meters per second.
+    * @param acceleration The acceleration in meters per second squared.
+    * @param deltaTime    The time step in seconds.
+    * @return             The new speed.
+    */
+    static double approachSpeed(double v, double target, double acceleration, double deltaTime)
+    {
+        if (Math.abs(v - target) < 1e-3)
+        {
+            return target;
+        } else if (v < target)
+        {
+            return Math.min(v + acceleration * deltaTime, target);
+        }
+        return Math.max(v - acceleration * deltaTime, target);
+    }
+
+    /**
+    * Selects the next road for a car reaching the end of its current road.
+    * Avoids U-turns at signalised intersections. Allocation-free.
+    *
+    * @param net     The road network.
+    * @param current The road the car is leaving.
+    * @param uniform A random number in [0, 1) used to pick among valid choices.
+    * @return        The next Road, or null if at a dead end.
+    */
+    static Road chooseNextRoad(RoadNetwork net, Road current, double uniform)
+    {
+        Intersection node = current.to();
+        Intersection prevNode = current.from();
+        List<Road> allOutgoing = net.outgoing(node);
+        boolean noUTurn = node instanceof SignalisedIntersection;
+
+        int validCount = 0;
+        for (int i = 0; i < allOutgoing.size(); ++i)
+        {
+            if (!noUTurn || allOutgoing.get(i).to() != prevNode)
+            {
+                ++validCount;
+            }
+        }
+
+        if (validCount == 0)
+        {
+            return null;
+        }
+
+        int pick = Math.min(validCount - 1, (int) (uniform * validCount));
+        for (int i = 0; i < allOutgoing.size(); ++i)
+        {
+            Road candidate = allOutgoing.get(i);
+            if (!noUTurn || candidate.to() != prevNode)
+            {
+                if (pick == 0)
+                {
+                    return candidate;
+                }
+                --pick;
+            }
+        }
+        return null;
+    }
+
+    /**
+    * Returns a position on a road in world coordinates, including lane offset.
+    *
+    * @param road The road, or null.
+    * @param s    The offset along the road in meters.
+    * @return     The world position, or the origin if road is null.
+    */
+    static Vec2 worldPosition(Road road, double s)
+    {
+        if (road == null)
+        {
+            return new Vec2(0, 0);
+        }
+
+        Vec2 a = road.from().position();
+        Vec2 b = road.to().position();
+
+        double dx = b.x - a.x;
+        double dy = b.y - a.y;
+        double lengthMeters = road.length();
+
+        double t = lengthMeters > 0 ? Math.min(1.0, s / lengthMeters) : 0;
+
+        Vec2 offset = road.laneOffset();
+        return new Vec2(a.x + dx * t + offset.x, a.y + dy * t + offset.y);
+    }
+
+    /**
+    * Writes a position on a road in world coordinates, including lane offset, into
+    * the given arrays without allocating.
+    *
+    * @param road The road, or null for the origin.
+    * @param s    The offset along the road in meters.
+    * @param xs   Receives the x coordinate at index i.
+    * @param ys   Receives the y coordinate at index i.
+    * @param i    The index to write.
+    */
+    static void worldPositionInto(Road road, double s, double[] xs, double[] ys, int i)
+    {
+        if (road == null)
+        {
+            xs[i] = 0;
+            ys[i] = 0;
+            return;
+        }
+
+        Vec2 a = road.from().position();
+        Vec2 b = road.to().position();
+        double lengthMeters = road.length();
+        double t = lengthMeters > 0 ? Math.min(1.0, s / lengthMeters) : 0;
+
+        Vec2 offset = road.laneOffset();
+        xs[i] = a.x + (b.x - a.x) * t + offset.x;
+        ys[i] = a.y + (b.y - a.y) * t + offset.y;
+    }
+
+    /**
+    * Returns the heading of a road in radians.
+    *
+    * @param road The road, or null.
+    * @return     The heading angle in radians, or 0 if road is null.
+    */
+    static double heading(Road road)
+    {
+        if (road == null)
+        {
+            return 0.0;
+        }
+
+        Vec2 a = road.from().position(), b = road.to().position();
+        return Math.atan2(b.y - a.y, b.x - a.x);
+    }
+}
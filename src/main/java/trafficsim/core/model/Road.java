@@ -8,7 +8,10 @@
 - Description:
 - Stores the endpoints, length, and speed limit for a road in the simulation.
 - Provides methods for accessing and updating road properties, and for
-- participating in the simulation update loop.
+- participating in the simulation update loop. Keeps the cars currently on
+- the road ordered front to back, so leader and follower lookups are O(1),
+- in a ring buffer, so the usual departure of the front car and arrival
+- at the back are O(1) as well.
 
 ***************************************************************/
 
@@ -16,10 +19,29 @@ package trafficsim.core.model;
 
 public final class Road implements Updatable
 {
+    /**
+    * Lateral distance in meters between a road's centre line and the lane its traffic drives in.
+    */
+    public static final double LANE_OFFSET_METERS = 1.4;
+
     private final Intersection from, to;
     private final double length;
+    private final Vec2 laneOffset;
     private volatile double speedLimit;
 
+    private static final int INITIAL_OCCUPANT_CAPACITY = 8;
+
+    // Cars on this road, front-most first, in a ring buffer whose length is a
+    // power of two. Owned by the simulation thread. A car's laneIndex counts
+    // from the ring's origin, so it is found at slot laneIndex & mask; head is
+    // the laneIndex of the front car.
+    private Car[] occupants = new Car[INITIAL_OCCUPANT_CAPACITY];
+    private int head = 0;
+    private int size = 0;
+
+    // index in a VehicleStore's road table, maintained by the store
+    int storeId = -1;
+
     /**
      * Constructs a Road between two intersections with the specified length and speed limit.
      *
@@ -34,6 +56,7 @@ public final class Road implements Updatable
         this.to = to;
         this.length = length;
         this.speedLimit = speedLimit;
+        this.laneOffset = computeLaneOffset(from, to);
     }
 
     /**
@@ -66,6 +89,18 @@ public final class Road implements Updatable
         return length;
     }
 
+    /**
+    * Returns the lane offset vector for this road in meters. The offset is
+    * perpendicular to the road direction and its sign depends on the canonical
+    * direction of the road, so the two directions of a street sit side by side.
+    *
+    * @return A Vec2 representing the offset in meters.
+    */
+    public Vec2 laneOffset()
+    {
+        return laneOffset;
+    }
+
     /**
     * Returns the speed limit of the road in meters per second.
     *
@@ -86,15 +121,225 @@ public final class Road implements Updatable
         this.speedLimit = speedLimit;
     }
 
+    /**
+    * Returns the car directly ahead of the given car on this road.
+    *
+    * @param car A car on this road.
+    * @return    The leading Car, or null if the car is at the front or not on this road.
+    */
+    public Car leaderOf(Car car)
+    {
+        int position = positionOf(car);
+        return position > 0 ? at(position - 1) : null;
+    }
+
+    /**
+    * Returns the car directly behind the given car on this road.
+    *
+    * @param car A car on this road.
+    * @return    The following Car, or null if the car is at the back or not on this road.
+    */
+    public Car followerOf(Car car)
+    {
+        int position = positionOf(car);
+        return position >= 0 && position + 1 < size ? at(position + 1) : null;
+    }
+
+    /**
+    * Returns the number of cars currently on this road.
+    *
+    * @return The car count.
+    */
+    public int carCount()
+    {
+        return size;
+    }
+
+    /**
+    * Adds a car to this road's occupancy at the position matching its offset.
+    * Entering cars usually join at the back, so the search starts there, and
+    * only the cars on the shorter side of the insertion point are moved.
+    *
+    * @param car     The car entering the road.
+    * @param offsetS The car's offset along the road in meters.
+    */
+    void enter(Car car, double offsetS)
+    {
+        if (size == occupants.length)
+        {
+            grow();
+        }
+
+        int position = size;
+        while (position > 0 && at(position - 1).distanceAlongRoad() < offsetS)
+        {
+            --position;
+        }
+
+        if (position < size - position)
+        {
+            // move the cars ahead one place toward the front
+            --head;
+            for (int i = 0; i < position; ++i)
+            {
+                put(i, at(i + 1));
+            }
+        } else
+        {
+            for (int i = size; i > position; --i)
+            {
+                put(i, at(i - 1));
+            }
+        }
+        put(position, car);
+        ++size;
+    }
+
+    /**
+    * Removes a car from this road's occupancy. The front car, the usual one to
+    * leave, is removed without moving any other car.
+    *
+    * @param car The car leaving the road.
+    */
+    void leave(Car car)
+    {
+        int position = positionOf(car);
+        if (position < 0)
+        {
+            return;
+        }
+
+        if (position < size - 1 - position)
+        {
+            // close the gap from the front
+            for (int i = position; i > 0; --i)
+            {
+                put(i, at(i - 1));
+            }
+            occupants[head & mask()] = null;
+            ++head;
+        } else
+        {
+            for (int i = position; i < size - 1; ++i)
+            {
+                put(i, at(i + 1));
+            }
+            occupants[(head + size - 1) & mask()] = null;
+        }
+        --size;
+        car.laneIndex = -1;
+    }
+
+    /**
+    * Returns a car's position from the front of this road, checking that the
+    * car really is on it.
+    *
+    * @param car The car.
+    * @return    The position, or -1 if the car is not on this road.
+    */
+    private int positionOf(Car car)
+    {
+        int position = car.laneIndex - head; // wraps consistently with laneIndex
+        if (position < 0 || position >= size || at(position) != car)
+        {
+            return -1;
+        }
+        return position;
+    }
+
+    private Car at(int position)
+    {
+        return occupants[(head + position) & mask()];
+    }
+
+    private void put(int position, Car car)
+    {
+        occupants[(head + position) & mask()] = car;
+        car.laneIndex = head + position;
+    }
+
+    private int mask()
+    {
+        return occupants.length - 1;
+    }
+
+    /**
+    * Doubles the ring. Cars keep their laneIndex; only their slots change.
+    */
+    private void grow()
+    {
+        Car[] old = occupants;
+        int oldMask = old.length - 1;
+        occupants = new Car[old.length * 2];
+        for (int i = 0; i < size; ++i)
+        {
+            occupants[(head + i) & mask()] = old[(head + i) & oldMask];
+        }
+    }
+
     /**
     * Updates the road state.
-    * (No dynamic state to update; method present for interface compatibility.)
+    * Restores the front-to-back order of the cars on the road after the last
+    * commit, so that the car update that follows sees the right leaders. The
+    * list is nearly sorted every tick, making this insertion sort linear.
     *
     * @param deltaTime The time step in seconds.
     */
     @Override
     public void update(double deltaTime)
     {
+        for (int i = 1; i < size; ++i)
+        {
+            Car car = at(i);
+            double carS = car.distanceAlongRoad();
+            int j = i - 1;
+            while (j >= 0 && at(j).distanceAlongRoad() < carS)
+            {
+                put(j + 1, at(j));
+                --j;
+            }
+            if (j + 1 != i)
+            {
+                put(j + 1, car);
+            }
+        }
+    }
+
+    private static Vec2 computeLaneOffset(Intersection from, Intersection to)
+    {
+        // establishing a canonical direction, then using that for +/- offset for different directions (angles) of roads
+        Intersection canonicalStart;
+        Intersection canonicalEnd;
+
+        double x1 = from.position().x;
+        double y1 = from.position().y;
+        double x2 = to.position().x;
+        double y2 = to.position().y;
+
+        if (x1 < x2 || (Math.abs(x1 - x2) < 1e-6 && y1 < y2))
+        {
+            canonicalStart = from;
+            canonicalEnd = to;
+        } else
+        {
+            canonicalStart = to;
+            canonicalEnd = from;
+        }
+
+        double cdx = canonicalEnd.position().x - canonicalStart.position().x;
+        double cdy = canonicalEnd.position().y - canonicalStart.position().y;
+        double length = Math.hypot(cdx, cdy);
+
+        if (length < 1e-6)
+        {
+            return new Vec2(0, 0);
+        }
+
+        double px = -cdy / length;
+        double py = cdx / length;
+
+        double directionMultiplier = (from == canonicalStart) ? 1.0 : -1.0;
 
+        return new Vec2(px * LANE_OFFSET_METERS * directionMultiplier, py * LANE_OFFSET_METERS * directionMultiplier);
     }
 }
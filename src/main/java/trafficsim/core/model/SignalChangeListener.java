@@ -0,0 +1,26 @@
+/***************************************************************
+
+- File:        SignalChangeListener.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Callback for traffic light state transitions.
+
+- Description:
+- Notified by a SignalGroup whenever its state actually changes, on
+- the thread that changed it. Lets observers such as the engine track
+- which signals need redrawing instead of polling every signal.
+
+***************************************************************/
+
+package trafficsim.core.model;
+
+@FunctionalInterface
+public interface SignalChangeListener
+{
+    /**
+    * Called after a signal group has moved to a new state.
+    *
+    * @param group The signal group that changed; its state() is the new state.
+    */
+    void onSignalChanged(SignalGroup group);
+}
@@ -8,7 +8,8 @@
 - Description:
 - Encapsulates the state and unique identifier for a signal group
 - associated with a specific incoming road at a signalised intersection.
-- Provides methods to get and set the current traffic light state.
+- Provides methods to get and set the current traffic light state, and
+- notifies a listener when the state actually changes.
 
 ***************************************************************/
 
@@ -19,7 +20,19 @@ import java.util.UUID;
 public final class SignalGroup
 {
     private final UUID id = UUID.randomUUID();
+    private final Road incomingRoad;
     private volatile TrafficLightState state = TrafficLightState.RED;
+    private volatile SignalChangeListener listener;
+
+    /**
+    * Constructs a red signal group for the given incoming road.
+    *
+    * @param incomingRoad The road this group controls.
+    */
+    SignalGroup(Road incomingRoad)
+    {
+        this.incomingRoad = incomingRoad;
+    }
 
     /**
     * Returns the unique identifier for this signal group.
@@ -31,6 +44,16 @@ public final class SignalGroup
         return id;
     }
 
+    /**
+    * Returns the incoming road this signal group controls.
+    *
+    * @return The incoming Road.
+    */
+    public Road incomingRoad()
+    {
+        return incomingRoad;
+    }
+
     /**
     * Returns the current traffic light state of this signal group.
     *
@@ -42,12 +65,33 @@ public final class SignalGroup
     }
 
     /**
-    * Sets the traffic light state for this signal group.
+    * Sets the traffic light state for this signal group. Notifies the listener,
+    * if any, only when the state differs from the current one.
     *
     * @param state The new TrafficLightState.
     */
     public void setState(TrafficLightState state)
     {
+        if (this.state == state)
+        {
+            return;
+        }
         this.state = state;
+
+        SignalChangeListener current = listener;
+        if (current != null)
+        {
+            current.onSignalChanged(this);
+        }
+    }
+
+    /**
+    * Sets the listener notified of state changes, replacing any previous one.
+    *
+    * @param listener The listener, or null for none.
+    */
+    void setListener(SignalChangeListener listener)
+    {
+        this.listener = listener;
     }
 }
\ No newline at end of file
@@ -8,7 +8,8 @@
 - Description:
 - Manages signal groups for incoming roads, handles signal timing and
 - phase transitions, and provides signal state information for each road.
-- Supports dynamic updates to signal timing parameters.
+- Supports dynamic updates to signal timing parameters. State changes of
+- every signal group are forwarded to an optional SignalChangeListener.
 
 ***************************************************************/
 
@@ -32,6 +33,7 @@ public final class SignalisedIntersection implements Intersection
     private final List<SignalGroup> signalCycle = new ArrayList<>();
     private int currentPhase = 0;
     private double phaseTimer = 0;
+    private SignalChangeListener signalListener;
 
     /**
     * Constructs a SignalisedIntersection at the given position with specified
@@ -63,7 +65,8 @@ public final class SignalisedIntersection implements Intersection
         {
             return;
         }
-        SignalGroup newGroup = new SignalGroup();
+        SignalGroup newGroup = new SignalGroup(road);
+        newGroup.setListener(signalListener);
         signalMap.put(road, newGroup);
         signalCycle.add(newGroup);
         recalculateDurations();
@@ -90,6 +93,21 @@ public final class SignalisedIntersection implements Intersection
         }
     }
 
+    /**
+    * Sets the listener notified whenever one of this intersection's signal groups
+    * changes state, including groups registered later.
+    *
+    * @param listener The listener, or null for none.
+    */
+    public void setSignalChangeListener(SignalChangeListener listener)
+    {
+        this.signalListener = listener;
+        for (SignalGroup group : signalCycle)
+        {
+            group.setListener(listener);
+        }
+    }
+
     /**
     * Returns an unmodifiable map of roads to their signal groups.
     *
@@ -0,0 +1,680 @@
+/***************************************************************
+
+- File:        VehicleStore.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Structure-of-arrays storage for large numbers of cars.
+
+- Description:
+- Keeps the dynamic state of every car (offset, speed, target speed,
+- road, maximum speed, acceleration) in dense primitive arrays indexed
+- by slot, so a tick walks memory linearly instead of chasing Car
+- objects. Cars on the same road are linked front to back through slot
+- arrays for O(1) leader lookup. Car objects stay as handles for the UI
+- and for events. Uses the same kinematics as Car.
+
+***************************************************************/
+
+package trafficsim.core.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class VehicleStore
+{
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int NO_SLOT = -1;
+
+    private final RoadNetwork net;
+
+    // road table, indexed by Road.storeId
+    private final List<Road> roads = new ArrayList<>();
+    private int[] laneFront = new int[INITIAL_CAPACITY];
+    private int[] laneBack = new int[INITIAL_CAPACITY];
+
+    private int size = 0;
+    private Car[] handles = new Car[INITIAL_CAPACITY];
+
+    // committed state - written by the simulation thread under this store's lock
+    private double[] s = new double[INITIAL_CAPACITY];
+    private double[] v = new double[INITIAL_CAPACITY];
+    private double[] targetV = new double[INITIAL_CAPACITY];
+    private int[] roadIdx = new int[INITIAL_CAPACITY];
+    private double[] maxSpeed = new double[INITIAL_CAPACITY];
+    private double[] accel = new double[INITIAL_CAPACITY];
+    private long[] rngState = new long[INITIAL_CAPACITY];
+
+    // per-road links, toward the front and toward the back of the lane
+    private int[] ahead = new int[INITIAL_CAPACITY];
+    private int[] behind = new int[INITIAL_CAPACITY];
+
+    // next state - written only by the compute phase, slot by slot
+    private double[] nextS = new double[INITIAL_CAPACITY];
+    private double[] nextV = new double[INITIAL_CAPACITY];
+    private double[] nextTargetV = new double[INITIAL_CAPACITY];
+    private int[] nextRoadIdx = new int[INITIAL_CAPACITY];
+
+    // reset state
+    private double[] initialS = new double[INITIAL_CAPACITY];
+    private int[] initialRoadIdx = new int[INITIAL_CAPACITY];
+
+    /**
+    * Constructs an empty VehicleStore for cars driving on the given network.
+    *
+    * @param net The RoadNetwork used for route choices.
+    */
+    public VehicleStore(RoadNetwork net)
+    {
+        this.net = net;
+        Arrays.fill(laneFront, NO_SLOT);
+        Arrays.fill(laneBack, NO_SLOT);
+    }
+
+    /**
+    * Returns the number of cars held in the store.
+    *
+    * @return The car count.
+    */
+    public synchronized int size()
+    {
+        return size;
+    }
+
+    /**
+    * Registers a road with the store so cars can drive on it. Roads must be
+    * registered before any car can route onto them; registering twice is harmless.
+    *
+    * @param road The road to register.
+    */
+    public synchronized void registerRoad(Road road)
+    {
+        if (road.storeId >= 0 && road.storeId < roads.size() && roads.get(road.storeId) == road)
+        {
+            return;
+        }
+
+        road.storeId = roads.size();
+        roads.add(road);
+
+        if (roads.size() > laneFront.length)
+        {
+            int oldLength = laneFront.length;
+            laneFront = Arrays.copyOf(laneFront, oldLength * 2);
+            laneBack = Arrays.copyOf(laneBack, oldLength * 2);
+            Arrays.fill(laneFront, oldLength, laneFront.length, NO_SLOT);
+            Arrays.fill(laneBack, oldLength, laneBack.length, NO_SLOT);
+        }
+    }
+
+    /**
+    * Forgets a road, e.g. after it was deleted from the network. Cars on the road
+    * are taken off the network and stop, and cars that started on it will not be
+    * put back on it by resetAll. The last road in the table takes the freed index.
+    *
+    * @param road The road to unregister.
+    */
+    public synchronized void unregisterRoad(Road road)
+    {
+        int id = road.storeId;
+        if (id < 0 || id >= roads.size() || roads.get(id) != road)
+        {
+            return;
+        }
+
+        int i = laneFront[id];
+        while (i != NO_SLOT)
+        {
+            int next = behind[i];
+            ahead[i] = NO_SLOT;
+            behind[i] = NO_SLOT;
+            roadIdx[i] = NO_SLOT;
+            v[i] = 0.0;
+            targetV[i] = 0.0;
+            i = next;
+        }
+
+        int last = roads.size() - 1;
+        for (int slot = 0; slot < size; ++slot)
+        {
+            if (initialRoadIdx[slot] == id)
+            {
+                initialRoadIdx[slot] = NO_SLOT;
+            } else if (initialRoadIdx[slot] == last)
+            {
+                initialRoadIdx[slot] = id;
+            }
+        }
+
+        if (id != last)
+        {
+            Road moved = roads.get(last);
+            roads.set(id, moved);
+            moved.storeId = id;
+            laneFront[id] = laneFront[last];
+            laneBack[id] = laneBack[last];
+            for (int slot = laneFront[id]; slot != NO_SLOT; slot = behind[slot])
+            {
+                roadIdx[slot] = id;
+            }
+        }
+
+        roads.remove(last);
+        laneFront[last] = NO_SLOT;
+        laneBack[last] = NO_SLOT;
+        road.storeId = -1;
+    }
+
+    /**
+    * Adds a car at the given road and offset. From now on the car's state lives in
+    * the store, and the Car object delegates its getters to it.
+    *
+    * @param car          The car handle.
+    * @param road         The road to place the car on.
+    * @param offsetMeters The offset along the road in meters.
+    */
+    public synchronized void add(Car car, Road road, double offsetMeters)
+    {
+        registerRoad(road);
+        ensureCapacity(size + 1);
+
+        int slot = size++;
+        handles[slot] = car;
+        s[slot] = Math.max(0.0, Math.min(offsetMeters, road.length()));
+        v[slot] = 0.0;
+        targetV[slot] = 0.0;
+        roadIdx[slot] = road.storeId;
+        maxSpeed[slot] = car.getMaxSpeed();
+        accel[slot] = car.getAcceleration();
+        rngState[slot] = car.nextSeed();
+        initialS[slot] = s[slot];
+        initialRoadIdx[slot] = road.storeId;
+        link(slot);
+
+        car.slot = slot;
+        car.store = this;
+    }
+
+    /**
+    * Removes a car from the store. The last slot is moved into the freed one so the
+    * arrays stay dense.
+    *
+    * @param car The car handle to remove.
+    */
+    public synchronized void remove(Car car)
+    {
+        int slot = car.slot;
+        if (car.store != this || slot < 0 || slot >= size || handles[slot] != car)
+        {
+            return;
+        }
+
+        unlink(slot);
+        int last = --size;
+        if (slot != last)
+        {
+            moveSlot(last, slot);
+        }
+        handles[last] = null;
+
+        car.store = null;
+        car.slot = -1;
+    }
+
+    /**
+    * Removes every car from the store and forgets all registered roads.
+    */
+    public synchronized void clear()
+    {
+        for (int i = 0; i < size; ++i)
+        {
+            handles[i].store = null;
+            handles[i].slot = -1;
+            handles[i] = null;
+        }
+        size = 0;
+
+        for (Road road : roads)
+        {
+            road.storeId = -1;
+        }
+        roads.clear();
+        Arrays.fill(laneFront, NO_SLOT);
+        Arrays.fill(laneBack, NO_SLOT);
+    }
+
+    /**
+    * Resets every car to its initial road and position, and stops its motion.
+    */
+    public synchronized void resetAll()
+    {
+        Arrays.fill(laneFront, NO_SLOT);
+        Arrays.fill(laneBack, NO_SLOT);
+
+        for (int i = 0; i < size; ++i)
+        {
+            roadIdx[i] = initialRoadIdx[i];
+            s[i] = initialS[i];
+            v[i] = 0.0;
+            targetV[i] = 0.0;
+            link(i);
+        }
+    }
+
+    /**
+    * First phase of a two-phase tick for the slots in [from, to). Reads only
+    * committed state and writes only the next state of its own slots, so disjoint
+    * ranges can be computed in parallel.
+    *
+    * @param from      First slot, inclusive.
+    * @param to        Last slot, exclusive.
+    * @param deltaTime The time step in seconds.
+    */
+    public void computeRange(int from, int to, double deltaTime)
+    {
+        for (int i = from; i < to; ++i)
+        {
+            computeSlot(i, deltaTime);
+        }
+    }
+
+    private void computeSlot(int i, double deltaTime)
+    {
+        int r = roadIdx[i];
+        double curS = s[i];
+        double curV = v[i];
+        double a = accel[i];
+
+        nextRoadIdx[i] = r;
+        nextS[i] = curS;
+        nextV[i] = curV;
+        nextTargetV[i] = targetV[i];
+
+        if (r == NO_SLOT)
+        {
+            return;
+        }
+
+        Road road = roads.get(r);
+        int leader = ahead[i];
+        double target = CarDynamics.targetSpeed(road, curS, curV, a, maxSpeed[i], leader != NO_SLOT,
+                leader != NO_SLOT ? s[leader] : 0.0);
+        double newV = CarDynamics.approachSpeed(curV, target, a, deltaTime);
+
+        nextTargetV[i] = target;
+        double potentialNewS = curS + newV * deltaTime;
+
+        if (CarDynamics.shouldStopForLight(road, curS, newV, a))
+        {
+            double stopLine = CarDynamics.stopLine(road);
+            if (potentialNewS >= stopLine)
+            {
+                nextS[i] = stopLine;
+                nextV[i] = 0;
+            } else
+            {
+                nextS[i] = potentialNewS;
+                nextV[i] = newV;
+            }
+        } else if (potentialNewS >= road.length())
+        {
+            Road next = CarDynamics.chooseNextRoad(net, road, nextUniform(i));
+            if (next != null && next.storeId >= 0)
+            {
+                nextRoadIdx[i] = next.storeId;
+                nextS[i] = potentialNewS - road.length();
+                nextV[i] = Math.min(newV, next.speedLimit());
+            } else
+            {
+                // dead end, no uturns on signalised intersections
+                nextS[i] = road.length();
+                nextV[i] = 0;
+            }
+        } else
+        {
+            nextS[i] = potentialNewS;
+            nextV[i] = newV;
+        }
+    }
+
+    /**
+    * Second phase of a two-phase tick. Publishes the next state of every slot,
+    * moves cars that changed roads between lanes and restores front-to-back order.
+    */
+    public synchronized void commit()
+    {
+        for (int i = 0; i < size; ++i)
+        {
+            if (nextRoadIdx[i] != roadIdx[i])
+            {
+                unlink(i);
+                roadIdx[i] = nextRoadIdx[i];
+                s[i] = nextS[i];
+                link(i);
+            } else
+            {
+                s[i] = nextS[i];
+            }
+            v[i] = nextV[i];
+            targetV[i] = nextTargetV[i];
+        }
+
+        for (int r = 0; r < roads.size(); ++r)
+        {
+            sortLane(r);
+        }
+    }
+
+    /**
+    * Restores the front-to-back order of one lane after its offsets changed. An
+    * insertion sort from the front: each car moves ahead past every car with a
+    * smaller offset, so the cars in front of it are already in order. Lanes are
+    * nearly sorted every tick, making this linear.
+    */
+    private void sortLane(int r)
+    {
+        int i = laneFront[r];
+        while (i != NO_SLOT)
+        {
+            int next = behind[i];
+            int a;
+            while ((a = ahead[i]) != NO_SLOT && s[a] < s[i])
+            {
+                swapWithAhead(i);
+            }
+            i = next;
+        }
+    }
+
+    /**
+    * Writes every car's handle, world position, heading and speed into the given
+    * arrays, in slot order. The arrays must hold at least size() entries.
+    *
+    * @param cars    Receives the car handles.
+    * @param x       Receives the x world coordinates in meters.
+    * @param y       Receives the y world coordinates in meters.
+    * @param heading Receives the headings in radians.
+    * @param speed   Receives the speeds in meters per second.
+    * @return        The number of cars written.
+    */
+    public synchronized int sampleInto(Car[] cars, double[] x, double[] y, double[] heading, double[] speed)
+    {
+        for (int i = 0; i < size; ++i)
+        {
+            int r = roadIdx[i];
+            Road road = r != NO_SLOT ? roads.get(r) : null;
+            cars[i] = handles[i];
+            CarDynamics.worldPositionInto(road, s[i], x, y, i);
+            heading[i] = CarDynamics.heading(road);
+            speed[i] = v[i];
+        }
+        return size;
+    }
+
+    synchronized double velocityOf(Car car)
+    {
+        return holds(car) ? v[car.slot] : 0.0;
+    }
+
+    synchronized Vec2 worldPosOf(Car car)
+    {
+        if (!holds(car))
+        {
+            return CarDynamics.worldPosition(null, 0.0);
+        }
+        int r = roadIdx[car.slot];
+        return CarDynamics.worldPosition(r != NO_SLOT ? roads.get(r) : null, s[car.slot]);
+    }
+
+    synchronized double headingOf(Car car)
+    {
+        if (!holds(car))
+        {
+            return CarDynamics.heading(null);
+        }
+        int r = roadIdx[car.slot];
+        return CarDynamics.heading(r != NO_SLOT ? roads.get(r) : null);
+    }
+
+    /**
+    * Returns the car directly ahead of the given car on its road.
+    *
+    * @param car A car in this store.
+    * @return    The leading Car, or null if the car is at the front or not in this store.
+    */
+    synchronized Car leaderOf(Car car)
+    {
+        if (!holds(car) || ahead[car.slot] == NO_SLOT)
+        {
+            return null;
+        }
+        return handles[ahead[car.slot]];
+    }
+
+    /**
+    * Overrides the offset a car commits next, after its compute phase ran. Lets
+    * tests build lane orders that the kinematics only reach over many ticks.
+    *
+    * @param car          A car in this store.
+    * @param offsetMeters The offset to commit.
+    */
+    synchronized void setNextOffset(Car car, double offsetMeters)
+    {
+        if (holds(car))
+        {
+            nextS[car.slot] = offsetMeters;
+        }
+    }
+
+    synchronized void setMaxSpeed(Car car, double value)
+    {
+        if (holds(car))
+        {
+            maxSpeed[car.slot] = value;
+        }
+    }
+
+    synchronized void setAcceleration(Car car, double value)
+    {
+        if (holds(car))
+        {
+            accel[car.slot] = value;
+        }
+    }
+
+    /**
+    * Checks that a car is still in this store. A Car reads its store field before
+    * taking this store's lock, so the car may have been removed in between.
+    * Must be called while holding this store's lock.
+    */
+    private boolean holds(Car car)
+    {
+        return car.store == this && car.slot >= 0;
+    }
+
+    /**
+    * Advances the slot's xorshift64* stream and returns a number in [0, 1).
+    */
+    private double nextUniform(int i)
+    {
+        long x = rngState[i];
+        x ^= x >>> 12;
+        x ^= x << 25;
+        x ^= x >>> 27;
+        rngState[i] = x;
+        return ((x * 0x2545F4914F6CDD1DL) >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+    * Links a slot into its road's lane behind the last car that is further along.
+    * Entering cars usually join at the back, so the search starts there.
+    */
+    private void link(int i)
+    {
+        int r = roadIdx[i];
+        ahead[i] = NO_SLOT;
+        behind[i] = NO_SLOT;
+        if (r == NO_SLOT)
+        {
+            return;
+        }
+
+        int front = laneBack[r];
+        while (front != NO_SLOT && s[front] < s[i])
+        {
+            front = ahead[front];
+        }
+
+        int back = (front != NO_SLOT) ? behind[front] : laneFront[r];
+        ahead[i] = front;
+        behind[i] = back;
+
+        if (front != NO_SLOT)
+        {
+            behind[front] = i;
+        } else
+        {
+            laneFront[r] = i;
+        }
+
+        if (back != NO_SLOT)
+        {
+            ahead[back] = i;
+        } else
+        {
+            laneBack[r] = i;
+        }
+    }
+
+    private void unlink(int i)
+    {
+        int r = roadIdx[i];
+        if (r == NO_SLOT)
+        {
+            return;
+        }
+
+        int front = ahead[i];
+        int back = behind[i];
+
+        if (front != NO_SLOT)
+        {
+            behind[front] = back;
+        } else
+        {
+            laneFront[r] = back;
+        }
+
+        if (back != NO_SLOT)
+        {
+            ahead[back] = front;
+        } else
+        {
+            laneBack[r] = front;
+        }
+
+        ahead[i] = NO_SLOT;
+        behind[i] = NO_SLOT;
+    }
+
+    /**
+    * Swaps a slot with the car directly ahead of it on the same road.
+    */
+    private void swapWithAhead(int i)
+    {
+        int r = roadIdx[i];
+        int a = ahead[i];
+        int front = ahead[a];
+        int back = behind[i];
+
+        // front -> a -> i -> back  becomes  front -> i -> a -> back
+        ahead[i] = front;
+        behind[i] = a;
+        ahead[a] = i;
+        behind[a] = back;
+
+        if (front != NO_SLOT)
+        {
+            behind[front] = i;
+        } else
+        {
+            laneFront[r] = i;
+        }
+
+        if (back != NO_SLOT)
+        {
+            ahead[back] = a;
+        } else
+        {
+            laneBack[r] = a;
+        }
+    }
+
+    /**
+    * Moves every array entry of one slot into another, repointing the lane links
+    * and the car handle.
+    */
+    private void moveSlot(int from, int to)
+    {
+        handles[to] = handles[from];
+        s[to] = s[from];
+        v[to] = v[from];
+        targetV[to] = targetV[from];
+        roadIdx[to] = roadIdx[from];
+        maxSpeed[to] = maxSpeed[from];
+        accel[to] = accel[from];
+        rngState[to] = rngState[from];
+        ahead[to] = ahead[from];
+        behind[to] = behind[from];
+        initialS[to] = initialS[from];
+        initialRoadIdx[to] = initialRoadIdx[from];
+
+        int r = roadIdx[to];
+        if (r != NO_SLOT)
+        {
+            if (ahead[to] != NO_SLOT)
+            {
+                behind[ahead[to]] = to;
+            } else
+            {
+                laneFront[r] = to;
+            }
+
+            if (behind[to] != NO_SLOT)
+            {
+                ahead[behind[to]] = to;
+            } else
+            {
+                laneBack[r] = to;
+            }
+        }
+
+        handles[to].slot = to;
+    }
+
+    private void ensureCapacity(int required)
+    {
+        if (required <= handles.length)
+        {
+            return;
+        }
+
+        int capacity = Math.max(required, handles.length * 2);
+        handles = Arrays.copyOf(handles, capacity);
+        s = Arrays.copyOf(s, capacity);
+        v = Arrays.copyOf(v, capacity);
+        targetV = Arrays.copyOf(targetV, capacity);
+        roadIdx = Arrays.copyOf(roadIdx, capacity);
+        maxSpeed = Arrays.copyOf(maxSpeed, capacity);
+        accel = Arrays.copyOf(accel, capacity);
+        rngState = Arrays.copyOf(rngState, capacity);
+        ahead = Arrays.copyOf(ahead, capacity);
+        behind = Arrays.copyOf(behind, capacity);
+        nextS = Arrays.copyOf(nextS, capacity);
+        nextV = Arrays.copyOf(nextV, capacity);
+        nextTargetV = Arrays.copyOf(nextTargetV, capacity);
+        nextRoadIdx = Arrays.copyOf(nextRoadIdx, capacity);
+        initialS = Arrays.copyOf(initialS, capacity);
+        initialRoadIdx = Arrays.copyOf(initialRoadIdx, capacity);
+    }
+}
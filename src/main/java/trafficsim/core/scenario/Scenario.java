@@ -0,0 +1,161 @@
+/***************************************************************
+
+- File:        Scenario.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     A generated network with its cars, ready to load.
+
+- Description:
+- Holds the intersections, roads and cars made by a ScenarioGenerator,
+- and the road each car starts on, the cars on each road evenly spaced
+- along it. Loads them into an engine through bulk events, or, for
+- benchmarks and tools that drive the model directly, adds the roads to
+- the car network and places the cars itself; either way every car
+- starts at the same place.
+
+***************************************************************/
+
+package trafficsim.core.scenario;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import trafficsim.core.events.AddIntersectionsEvent;
+import trafficsim.core.events.AddRoadsEvent;
+import trafficsim.core.events.PlaceCarsEvent;
+import trafficsim.core.model.Car;
+import trafficsim.core.model.Intersection;
+import trafficsim.core.model.Road;
+import trafficsim.core.model.RoadNetwork;
+import trafficsim.core.sim.SimulationEngine;
+
+public final class Scenario
+{
+    private final RoadNetwork carNetwork;
+    private final List<Intersection> intersections;
+    private final List<Road> roads;
+    private final List<Car> cars;
+    private final List<Road> spawnRoads;
+    private final double[] spawnOffsets;
+
+    Scenario(RoadNetwork carNetwork, List<Intersection> intersections, List<Road> roads, List<Car> cars,
+            List<Road> spawnRoads)
+    {
+        this.carNetwork = carNetwork;
+        this.intersections = List.copyOf(intersections);
+        this.roads = List.copyOf(roads);
+        this.cars = List.copyOf(cars);
+        this.spawnRoads = List.copyOf(spawnRoads);
+        this.spawnOffsets = spreadAlongRoads(this.spawnRoads);
+    }
+
+    /**
+    * Spaces the cars on each road evenly along it, the first car on a road the
+    * front-most.
+    *
+    * @param spawnRoads The road each car starts on.
+    * @return           Each car's offset along its road in meters.
+    */
+    private static double[] spreadAlongRoads(List<Road> spawnRoads)
+    {
+        Map<Road, Integer> perRoad = new HashMap<>();
+        for (Road road : spawnRoads)
+        {
+            perRoad.merge(road, 1, Integer::sum);
+        }
+
+        double[] offsets = new double[spawnRoads.size()];
+        Map<Road, Integer> placed = new HashMap<>();
+        for (int i = 0; i < offsets.length; ++i)
+        {
+            Road road = spawnRoads.get(i);
+            int count = perRoad.get(road);
+            int position = placed.merge(road, 1, Integer::sum) - 1;
+            offsets[i] = road.length() * (count - position - 0.5) / count;
+        }
+        return offsets;
+    }
+
+    public List<Intersection> intersections()
+    {
+        return intersections;
+    }
+
+    /**
+    * Returns every road; each street contributes one road per direction.
+    *
+    * @return An unmodifiable list of roads.
+    */
+    public List<Road> roads()
+    {
+        return roads;
+    }
+
+    public List<Car> cars()
+    {
+        return cars;
+    }
+
+    /**
+    * Returns the road each car starts on, in the order of cars().
+    *
+    * @return An unmodifiable list of start roads.
+    */
+    public List<Road> spawnRoads()
+    {
+        return spawnRoads;
+    }
+
+    /**
+    * Returns where along its start road a car starts.
+    *
+    * @param carIndex Index into cars().
+    * @return         The offset in meters.
+    */
+    public double spawnOffset(int carIndex)
+    {
+        return spawnOffsets[carIndex];
+    }
+
+    /**
+    * Posts the scenario to an engine as one event each for the intersections,
+    * the roads and the cars. Every car starts on its start road at its spawn
+    * offset, as attachWithoutEngine would place it.
+    *
+    * @param engine The engine, whose network the cars were generated for.
+    * @return       True if all three events were queued.
+    * @throws IllegalArgumentException if the cars route through another network.
+    */
+    public boolean postTo(SimulationEngine engine)
+    {
+        if (engine.roadNetwork() != carNetwork)
+        {
+            throw new IllegalArgumentException("scenario cars were generated for a different road network");
+        }
+
+        boolean queued = engine.postEvent(new AddIntersectionsEvent(intersections));
+        queued &= engine.postEvent(new AddRoadsEvent(roads));
+        queued &= engine.postEvent(new PlaceCarsEvent(cars, spawnRoads, spawnOffsets));
+        return queued;
+    }
+
+    /**
+    * Adds the roads to the car network and attaches every car to its start road
+    * at its spawn offset. For driving the model without an engine; call at most
+    * once, and never for a scenario posted to an engine.
+    */
+    public void attachWithoutEngine()
+    {
+        for (Road road : roads)
+        {
+            carNetwork.add(road);
+        }
+
+        // front-most first, so each car joins at the back of its road's occupancy
+        for (int i = 0; i < cars.size(); ++i)
+        {
+            cars.get(i).attachTo(spawnRoads.get(i), spawnOffsets[i]);
+        }
+    }
+}
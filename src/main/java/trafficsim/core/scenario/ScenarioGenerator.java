@@ -0,0 +1,551 @@
+/***************************************************************
+
+- File:        ScenarioGenerator.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Generates road networks and car demand without the UI.
+
+- Description:
+- Builds Manhattan grids, radial ring-and-spoke networks and random
+- planar networks of any number of intersections, with a chosen share
+- of roundabouts among the signalised intersections, a range of road
+- speed limits and a number of cars with randomised parameters. All
+- choices come from the seed: the network from one random stream and
+- the cars from another, so changing the car count leaves the network
+- unchanged. Used for load tests, benchmarks and capacity planning.
+
+***************************************************************/
+
+package trafficsim.core.scenario;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+
+import trafficsim.core.model.Car;
+import trafficsim.core.model.Intersection;
+import trafficsim.core.model.Road;
+import trafficsim.core.model.RoadNetwork;
+import trafficsim.core.model.Roundabout;
+import trafficsim.core.model.SignalisedIntersection;
+import trafficsim.core.model.Vec2;
+
+public final class ScenarioGenerator
+{
+    /**
+    * The shape of the generated road network.
+    * GRID is a Manhattan grid filled row by row. RADIAL is a centre with
+    * concentric rings, each ring joined to its neighbours and to the ring
+    * inside it. RANDOM_PLANAR is a jittered grid with random diagonals and
+    * randomly removed roads that never crosses itself and stays connected.
+    */
+    public enum Layout {
+        GRID, RADIAL, RANDOM_PLANAR
+    }
+
+    // radial: ring r holds this many times r intersections, keeping ring roads about one spacing long
+    private static final int RADIAL_NODES_PER_RING_STEP = 6;
+
+    // random planar: displacement of grid points as a share of the spacing, small enough to keep cells convex
+    private static final double PLANAR_JITTER = 0.25;
+    private static final double PLANAR_DIAGONAL_CHANCE = 0.5;
+    private static final double PLANAR_EXTRA_ROAD_CHANCE = 0.6;
+
+    private static final double MIN_GREEN_SECONDS = 5.0;
+
+    private static final long CAR_STREAM_SALT = 0x9E3779B97F4A7C15L;
+
+    private final long seed;
+    private Layout layout = Layout.GRID;
+    private int intersectionCount = 100;
+    private double roundaboutShare = 0.0;
+    private double spacingMeters = 100.0;
+    private double minSpeedLimitMps = 11.2; // 25 mph
+    private double maxSpeedLimitMps = 20.1; // 45 mph
+    private double roundaboutSpeedLimitMps = 8.9; // 20 mph
+    private double signalCycleSeconds = 25.0;
+    private double yellowSeconds = 3.0;
+    private int carCount = 0;
+    private double minCarSpeedMps = 11.0;
+    private double maxCarSpeedMps = 16.0;
+    private double minCarAccelerationMps2 = 1.5;
+    private double maxCarAccelerationMps2 = 3.0;
+
+    /**
+    * Constructs a generator with default settings: a grid of 100 signalised
+    * intersections 100 m apart and no cars.
+    *
+    * @param seed The seed every random choice derives from.
+    */
+    public ScenarioGenerator(long seed)
+    {
+        this.seed = seed;
+    }
+
+    public long getSeed()
+    {
+        return seed;
+    }
+
+    public Layout getLayout()
+    {
+        return layout;
+    }
+
+    /**
+    * Sets the shape of the road network.
+    *
+    * @param layout The layout to generate.
+    */
+    public void setLayout(Layout layout)
+    {
+        this.layout = Objects.requireNonNull(layout);
+    }
+
+    public int getIntersectionCount()
+    {
+        return intersectionCount;
+    }
+
+    /**
+    * Sets how many intersections the network has.
+    *
+    * @param intersectionCount The intersection count, at least 2.
+    * @throws IllegalArgumentException if the count is below 2.
+    */
+    public void setIntersectionCount(int intersectionCount)
+    {
+        if (intersectionCount < 2)
+        {
+            throw new IllegalArgumentException("at least 2 intersections are required: " + intersectionCount);
+        }
+        this.intersectionCount = intersectionCount;
+    }
+
+    public double getRoundaboutShare()
+    {
+        return roundaboutShare;
+    }
+
+    /**
+    * Sets the chance of each intersection being a roundabout rather than signalised.
+    *
+    * @param roundaboutShare The share, from 0 to 1.
+    * @throws IllegalArgumentException if the share is outside [0, 1].
+    */
+    public void setRoundaboutShare(double roundaboutShare)
+    {
+        if (!(roundaboutShare >= 0.0 && roundaboutShare <= 1.0))
+        {
+            throw new IllegalArgumentException("roundabout share must be in [0, 1]: " + roundaboutShare);
+        }
+        this.roundaboutShare = roundaboutShare;
+    }
+
+    public double getSpacingMeters()
+    {
+        return spacingMeters;
+    }
+
+    /**
+    * Sets the typical distance between neighbouring intersections.
+    *
+    * @param spacingMeters The spacing in meters, positive.
+    * @throws IllegalArgumentException if the spacing is not positive.
+    */
+    public void setSpacingMeters(double spacingMeters)
+    {
+        if (!(spacingMeters > 0.0))
+        {
+            throw new IllegalArgumentException("spacing must be positive: " + spacingMeters);
+        }
+        this.spacingMeters = spacingMeters;
+    }
+
+    public double getMinSpeedLimitMps()
+    {
+        return minSpeedLimitMps;
+    }
+
+    public double getMaxSpeedLimitMps()
+    {
+        return maxSpeedLimitMps;
+    }
+
+    /**
+    * Sets the range road speed limits are drawn from. Both directions of a
+    * street share one limit.
+    *
+    * @param minMps The lowest speed limit in meters per second.
+    * @param maxMps The highest speed limit in meters per second.
+    * @throws IllegalArgumentException if the range is empty or not positive.
+    */
+    public void setSpeedLimitRange(double minMps, double maxMps)
+    {
+        requireRange("speed limit", minMps, maxMps);
+        this.minSpeedLimitMps = minMps;
+        this.maxSpeedLimitMps = maxMps;
+    }
+
+    public double getRoundaboutSpeedLimitMps()
+    {
+        return roundaboutSpeedLimitMps;
+    }
+
+    /**
+    * Sets the speed limit inside roundabouts.
+    *
+    * @param roundaboutSpeedLimitMps The speed limit in meters per second, positive.
+    * @throws IllegalArgumentException if the speed limit is not positive.
+    */
+    public void setRoundaboutSpeedLimitMps(double roundaboutSpeedLimitMps)
+    {
+        if (!(roundaboutSpeedLimitMps > 0.0))
+        {
+            throw new IllegalArgumentException("speed limit must be positive: " + roundaboutSpeedLimitMps);
+        }
+        this.roundaboutSpeedLimitMps = roundaboutSpeedLimitMps;
+    }
+
+    public double getSignalCycleSeconds()
+    {
+        return signalCycleSeconds;
+    }
+
+    public double getYellowSeconds()
+    {
+        return yellowSeconds;
+    }
+
+    /**
+    * Sets the signal timing of every signalised intersection. Intersections with
+    * so many approaches that a green would be shorter than five seconds get a
+    * longer cycle.
+    *
+    * @param cycleSeconds  The total cycle time in seconds.
+    * @param yellowSeconds The yellow duration in seconds.
+    * @throws IllegalArgumentException if either time is not positive.
+    */
+    public void setSignalTiming(double cycleSeconds, double yellowSeconds)
+    {
+        if (!(cycleSeconds > 0.0 && yellowSeconds > 0.0))
+        {
+            throw new IllegalArgumentException("signal times must be positive: " + cycleSeconds + ", " + yellowSeconds);
+        }
+        this.signalCycleSeconds = cycleSeconds;
+        this.yellowSeconds = yellowSeconds;
+    }
+
+    public int getCarCount()
+    {
+        return carCount;
+    }
+
+    /**
+    * Sets how many cars the scenario has.
+    *
+    * @param carCount The car count, not negative.
+    * @throws IllegalArgumentException if the count is negative.
+    */
+    public void setCarCount(int carCount)
+    {
+        if (carCount < 0)
+        {
+            throw new IllegalArgumentException("car count must not be negative: " + carCount);
+        }
+        this.carCount = carCount;
+    }
+
+    public double getMinCarSpeedMps()
+    {
+        return minCarSpeedMps;
+    }
+
+    public double getMaxCarSpeedMps()
+    {
+        return maxCarSpeedMps;
+    }
+
+    /**
+    * Sets the range car top speeds are drawn from.
+    *
+    * @param minMps The lowest top speed in meters per second.
+    * @param maxMps The highest top speed in meters per second.
+    * @throws IllegalArgumentException if the range is empty or not positive.
+    */
+    public void setCarSpeedRange(double minMps, double maxMps)
+    {
+        requireRange("car speed", minMps, maxMps);
+        this.minCarSpeedMps = minMps;
+        this.maxCarSpeedMps = maxMps;
+    }
+
+    public double getMinCarAccelerationMps2()
+    {
+        return minCarAccelerationMps2;
+    }
+
+    public double getMaxCarAccelerationMps2()
+    {
+        return maxCarAccelerationMps2;
+    }
+
+    /**
+    * Sets the range car accelerations are drawn from.
+    *
+    * @param minMps2 The lowest acceleration in meters per second squared.
+    * @param maxMps2 The highest acceleration in meters per second squared.
+    * @throws IllegalArgumentException if the range is empty or not positive.
+    */
+    public void setCarAccelerationRange(double minMps2, double maxMps2)
+    {
+        requireRange("car acceleration", minMps2, maxMps2);
+        this.minCarAccelerationMps2 = minMps2;
+        this.maxCarAccelerationMps2 = maxMps2;
+    }
+
+    private static void requireRange(String name, double min, double max)
+    {
+        if (!(min > 0.0 && max >= min))
+        {
+            throw new IllegalArgumentException(name + " range must be positive and not empty: " + min + " to " + max);
+        }
+    }
+
+    /**
+    * Generates a scenario from the current settings. The same settings and seed
+    * always give the same scenario.
+    *
+    * @param carNetwork The network the cars route through; pass the engine's
+    *                   network when the scenario is meant for an engine. It is
+    *                   not modified.
+    * @return           The generated scenario.
+    */
+    public Scenario generate(RoadNetwork carNetwork)
+    {
+        Random networkRng = new Random(seed);
+        Random carRng = new Random(seed ^ CAR_STREAM_SALT);
+
+        List<Vec2> points = new ArrayList<>(intersectionCount);
+        List<int[]> streets = new ArrayList<>();
+        switch (layout) {
+        case GRID:
+            layOutGrid(points, streets);
+            break;
+        case RADIAL:
+            layOutRadial(points, streets);
+            break;
+        case RANDOM_PLANAR:
+            layOutRandomPlanar(points, streets, networkRng);
+            break;
+        }
+
+        int[] approaches = new int[points.size()];
+        for (int[] street : streets)
+        {
+            ++approaches[street[0]];
+            ++approaches[street[1]];
+        }
+
+        List<Intersection> intersections = new ArrayList<>(points.size());
+        for (int i = 0; i < points.size(); ++i)
+        {
+            Vec2 p = points.get(i);
+            // stretch the cycle where many approaches would leave each too short a green to clear a queue
+            double cycle = Math.max(signalCycleSeconds, approaches[i] * (MIN_GREEN_SECONDS + yellowSeconds));
+            intersections.add(networkRng.nextDouble() < roundaboutShare
+                    ? new Roundabout(p.x, p.y, roundaboutSpeedLimitMps)
+                    : new SignalisedIntersection(p.x, p.y, cycle, yellowSeconds));
+        }
+
+        List<Road> roads = new ArrayList<>(streets.size() * 2);
+        for (int[] street : streets)
+        {
+            Intersection a = intersections.get(street[0]);
+            Intersection b = intersections.get(street[1]);
+            double length = a.position().distanceTo(b.position());
+            double speedLimit = between(networkRng, minSpeedLimitMps, maxSpeedLimitMps);
+            roads.add(new Road(a, b, length, speedLimit));
+            roads.add(new Road(b, a, length, speedLimit));
+        }
+
+        List<Car> cars = new ArrayList<>(carCount);
+        List<Road> spawnRoads = new ArrayList<>(carCount);
+        for (int i = 0; i < carCount; ++i)
+        {
+            double maxSpeed = between(carRng, minCarSpeedMps, maxCarSpeedMps);
+            double acceleration = between(carRng, minCarAccelerationMps2, maxCarAccelerationMps2);
+            cars.add(new Car(carNetwork, maxSpeed, acceleration, carRng.nextLong()));
+            spawnRoads.add(roads.get(carRng.nextInt(roads.size())));
+        }
+
+        return new Scenario(carNetwork, intersections, roads, cars, spawnRoads);
+    }
+
+    private static double between(Random rng, double min, double max)
+    {
+        return min + rng.nextDouble() * (max - min);
+    }
+
+    /**
+    * Lays out a square grid filled row by row, joining each point to its right
+    * and lower neighbours.
+    *
+    * @param points  Receives the intersection positions.
+    * @param streets Receives index pairs of joined intersections.
+    */
+    private void layOutGrid(List<Vec2> points, List<int[]> streets)
+    {
+        int side = (int) Math.ceil(Math.sqrt(intersectionCount));
+        for (int i = 0; i < intersectionCount; ++i)
+        {
+            points.add(new Vec2((i % side + 1) * spacingMeters, (i / side + 1) * spacingMeters));
+            if (i % side + 1 < side && i + 1 < intersectionCount)
+            {
+                streets.add(new int[] { i, i + 1 });
+            }
+            if (i + side < intersectionCount)
+            {
+                streets.add(new int[] { i, i + side });
+            }
+        }
+    }
+
+    /**
+    * Lays out a centre point and concentric rings, ring r holding
+    * RADIAL_NODES_PER_RING_STEP * r points, filled ring by ring. Each point
+    * joins its neighbours on the ring and the point inside it at the same or
+    * a slightly smaller angle, so spokes never cross.
+    *
+    * @param points  Receives the intersection positions.
+    * @param streets Receives index pairs of joined intersections.
+    */
+    private void layOutRadial(List<Vec2> points, List<int[]> streets)
+    {
+        int rings = 0;
+        for (int placed = 1; placed < intersectionCount; placed += RADIAL_NODES_PER_RING_STEP * rings)
+        {
+            ++rings;
+        }
+        double centre = (rings + 1) * spacingMeters;
+        points.add(new Vec2(centre, centre));
+
+        int innerStart = 0;
+        for (int ring = 1; ring <= rings; ++ring)
+        {
+            int ringSize = RADIAL_NODES_PER_RING_STEP * ring;
+            int start = points.size();
+            int count = Math.min(ringSize, intersectionCount - start);
+            for (int j = 0; j < count; ++j)
+            {
+                double angle = 2.0 * Math.PI * j / ringSize;
+                points.add(new Vec2(centre + ring * spacingMeters * Math.cos(angle),
+                        centre + ring * spacingMeters * Math.sin(angle)));
+
+                if (j > 0)
+                {
+                    streets.add(new int[] { start + j - 1, start + j });
+                }
+                // ring r-1 holds RADIAL_NODES_PER_RING_STEP * (r-1) points, the centre alone for r = 1
+                int inner = ring == 1 ? 0 : innerStart + j * (ring - 1) / ring;
+                streets.add(new int[] { inner, start + j });
+            }
+            if (count == ringSize)
+            {
+                streets.add(new int[] { start + ringSize - 1, start });
+            }
+            innerStart = start;
+        }
+    }
+
+    /**
+    * Lays out a grid whose points are randomly displaced, adds a random diagonal
+    * to some cells, then keeps a random spanning tree of those streets plus a
+    * random share of the rest, restoring streets where an intersection would
+    * otherwise be a dead end. The displacement keeps every cell convex, so
+    * neither grid streets nor diagonals cross, and the tree keeps every
+    * intersection reachable.
+    *
+    * @param points  Receives the intersection positions.
+    * @param streets Receives index pairs of joined intersections.
+    * @param rng     The network's random stream.
+    */
+    private void layOutRandomPlanar(List<Vec2> points, List<int[]> streets, Random rng)
+    {
+        int side = (int) Math.ceil(Math.sqrt(intersectionCount));
+        List<int[]> candidates = new ArrayList<>();
+        for (int i = 0; i < intersectionCount; ++i)
+        {
+            double jx = (rng.nextDouble() * 2.0 - 1.0) * PLANAR_JITTER;
+            double jy = (rng.nextDouble() * 2.0 - 1.0) * PLANAR_JITTER;
+            points.add(new Vec2((i % side + 1 + jx) * spacingMeters, (i / side + 1 + jy) * spacingMeters));
+
+            boolean hasRight = i % side + 1 < side && i + 1 < intersectionCount;
+            if (hasRight)
+            {
+                candidates.add(new int[] { i, i + 1 });
+            }
+            if (i + side < intersectionCount)
+            {
+                candidates.add(new int[] { i, i + side });
+            }
+            if (hasRight && i + side + 1 < intersectionCount && rng.nextDouble() < PLANAR_DIAGONAL_CHANCE)
+            {
+                candidates.add(rng.nextBoolean() ? new int[] { i, i + side + 1 } : new int[] { i + 1, i + side });
+            }
+        }
+
+        Collections.shuffle(candidates, rng);
+        int[] parent = new int[intersectionCount];
+        for (int i = 0; i < parent.length; ++i)
+        {
+            parent[i] = i;
+        }
+        int[] degree = new int[intersectionCount];
+        List<int[]> rejected = new ArrayList<>();
+        for (int[] candidate : candidates)
+        {
+            int rootA = root(parent, candidate[0]);
+            int rootB = root(parent, candidate[1]);
+            if (rootA != rootB)
+            {
+                parent[rootA] = rootB;
+                addStreet(streets, degree, candidate);
+            } else if (rng.nextDouble() < PLANAR_EXTRA_ROAD_CHANCE)
+            {
+                addStreet(streets, degree, candidate);
+            } else
+            {
+                rejected.add(candidate);
+            }
+        }
+
+        // no dead ends: cars cannot turn back at a signalised intersection and would queue there forever
+        for (int[] candidate : rejected)
+        {
+            if (degree[candidate[0]] < 2 || degree[candidate[1]] < 2)
+            {
+                addStreet(streets, degree, candidate);
+            }
+        }
+    }
+
+    private static void addStreet(List<int[]> streets, int[] degree, int[] street)
+    {
+        streets.add(street);
+        ++degree[street[0]];
+        ++degree[street[1]];
+    }
+
+    private static int root(int[] parent, int i)
+    {
+        while (parent[i] != i)
+        {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+}
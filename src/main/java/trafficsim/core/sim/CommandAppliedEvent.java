@@ -0,0 +1,34 @@
+/***************************************************************
+
+- File:        CommandAppliedEvent.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Flight Recorder event for one applied model command.
+
+- Description:
+- Committed by the engine for every ModelCommandEvent it handles while
+- a Flight Recorder recording has it enabled, spanning the handler, so
+- the event's duration is the cost of applying the command on the
+- simulation thread.
+
+***************************************************************/
+
+package trafficsim.core.sim;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("trafficsim.CommandApplied")
+@Label("Command Applied")
+@Category({"TrafficSim", "Engine"})
+@Description("A model command applied on the simulation thread")
+@StackTrace(false)
+final class CommandAppliedEvent extends Event
+{
+    @Label("Command Type")
+    Class<?> commandType;
+}
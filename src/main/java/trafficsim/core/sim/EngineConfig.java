@@ -0,0 +1,199 @@
+/***************************************************************
+
+- File:        EngineConfig.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Construction options for the simulation engine.
+
+- Description:
+- Collects the choices a SimulationEngine is built with: how time is
+- driven, where callbacks run, how car state is stored and how the
+- command queue behaves when full, and whether it is published over
+- JMX. Defaults match the interactive application.
+
+***************************************************************/
+
+package trafficsim.core.sim;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+import trafficsim.core.sim.SimulationEngine.ClockMode;
+import trafficsim.core.sim.SimulationEngine.OverflowPolicy;
+
+public final class EngineConfig
+{
+    private ClockMode clockMode = ClockMode.REAL_TIME;
+    private long tickMillis = SimulationEngine.DEFAULT_TICK_MILLIS;
+    private Executor callbackExecutor = Runnable::run;
+    private boolean vehicleStoreEnabled = false;
+    private int eventQueueCapacity = 1 << 16;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private boolean jmxEnabled = false;
+
+    /**
+    * Constructs a configuration with the defaults: a REAL_TIME clock, callbacks
+    * run on the simulation thread, car state in the Car objects, a blocking
+    * command queue of 65536 events, and no JMX registration.
+    */
+    public EngineConfig()
+    {
+    }
+
+    /**
+    * Returns how simulation time is driven.
+    *
+    * @return The ClockMode, REAL_TIME by default.
+    */
+    public ClockMode getClockMode()
+    {
+        return clockMode;
+    }
+
+    /**
+    * Sets how simulation time is driven.
+    *
+    * @param clockMode The ClockMode to use.
+    */
+    public void setClockMode(ClockMode clockMode)
+    {
+        this.clockMode = Objects.requireNonNull(clockMode);
+    }
+
+    /**
+    * Returns the length of one fixed simulation tick.
+    *
+    * @return The tick length in milliseconds.
+    */
+    public long getTickMillis()
+    {
+        return tickMillis;
+    }
+
+    /**
+    * Sets the length of one fixed simulation tick. A REAL_TIME engine also wakes up
+    * once per tick, so a longer tick saves CPU on large scenarios at the cost of
+    * coarser steps; the renderer interpolates between the published frames.
+    *
+    * @param tickMillis The tick length in milliseconds, at least 1.
+    * @throws IllegalArgumentException if the tick length is not positive.
+    */
+    public void setTickMillis(long tickMillis)
+    {
+        if (tickMillis < 1)
+        {
+            throw new IllegalArgumentException("tick length must be positive: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+    }
+
+    /**
+    * Returns the executor that runs post-deletion callbacks.
+    *
+    * @return The callback executor, inline on the simulation thread by default.
+    */
+    public Executor getCallbackExecutor()
+    {
+        return callbackExecutor;
+    }
+
+    /**
+    * Sets the executor that runs post-deletion callbacks, e.g. the UI thread's executor.
+    *
+    * @param callbackExecutor The callback executor.
+    */
+    public void setCallbackExecutor(Executor callbackExecutor)
+    {
+        this.callbackExecutor = Objects.requireNonNull(callbackExecutor);
+    }
+
+    /**
+    * Returns whether car state is kept in a structure-of-arrays VehicleStore.
+    *
+    * @return True if the VehicleStore is used, false for per-object car state.
+    */
+    public boolean isVehicleStoreEnabled()
+    {
+        return vehicleStoreEnabled;
+    }
+
+    /**
+    * Sets whether car state is kept in a structure-of-arrays VehicleStore instead of
+    * in each Car object. Worth enabling for very large numbers of cars.
+    *
+    * @param vehicleStoreEnabled True to use the VehicleStore.
+    */
+    public void setVehicleStoreEnabled(boolean vehicleStoreEnabled)
+    {
+        this.vehicleStoreEnabled = vehicleStoreEnabled;
+    }
+
+    /**
+    * Returns how many model commands can wait in the event queue.
+    *
+    * @return The queue capacity.
+    */
+    public int getEventQueueCapacity()
+    {
+        return eventQueueCapacity;
+    }
+
+    /**
+    * Sets how many model commands can wait in the event queue. Rounded up to a
+    * power of two. Engine control events have their own lane and do not count.
+    *
+    * @param eventQueueCapacity The queue capacity, at least 1.
+    * @throws IllegalArgumentException if the capacity is not positive.
+    */
+    public void setEventQueueCapacity(int eventQueueCapacity)
+    {
+        if (eventQueueCapacity < 1)
+        {
+            throw new IllegalArgumentException("capacity must be positive: " + eventQueueCapacity);
+        }
+        this.eventQueueCapacity = eventQueueCapacity;
+    }
+
+    /**
+    * Returns what postEvent does when the event queue is full.
+    *
+    * @return The OverflowPolicy, BLOCK by default.
+    */
+    public OverflowPolicy getOverflowPolicy()
+    {
+        return overflowPolicy;
+    }
+
+    /**
+    * Sets what postEvent does when the event queue is full.
+    *
+    * @param overflowPolicy The OverflowPolicy to use.
+    */
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy)
+    {
+        this.overflowPolicy = Objects.requireNonNull(overflowPolicy);
+    }
+
+    /**
+    * Returns whether the engine registers a SimulationEngineMXBean.
+    *
+    * @return True if the engine is published over JMX; false by default.
+    */
+    public boolean isJmxEnabled()
+    {
+        return jmxEnabled;
+    }
+
+    /**
+    * Sets whether the engine registers a SimulationEngineMXBean with the platform
+    * MBean server until it is shut down. Meant for the interactive application;
+    * headless and batch engines leave it off, so engines that are never shut
+    * down do not pile up registrations.
+    *
+    * @param jmxEnabled True to publish the engine over JMX.
+    */
+    public void setJmxEnabled(boolean jmxEnabled)
+    {
+        this.jmxEnabled = jmxEnabled;
+    }
+}
@@ -0,0 +1,340 @@
+/***************************************************************
+
+- File:        EngineManagement.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     JMX view of one simulation engine.
+
+- Description:
+- Implements SimulationEngineMXBean over a SimulationEngine and its
+- EngineMetrics, and registers it on the platform MBean server. Interval
+- figures come from two samples of the metrics: when an attribute is
+- read at least a second after the latest sample, that sample becomes
+- the previous one and a new one is taken. Control operations are posted
+- to the engine as EngineControlEvents, so they take effect on the
+- simulation thread like those from the UI.
+
+***************************************************************/
+
+package trafficsim.core.sim;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import trafficsim.core.events.EngineControlEvent;
+import trafficsim.core.sim.EngineMetrics.Phase;
+
+final class EngineManagement implements SimulationEngineMXBean
+{
+    private static final String DOMAIN = "trafficsim";
+    private static final long REFRESH_NANOS = 1_000_000_000L;
+    private static final AtomicInteger nextEngineNumber = new AtomicInteger(0);
+
+    private final SimulationEngine engine;
+    private final EngineMetrics metrics;
+    private Sample previous; // guarded by this
+    private Sample latest;   // guarded by this
+
+    private EngineManagement(SimulationEngine engine)
+    {
+        this.engine = engine;
+        this.metrics = engine.metrics();
+        this.latest = new Sample(metrics);
+        this.previous = latest;
+    }
+
+    /**
+    * Registers an MXBean for the engine on the platform MBean server, under the
+    * next free engine-N name.
+    *
+    * @param engine The engine to publish.
+    * @return       The name it was registered under, or null if registration failed.
+    */
+    static ObjectName register(SimulationEngine engine)
+    {
+        try
+        {
+            ObjectName name = new ObjectName(DOMAIN + ":type=SimulationEngine,name=engine-"
+                    + nextEngineNumber.getAndIncrement());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new EngineManagement(engine), name);
+            return name;
+        } catch (JMException e)
+        {
+            System.err.println("Could not register engine MBean: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+    * Removes a registration made by register. Does nothing for a null name.
+    *
+    * @param name The registered name.
+    */
+    static void unregister(ObjectName name)
+    {
+        if (name == null)
+        {
+            return;
+        }
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try
+        {
+            if (server.isRegistered(name))
+            {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e)
+        {
+            System.err.println("Could not unregister engine MBean: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public double getSimulationTimeSeconds()
+    {
+        return engine.simulationTimeSeconds();
+    }
+
+    @Override
+    public String getClockMode()
+    {
+        return engine.clockMode().name();
+    }
+
+    @Override
+    public boolean isRunning()
+    {
+        return engine.isRunning();
+    }
+
+    @Override
+    public double getTimeScale()
+    {
+        return engine.getTimeScale();
+    }
+
+    @Override
+    public void setTimeScale(double scale)
+    {
+        engine.setTimeScale(scale);
+    }
+
+    @Override
+    public double getEffectiveTimeScale()
+    {
+        return engine.getEffectiveTimeScale();
+    }
+
+    @Override
+    public long getTickCount()
+    {
+        return metrics.tickCount();
+    }
+
+    @Override
+    public double getTickRate()
+    {
+        Interval interval = interval();
+        return interval.seconds > 0 ? interval.ticks / interval.seconds : 0.0;
+    }
+
+    @Override
+    public long getTickBudgetNanos()
+    {
+        return metrics.tickBudgetNanos();
+    }
+
+    @Override
+    public double getTickP50Millis()
+    {
+        return toMillis(interval().phase(Phase.TICK).valueAtPercentile(50));
+    }
+
+    @Override
+    public double getTickP99Millis()
+    {
+        return toMillis(interval().phase(Phase.TICK).valueAtPercentile(99));
+    }
+
+    @Override
+    public double getTickMaxMillis()
+    {
+        return toMillis(interval().phase(Phase.TICK).maxNanos());
+    }
+
+    @Override
+    public double getEventDrainP99Millis()
+    {
+        return toMillis(interval().phase(Phase.EVENT_DRAIN).valueAtPercentile(99));
+    }
+
+    @Override
+    public double getIntersectionUpdateP99Millis()
+    {
+        return toMillis(interval().phase(Phase.INTERSECTION_UPDATE).valueAtPercentile(99));
+    }
+
+    @Override
+    public double getCarUpdateP99Millis()
+    {
+        return toMillis(interval().phase(Phase.CAR_UPDATE).valueAtPercentile(99));
+    }
+
+    @Override
+    public long getTicksOverBudget()
+    {
+        return metrics.ticksOverBudget();
+    }
+
+    @Override
+    public long getOverrunCount()
+    {
+        return metrics.overruns();
+    }
+
+    @Override
+    public long getLateWakeUpCount()
+    {
+        return metrics.lateWakeUps();
+    }
+
+    @Override
+    public int getEventQueueDepth()
+    {
+        return engine.getEventQueueDepth();
+    }
+
+    @Override
+    public long getEventsDrained()
+    {
+        return metrics.eventsDrained();
+    }
+
+    @Override
+    public long getDroppedEventCount()
+    {
+        return engine.getDroppedEventCount();
+    }
+
+    @Override
+    public int getIntersectionCount()
+    {
+        return metrics.intersectionCount();
+    }
+
+    @Override
+    public int getRoadCount()
+    {
+        return metrics.roadCount();
+    }
+
+    @Override
+    public int getCarCount()
+    {
+        return metrics.carCount();
+    }
+
+    @Override
+    public double getAllocatedBytesPerTick()
+    {
+        if (!metrics.isAllocationTracked())
+        {
+            return -1.0;
+        }
+        Interval interval = interval();
+        return interval.ticks > 0 ? (double) interval.allocatedBytes / interval.ticks : 0.0;
+    }
+
+    @Override
+    public void start()
+    {
+        engine.postEvent(new EngineControlEvent(EngineControlEvent.ControlType.START));
+    }
+
+    @Override
+    public void pause()
+    {
+        engine.postEvent(new EngineControlEvent(EngineControlEvent.ControlType.PAUSE));
+    }
+
+    @Override
+    public void stop()
+    {
+        engine.postEvent(new EngineControlEvent(EngineControlEvent.ControlType.STOP));
+    }
+
+    /**
+    * Returns the figures between the two latest samples, taking a new sample
+    * first if the latest is at least REFRESH_NANOS old.
+    *
+    * @return The current interval.
+    */
+    private synchronized Interval interval()
+    {
+        long now = System.nanoTime();
+        if (now - latest.nanos >= REFRESH_NANOS)
+        {
+            previous = latest;
+            latest = new Sample(metrics);
+        }
+        return new Interval(previous, latest);
+    }
+
+    private static double toMillis(long nanos)
+    {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+    * The engine's cumulative metrics at one moment.
+    */
+    private static final class Sample
+    {
+        private final long nanos = System.nanoTime();
+        private final long ticks;
+        private final long allocatedBytes;
+        private final EnumMap<Phase, LatencyHistogram.Snapshot> phases = new EnumMap<>(Phase.class);
+
+        private Sample(EngineMetrics metrics)
+        {
+            this.ticks = metrics.tickCount();
+            this.allocatedBytes = metrics.allocatedBytes();
+            for (Phase phase : Phase.values())
+            {
+                phases.put(phase, metrics.histogram(phase).snapshot());
+            }
+        }
+    }
+
+    /**
+    * The difference between two samples.
+    */
+    private static final class Interval
+    {
+        private final Sample earlier;
+        private final Sample later;
+        private final double seconds;
+        private final long ticks;
+        private final long allocatedBytes;
+
+        private Interval(Sample earlier, Sample later)
+        {
+            this.earlier = earlier;
+            this.later = later;
+            this.seconds = (later.nanos - earlier.nanos) / 1e9;
+            this.ticks = later.ticks - earlier.ticks;
+            this.allocatedBytes = later.allocatedBytes - earlier.allocatedBytes;
+        }
+
+        private LatencyHistogram.Snapshot phase(Phase phase)
+        {
+            return later.phases.get(phase).minus(earlier.phases.get(phase));
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/***************************************************************
+
+- File:        EngineMetrics.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Live timing and load metrics of the simulation engine.
+
+- Description:
+- Holds a LatencyHistogram for each timed phase of a tick, counters
+- for ticks, drained events, ticks over the tick budget, late wake-ups,
+- overruns and bytes allocated by the simulation thread, and the
+- current number of intersections, roads and cars. Written by the
+- simulation thread without locks and readable from any thread while
+- the engine runs; take two histogram snapshots and subtract them for
+- the figures of a recent interval.
+
+***************************************************************/
+
+package trafficsim.core.sim;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class EngineMetrics
+{
+    /**
+    * The timed parts of the engine's work.
+    * EVENT_DRAIN is one pass over the posted events, INTERSECTION_UPDATE covers
+    * intersections and roads in one tick, CAR_UPDATE covers both car phases in
+    * one tick, and TICK is a whole tick from the first update to the last commit.
+    */
+    public enum Phase {
+        EVENT_DRAIN, INTERSECTION_UPDATE, CAR_UPDATE, TICK
+    }
+
+    // null if the JVM cannot measure per-thread allocation
+    private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = lookUpAllocationBean();
+
+    private final LatencyHistogram[] histograms = new LatencyHistogram[Phase.values().length];
+    private final long tickBudgetNanos;
+
+    private final AtomicLong tickCount = new AtomicLong(0);
+    private final AtomicLong eventsDrained = new AtomicLong(0);
+    private final AtomicLong ticksOverBudget = new AtomicLong(0);
+    private final AtomicLong lateWakeUps = new AtomicLong(0);
+    private final AtomicLong overruns = new AtomicLong(0);
+    private final AtomicLong allocatedBytes = new AtomicLong(0);
+
+    private volatile int intersectionCount = 0;
+    private volatile int roadCount = 0;
+    private volatile int carCount = 0;
+
+    EngineMetrics(long tickMillis)
+    {
+        this.tickBudgetNanos = tickMillis * 1_000_000L;
+        for (int i = 0; i < histograms.length; ++i)
+        {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+    * Returns the duration histogram of a phase, covering the engine's whole life.
+    *
+    * @param phase The phase.
+    * @return      The live histogram; snapshot it to read it.
+    */
+    public LatencyHistogram histogram(Phase phase)
+    {
+        return histograms[phase.ordinal()];
+    }
+
+    /**
+    * Returns the time one tick may take for the engine to keep up at 1x,
+    * which is the tick length.
+    *
+    * @return The budget in nanoseconds.
+    */
+    public long tickBudgetNanos()
+    {
+        return tickBudgetNanos;
+    }
+
+    public long tickCount()
+    {
+        return tickCount.get();
+    }
+
+    public long eventsDrained()
+    {
+        return eventsDrained.get();
+    }
+
+    /**
+    * Returns how many ticks took longer than the tick budget on their own.
+    *
+    * @return The count since construction.
+    */
+    public long ticksOverBudget()
+    {
+        return ticksOverBudget.get();
+    }
+
+    /**
+    * Returns how many scheduler wake-ups found more time owed than they may
+    * catch up on, and dropped the backlog. Only a REAL_TIME engine is ever late.
+    *
+    * @return The count since construction.
+    */
+    public long lateWakeUps()
+    {
+        return lateWakeUps.get();
+    }
+
+    /**
+    * Returns how many scheduler wake-ups took longer than their one-tick budget.
+    *
+    * @return The count since construction.
+    */
+    public long overruns()
+    {
+        return overruns.get();
+    }
+
+    /**
+    * Returns whether allocatedBytes is measured on this JVM.
+    *
+    * @return True if per-thread allocation can be measured.
+    */
+    public boolean isAllocationTracked()
+    {
+        return ALLOCATION_BEAN != null;
+    }
+
+    /**
+    * Returns the bytes the simulation thread allocated while running ticks,
+    * including the event handling and snapshot publishing around them.
+    *
+    * @return The bytes since construction, or 0 if allocation is not tracked.
+    */
+    public long allocatedBytes()
+    {
+        return allocatedBytes.get();
+    }
+
+    public int intersectionCount()
+    {
+        return intersectionCount;
+    }
+
+    public int roadCount()
+    {
+        return roadCount;
+    }
+
+    public int carCount()
+    {
+        return carCount;
+    }
+
+    void recordEventDrain(long nanos, int events)
+    {
+        histograms[Phase.EVENT_DRAIN.ordinal()].record(nanos);
+        if (events > 0)
+        {
+            eventsDrained.addAndGet(events);
+        }
+    }
+
+    void recordTick(long intersectionNanos, long carNanos)
+    {
+        long tickNanos = intersectionNanos + carNanos;
+        histograms[Phase.INTERSECTION_UPDATE.ordinal()].record(intersectionNanos);
+        histograms[Phase.CAR_UPDATE.ordinal()].record(carNanos);
+        histograms[Phase.TICK.ordinal()].record(tickNanos);
+        tickCount.incrementAndGet();
+        if (tickNanos > tickBudgetNanos)
+        {
+            ticksOverBudget.incrementAndGet();
+        }
+    }
+
+    void recordLateWakeUp()
+    {
+        lateWakeUps.incrementAndGet();
+    }
+
+    void recordOverrun()
+    {
+        overruns.incrementAndGet();
+    }
+
+    /**
+    * Returns the running total of bytes the calling thread has allocated, to be
+    * subtracted from a later reading and passed to recordAllocation.
+    *
+    * @return The thread's allocated bytes, or 0 if allocation is not tracked.
+    */
+    long currentThreadAllocatedBytes()
+    {
+        return ALLOCATION_BEAN != null ? ALLOCATION_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+
+    void recordAllocation(long bytes)
+    {
+        if (bytes > 0)
+        {
+            allocatedBytes.addAndGet(bytes);
+        }
+    }
+
+    void setEntityCounts(int intersections, int roads, int cars)
+    {
+        this.intersectionCount = intersections;
+        this.roadCount = roads;
+        this.carCount = cars;
+    }
+
+    /**
+    * Returns the JVM's thread bean with per-thread allocation measurement turned
+    * on, for callers that sample allocation themselves. Looked up once.
+    *
+    * @return The bean, or null if the JVM cannot measure per-thread allocation.
+    */
+    public static com.sun.management.ThreadMXBean allocationBean()
+    {
+        return ALLOCATION_BEAN;
+    }
+
+    private static com.sun.management.ThreadMXBean lookUpAllocationBean()
+    {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean))
+        {
+            return null;
+        }
+
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) bean;
+        if (!allocationBean.isThreadAllocatedMemorySupported())
+        {
+            return null;
+        }
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+        return allocationBean;
+    }
+}
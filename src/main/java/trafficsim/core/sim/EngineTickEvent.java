@@ -0,0 +1,62 @@
+/***************************************************************
+
+- File:        EngineTickEvent.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Flight Recorder event for one simulation tick.
+
+- Description:
+- Committed by the engine for every tick while a Flight Recorder
+- recording has it enabled, spanning the tick from the first update to
+- the last commit. Carries the time spent on each phase and the number
+- of entities updated, so a slow tick can be lined up against garbage
+- collections, lock contention and UI pulses in the same recording.
+- When no recording is running, creating and checking the event costs
+- next to nothing.
+
+***************************************************************/
+
+package trafficsim.core.sim;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("trafficsim.EngineTick")
+@Label("Engine Tick")
+@Category({"TrafficSim", "Engine"})
+@Description("One fixed simulation tick")
+@StackTrace(false)
+final class EngineTickEvent extends Event
+{
+    @Label("Simulation Clock (s)")
+    @Description("Reading of the simulation clock at the end of the tick, in seconds")
+    double simulationTime;
+
+    @Label("Intersection Update")
+    @Description("Time spent updating intersections and roads")
+    @Timespan(Timespan.NANOSECONDS)
+    long intersectionUpdate;
+
+    @Label("Car Update")
+    @Description("Time spent computing and committing every car")
+    @Timespan(Timespan.NANOSECONDS)
+    long carUpdate;
+
+    @Label("Parallel")
+    @Description("Whether cars were computed on the car update pool")
+    boolean parallel;
+
+    @Label("Intersections")
+    int intersections;
+
+    @Label("Roads")
+    int roads;
+
+    @Label("Cars")
+    int cars;
+}
@@ -0,0 +1,79 @@
+/***************************************************************
+
+- File:        EventDispatcher.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Routes simulation events to their handlers by type.
+
+- Description:
+- Maps each event class to the engine method that handles it, so an
+- event is dispatched with one table lookup instead of a chain of type
+- checks. Subclasses of a registered type, such as the many kinds of
+- AppliableCommand, are resolved on first sight and cached. Used only
+- on the simulation thread.
+
+***************************************************************/
+
+package trafficsim.core.sim;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import trafficsim.core.events.SimulationEvent;
+
+final class EventDispatcher
+{
+    private static final Consumer<SimulationEvent> IGNORE = event ->
+    {
+    };
+
+    // registration order, for resolving subclasses
+    private final Map<Class<?>, Consumer<SimulationEvent>> registered = new LinkedHashMap<>();
+    private final Map<Class<?>, Consumer<SimulationEvent>> resolved = new HashMap<>();
+
+    /**
+    * Registers the handler for events of the given type and its subclasses.
+    * Exact matches win; otherwise the first registered supertype is used.
+    *
+    * @param type    The event class.
+    * @param handler The handler for events of that class.
+    */
+    <E extends SimulationEvent> void register(Class<E> type, Consumer<? super E> handler)
+    {
+        Consumer<SimulationEvent> typed = event -> handler.accept(type.cast(event));
+        registered.put(type, typed);
+        resolved.clear();
+        resolved.putAll(registered);
+    }
+
+    /**
+    * Passes an event to its handler. Events of unregistered types are ignored.
+    *
+    * @param event The event to dispatch.
+    */
+    void dispatch(SimulationEvent event)
+    {
+        Class<?> type = event.getClass();
+        Consumer<SimulationEvent> handler = resolved.get(type);
+        if (handler == null)
+        {
+            handler = resolve(type);
+            resolved.put(type, handler);
+        }
+        handler.accept(event);
+    }
+
+    private Consumer<SimulationEvent> resolve(Class<?> type)
+    {
+        for (Map.Entry<Class<?>, Consumer<SimulationEvent>> entry : registered.entrySet())
+        {
+            if (entry.getKey().isAssignableFrom(type))
+            {
+                return entry.getValue();
+            }
+        }
+        return IGNORE;
+    }
+}
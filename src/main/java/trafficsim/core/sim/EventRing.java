@@ -0,0 +1,210 @@
+/***************************************************************
+
+- File:        EventRing.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Pre-allocated event queue for the simulation engine.
+
+- Description:
+- A bounded multi-producer, single-consumer ring buffer of simulation
+- events. Producers claim a sequence number with a CAS on the tail and
+- then publish into the claimed slot, so posting allocates nothing.
+- Claiming and publishing are also offered as separate steps, for a
+- producer that must know it has room before making an event visible
+- elsewhere. The simulation thread drains everything published up to the
+- tail it read at the start of the batch.
+
+***************************************************************/
+
+package trafficsim.core.sim;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import trafficsim.core.events.SimulationEvent;
+
+final class EventRing
+{
+    private static final int SPINS_BEFORE_PARK = 100;
+    private static final long PARK_NANOS = 50_000;
+
+    private final AtomicReferenceArray<SimulationEvent> slots;
+    private final int mask;
+    private final int capacity;
+
+    // next sequence to claim, shared by all producers
+    private final AtomicLong tail = new AtomicLong(0);
+    // next sequence to drain, written only by the consumer
+    private final AtomicLong head = new AtomicLong(0);
+
+    /**
+    * Constructs an empty ring that holds at least the given number of events.
+    *
+    * @param minCapacity The minimum capacity; rounded up to a power of two.
+    */
+    EventRing(int minCapacity)
+    {
+        if (minCapacity < 1)
+        {
+            throw new IllegalArgumentException("capacity must be positive: " + minCapacity);
+        }
+        int size = Integer.highestOneBit(minCapacity);
+        if (size < minCapacity)
+        {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+    }
+
+    /**
+    * Publishes an event, waiting for the consumer to make room if the ring is full.
+    * Thread-safe; can be called from any thread except the consumer's.
+    *
+    * @param event The event to publish.
+    */
+    void put(SimulationEvent event)
+    {
+        publish(claim(), event);
+    }
+
+    /**
+    * Publishes an event if there is room, without waiting.
+    * Thread-safe; can be called from any thread.
+    *
+    * @param event The event to publish.
+    * @return      True if the event was published, false if the ring is full.
+    */
+    boolean offer(SimulationEvent event)
+    {
+        long seq = tryClaim();
+        if (seq < 0)
+        {
+            return false;
+        }
+        publish(seq, event);
+        return true;
+    }
+
+    /**
+    * Reserves the next slot, waiting for the consumer to make room if the ring
+    * is full. The slot must then be filled with publish; the consumer stops at
+    * it until then. Can be called from any thread except the consumer's.
+    *
+    * @return The claimed sequence number.
+    */
+    long claim()
+    {
+        int spins = 0;
+        while (true)
+        {
+            long seq = tryClaim();
+            if (seq >= 0)
+            {
+                return seq;
+            }
+            if (++spins < SPINS_BEFORE_PARK)
+            {
+                Thread.onSpinWait();
+            } else
+            {
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+    * Reserves the next slot if there is room, without waiting. The slot must
+    * then be filled with publish. Thread-safe; can be called from any thread.
+    *
+    * @return The claimed sequence number, or -1 if the ring is full.
+    */
+    long tryClaim()
+    {
+        while (true)
+        {
+            long seq = tail.get();
+            if (seq - head.get() >= capacity)
+            {
+                return -1;
+            }
+            if (tail.compareAndSet(seq, seq + 1))
+            {
+                return seq;
+            }
+        }
+    }
+
+    /**
+    * Fills a claimed slot, making the event visible to the consumer.
+    *
+    * @param seq   A sequence number from claim or tryClaim, published only once.
+    * @param event The event to publish.
+    */
+    void publish(long seq, SimulationEvent event)
+    {
+        slots.setRelease((int) seq & mask, event);
+    }
+
+    /**
+    * Hands every event published before the call to the given sink, in order.
+    * Reads the tail once; events published meanwhile wait for the next drain.
+    * Inside the batch each slot is read with acquire ordering and cleared with
+    * a plain write: only this thread touches a published slot, and the release
+    * of head at the end makes the cleared slots visible to producers before
+    * they can claim them again. Must only be called by the single consumer thread.
+    *
+    * @param sink Receives each drained event.
+    * @return     The number of events drained.
+    */
+    int drain(Consumer<SimulationEvent> sink)
+    {
+        long first = head.getPlain(); // only this thread writes head
+        long limit = tail.getAcquire();
+        long seq = first;
+
+        try
+        {
+            while (seq < limit)
+            {
+                int index = (int) seq & mask;
+                SimulationEvent event = slots.getAcquire(index);
+                if (event == null)
+                {
+                    break; // claimed but not yet published, keep order
+                }
+                slots.setPlain(index, null);
+                ++seq;
+                sink.accept(event);
+            }
+        } finally
+        {
+            head.setRelease(seq);
+        }
+        return (int) (seq - first);
+    }
+
+    /**
+    * Returns the number of claimed events not yet drained. Approximate while
+    * producers are publishing.
+    *
+    * @return The queue depth.
+    */
+    int size()
+    {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    /**
+    * Returns the number of events the ring can hold.
+    *
+    * @return The capacity.
+    */
+    int capacity()
+    {
+        return capacity;
+    }
+}
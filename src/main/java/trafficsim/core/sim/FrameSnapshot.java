@@ -0,0 +1,178 @@
+/***************************************************************
+
+- File:        FrameSnapshot.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Per-tick view of every car for the renderer.
+
+- Description:
+- Holds the world position, heading and speed of every car as packed
+- primitive arrays, together with the Car handle each entry belongs
+- to. Filled by the simulation thread and handed to a reader through
+- a triple buffer; a snapshot does not change while its reader holds
+- it, so it can be read without locks.
+
+***************************************************************/
+
+package trafficsim.core.sim;
+
+import java.util.Arrays;
+
+import trafficsim.core.model.Car;
+
+public final class FrameSnapshot
+{
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int size = 0;
+    private long sequence = 0;
+    private long simTimeMillis = 0;
+    private long publishNanos = 0;
+
+    Car[] cars = new Car[INITIAL_CAPACITY];
+    double[] x = new double[INITIAL_CAPACITY];
+    double[] y = new double[INITIAL_CAPACITY];
+    double[] heading = new double[INITIAL_CAPACITY];
+    double[] speed = new double[INITIAL_CAPACITY];
+
+    FrameSnapshot()
+    {
+    }
+
+    /**
+    * Returns the number of cars in the snapshot.
+    *
+    * @return The car count.
+    */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+    * Returns the publish sequence number; higher is newer.
+    *
+    * @return The sequence number, 0 if nothing was published yet.
+    */
+    public long sequence()
+    {
+        return sequence;
+    }
+
+    /**
+    * Returns the simulation time the snapshot was taken at.
+    *
+    * @return Simulation time in milliseconds.
+    */
+    public long simTimeMillis()
+    {
+        return simTimeMillis;
+    }
+
+    /**
+    * Returns the wall-clock time the snapshot was published at, on the
+    * System.nanoTime time base (the same one JavaFX pulses use).
+    *
+    * @return The publish time in nanoseconds.
+    */
+    public long publishNanos()
+    {
+        return publishNanos;
+    }
+
+    /**
+    * Returns the car at the given index.
+    *
+    * @param i Index in [0, size()).
+    * @return  The Car handle.
+    */
+    public Car car(int i)
+    {
+        return cars[i];
+    }
+
+    /**
+    * Returns the x world coordinate of the car at the given index.
+    *
+    * @param i Index in [0, size()).
+    * @return  The x coordinate in meters, including lane offset.
+    */
+    public double x(int i)
+    {
+        return x[i];
+    }
+
+    /**
+    * Returns the y world coordinate of the car at the given index.
+    *
+    * @param i Index in [0, size()).
+    * @return  The y coordinate in meters, including lane offset.
+    */
+    public double y(int i)
+    {
+        return y[i];
+    }
+
+    /**
+    * Returns the heading of the car at the given index.
+    *
+    * @param i Index in [0, size()).
+    * @return  The heading in radians.
+    */
+    public double heading(int i)
+    {
+        return heading[i];
+    }
+
+    /**
+    * Returns the speed of the car at the given index.
+    *
+    * @param i Index in [0, size()).
+    * @return  The speed in meters per second.
+    */
+    public double speed(int i)
+    {
+        return speed[i];
+    }
+
+    /**
+    * Grows the arrays so they can hold the given number of cars.
+    * Only called by the simulation thread on a buffer it owns.
+    *
+    * @param capacity The number of cars to hold.
+    */
+    void ensureCapacity(int capacity)
+    {
+        if (capacity <= cars.length)
+        {
+            return;
+        }
+        int newLength = Math.max(capacity, cars.length * 2);
+        cars = Arrays.copyOf(cars, newLength);
+        x = Arrays.copyOf(x, newLength);
+        y = Arrays.copyOf(y, newLength);
+        heading = Arrays.copyOf(heading, newLength);
+        speed = Arrays.copyOf(speed, newLength);
+    }
+
+    /**
+    * Sets the frame header after the arrays were filled, and clears car handles
+    * left over from a larger earlier frame.
+    *
+    * @param size          The number of cars filled in.
+    * @param sequence      The publish sequence number.
+    * @param simTimeMillis The simulation time in milliseconds.
+    * @param publishNanos  The wall-clock publish time from System.nanoTime.
+    */
+    void finish(int size, long sequence, long simTimeMillis, long publishNanos)
+    {
+        if (size < this.size)
+        {
+            Arrays.fill(cars, size, this.size, null);
+        }
+        this.size = size;
+        this.sequence = sequence;
+        this.simTimeMillis = simTimeMillis;
+        this.publishNanos = publishNanos;
+    }
+}
@@ -0,0 +1,209 @@
+/***************************************************************
+
+- File:        LatencyHistogram.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Lock-free histogram of durations for engine metrics.
+
+- Description:
+- Counts durations in log-linear buckets, in the manner of an HDR
+- histogram: values below 32 ns get a bucket each, and every power of
+- two above that is split into 32 equal buckets, so any value is known
+- to within about 3% up to over half an hour. Recording is a single
+- atomic increment with no locks and no allocation, so the simulation
+- thread can record every phase of every tick while any other thread
+- takes snapshots. The difference of two snapshots gives the
+- distribution over the interval between them.
+
+***************************************************************/
+
+package trafficsim.core.sim;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public final class LatencyHistogram
+{
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40; // values below 2^41 ns, about 36 minutes
+    private static final int BUCKET_COUNT = SUB_BUCKETS * (MAX_EXPONENT - SUB_BUCKET_BITS + 2);
+
+    /**
+    * The largest value told apart from larger ones; bigger values are counted
+    * in the last bucket.
+    */
+    public static final long MAX_TRACKABLE_NANOS = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalNanos = new AtomicLong(0);
+
+    /**
+    * Constructs an empty histogram. All buckets are allocated up front, so
+    * recording never allocates.
+    */
+    public LatencyHistogram()
+    {
+    }
+
+    /**
+    * Records one duration. Lock-free and allocation-free; safe from any thread.
+    *
+    * @param nanos The duration in nanoseconds; negative values count as 0.
+    */
+    public void record(long nanos)
+    {
+        long value = Math.max(0, Math.min(nanos, MAX_TRACKABLE_NANOS));
+        counts.incrementAndGet(bucketOf(value));
+        totalNanos.addAndGet(value);
+    }
+
+    /**
+    * Copies the current counts. Taken while recording continues, so a value
+    * recorded meanwhile may or may not be included.
+    *
+    * @return A snapshot of every value recorded so far.
+    */
+    public Snapshot snapshot()
+    {
+        long[] copy = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; ++i)
+        {
+            copy[i] = counts.get(i);
+        }
+        return new Snapshot(copy, totalNanos.get());
+    }
+
+    private static int bucketOf(long value)
+    {
+        if (value < SUB_BUCKETS)
+        {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return SUB_BUCKETS + shift * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+    * Returns the largest value that falls into a bucket.
+    *
+    * @param bucket The bucket index.
+    * @return       The bucket's upper bound in nanoseconds.
+    */
+    private static long upperBoundOf(int bucket)
+    {
+        if (bucket < SUB_BUCKETS)
+        {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+        long mantissa = SUB_BUCKETS + (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    /**
+    * An immutable copy of a histogram's counts at one moment.
+    */
+    public static final class Snapshot
+    {
+        private final long[] counts;
+        private final long totalNanos;
+        private final long count;
+
+        private Snapshot(long[] counts, long totalNanos)
+        {
+            this.counts = counts;
+            this.totalNanos = totalNanos;
+
+            long sum = 0;
+            for (long c : counts)
+            {
+                sum += c;
+            }
+            this.count = sum;
+        }
+
+        /**
+        * Returns the number of recorded values.
+        *
+        * @return The value count.
+        */
+        public long count()
+        {
+            return count;
+        }
+
+        /**
+        * Returns the mean of the recorded values.
+        *
+        * @return The mean in nanoseconds, or 0 if nothing was recorded.
+        */
+        public double meanNanos()
+        {
+            return count > 0 ? (double) totalNanos / count : 0.0;
+        }
+
+        /**
+        * Returns the value at or below which the given percentage of values fall,
+        * rounded up to the end of its bucket.
+        *
+        * @param percentile The percentile, from 0 to 100.
+        * @return           The value in nanoseconds, or 0 if nothing was recorded.
+        */
+        public long valueAtPercentile(double percentile)
+        {
+            if (count == 0)
+            {
+                return 0;
+            }
+
+            double clamped = Math.max(0.0, Math.min(100.0, percentile));
+            long rank = Math.max(1, (long) Math.ceil(clamped / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; ++i)
+            {
+                seen += counts[i];
+                if (seen >= rank)
+                {
+                    return upperBoundOf(i);
+                }
+            }
+            return upperBoundOf(counts.length - 1);
+        }
+
+        /**
+        * Returns the largest recorded value, rounded up to the end of its bucket.
+        *
+        * @return The maximum in nanoseconds, or 0 if nothing was recorded.
+        */
+        public long maxNanos()
+        {
+            for (int i = counts.length - 1; i >= 0; --i)
+            {
+                if (counts[i] != 0)
+                {
+                    return upperBoundOf(i);
+                }
+            }
+            return 0;
+        }
+
+        /**
+        * Returns the values recorded after an earlier snapshot of the same histogram.
+        *
+        * @param earlier A snapshot taken before this one.
+        * @return        The difference, as a snapshot of its own.
+        */
+        public Snapshot minus(Snapshot earlier)
+        {
+            long[] diff = new long[counts.length];
+            for (int i = 0; i < counts.length; ++i)
+            {
+                diff[i] = Math.max(0, counts[i] - earlier.counts[i]);
+            }
+            return new Snapshot(diff, Math.max(0, totalNanos - earlier.totalNanos));
+        }
+    }
+}
@@ -9,7 +9,10 @@
 - Manages the simulation loop, event queue, and all simulation state.
 - Handles time progression, model updates, and thread-safe event processing.
 - Provides methods for posting events, controlling simulation state, and
-- accessing the road network and simulation time.
+- accessing the road network and simulation time. Runs on its own
+- scheduler or, in MANUAL clock mode, on the caller's thread, and hands
+- each frame of car state to the renderer without locking. Has no
+- dependency on the UI toolkit.
 
 ***************************************************************/
 
@@ -18,46 +21,374 @@ package trafficsim.core.sim;
 import trafficsim.core.model.*;
 import trafficsim.core.events.*;
 
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
-import javafx.application.Platform;
+import javax.management.ObjectName;
 
 public final class SimulationEngine
 {
+    /**
+    * How simulation time is driven.
+    * REAL_TIME advances one tick of simulation time per tick of wall-clock time,
+    * multiplied by the time scale, on an internal scheduler thread. MANUAL has no
+    * scheduler; time only advances when the caller invokes step or runUntil.
+    */
+    public enum ClockMode {
+        REAL_TIME, MANUAL
+    }
+
+    /**
+    * What postEvent does when the model command queue is full.
+    * BLOCK waits for the simulation thread to make room, REJECT throws
+    * RejectedExecutionException, and DROP discards the event and returns false.
+    * BLOCK never drops an event: the thread that steps a MANUAL engine applies
+    * the queue itself to make room, and a thread that cannot wait for anyone
+    * else to do so gets an IllegalStateException.
+    */
+    public enum OverflowPolicy {
+        BLOCK, REJECT, DROP
+    }
+
     // timing
-    private static final long TICK_MS = 16; // ~ 60 fps 
+    public static final long DEFAULT_TICK_MILLIS = 16; // ~ 60 fps
+    private final long tickMillis;
     private final AtomicLong simTimeMillis = new AtomicLong(0);
 
+    // time scale
+    public static final double MIN_TIME_SCALE = 0.25;
+    public static final double MAX_TIME_SCALE = 100.0;
+    private static final double OVERRUN_HEADROOM = 0.9;
+    private static final double RECOVERY_FACTOR = 1.25;
+    private volatile double timeScale = 1.0;
+    private volatile double effectiveTimeScale = 1.0;
+    private final EngineMetrics metrics;
+    private final ObjectName mbeanName; // null unless registered
+    private long lastWakeNanos;
+    private double pendingSimMillis;
+
     // threads
+    private final ClockMode clockMode;
     private ScheduledExecutorService exec;
-    private final BlockingQueue<SimulationEvent> eventQueue = new LinkedBlockingQueue<>();
+    // engine control requests not yet applied, coalesced into CONTROL_* bits
+    private static final int CONTROL_STOP = 1;
+    private static final int CONTROL_START = 2;
+    private static final int CONTROL_PAUSE = 4;
+    private final AtomicInteger pendingControl = new AtomicInteger(0);
+    private final EventRing eventQueue;
+    private volatile Thread drainingThread; // the thread that last drained the queue
+    private boolean manualStepRunning = false; // stepping thread only
+    private final OverflowPolicy overflowPolicy;
+    private final AtomicLong droppedEventCount = new AtomicLong(0);
+    // latest pending full-state UpdateItemEvent per item; see postEvent
+    private final ConcurrentHashMap<Object, UpdateItemEvent<?>> pendingUpdates = new ConcurrentHashMap<>();
+    private final EventDispatcher dispatcher = new EventDispatcher();
+    private final Consumer<SimulationEvent> dispatchEvent = this::dispatchTraced;
     private volatile boolean isRunning = false;
+    private final Executor callbackExecutor;
+
+    // parallel car update
+    private static final int PARALLEL_CAR_THRESHOLD = 512;
+    private static final int CHUNKS_PER_WORKER = 4;
+    private final ForkJoinPool carUpdatePool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
 
-    // world
-    private final List<Updatable> updatables = new CopyOnWriteArrayList<>();
+    // world - partitioned by kind, only touched by the simulation thread
+    private final List<SignalisedIntersection> signalisedIntersections = new ArrayList<>();
+    private final List<Intersection> otherIntersections = new ArrayList<>();
+    private int roundaboutCount = 0; // roundabouts are not updated, only counted
+    private final ArrayList<Road> roads = new ArrayList<>();
+    private final ArrayList<Car> cars = new ArrayList<>();
     private final RoadNetwork roadNet = new RoadNetwork();
+    private final VehicleStore vehicleStore; // null unless enabled in EngineConfig
+
+    // frames for the renderer
+    private final SnapshotBuffer snapshots = new SnapshotBuffer();
+    private long snapshotSequence = 0;
+    // signal groups whose state changed since the renderer last drained them
+    private final Set<SignalGroup> changedSignals = ConcurrentHashMap.newKeySet();
+    private final SignalChangeListener signalChangeListener = changedSignals::add;
 
     /**
-    * Constructs a SimulationEngine and starts the simulation loop.
-    * Initializes the event queue, updatables list, and road network.
+    * Constructs a headless SimulationEngine and starts the simulation loop.
+    * Post-deletion callbacks run directly on the simulation thread.
     */
     public SimulationEngine()
     {
-        this.exec = Executors.newSingleThreadScheduledExecutor();
-        this.exec.scheduleAtFixedRate(this::step, 0L, TICK_MS, TimeUnit.MILLISECONDS);
+        this(Runnable::run);
+    }
+
+    /**
+    * Constructs a SimulationEngine and starts the simulation loop.
+    * Initializes the event queue, entity lists, and road network.
+    *
+    * @param callbackExecutor Executor used to run post-deletion callbacks, e.g.
+    *                         the UI thread's executor when a view is attached.
+    */
+    public SimulationEngine(Executor callbackExecutor)
+    {
+        this(ClockMode.REAL_TIME, callbackExecutor);
+    }
+
+    /**
+    * Constructs a SimulationEngine with the given clock mode.
+    * A REAL_TIME engine starts its simulation loop immediately; a MANUAL engine
+    * starts no threads and is advanced with step or runUntil.
+    *
+    * @param clockMode        How simulation time is driven.
+    * @param callbackExecutor Executor used to run post-deletion callbacks.
+    */
+    public SimulationEngine(ClockMode clockMode, Executor callbackExecutor)
+    {
+        this(configOf(clockMode, callbackExecutor));
+    }
+
+    /**
+    * Constructs a SimulationEngine from the given configuration.
+    * A REAL_TIME engine starts its simulation loop immediately; a MANUAL engine
+    * starts no threads and is advanced with step or runUntil.
+    *
+    * @param config The construction options.
+    */
+    public SimulationEngine(EngineConfig config)
+    {
+        this.clockMode = config.getClockMode();
+        this.tickMillis = config.getTickMillis();
+        this.metrics = new EngineMetrics(tickMillis);
+        this.callbackExecutor = config.getCallbackExecutor();
+        this.vehicleStore = config.isVehicleStoreEnabled() ? new VehicleStore(roadNet) : null;
+        this.eventQueue = new EventRing(config.getEventQueueCapacity());
+        this.overflowPolicy = config.getOverflowPolicy();
+        registerEventHandlers();
+
+        if (clockMode == ClockMode.REAL_TIME)
+        {
+            // fixed delay, so a slow wake-up can never queue late executions behind it
+            this.lastWakeNanos = System.nanoTime();
+            this.exec = Executors.newSingleThreadScheduledExecutor();
+            this.exec.scheduleWithFixedDelay(this::step, 0L, tickMillis, TimeUnit.MILLISECONDS);
+        }
+
+        this.mbeanName = config.isJmxEnabled() ? EngineManagement.register(this) : null;
+    }
+
+    private static EngineConfig configOf(ClockMode clockMode, Executor callbackExecutor)
+    {
+        EngineConfig config = new EngineConfig();
+        config.setClockMode(clockMode);
+        config.setCallbackExecutor(callbackExecutor);
+        return config;
     }
 
     /**
      * Posts a simulation event to the engine's event queue for processing.
      * Thread-safe; can be called from any thread.
+     * Engine control events never wait: they are merged into a single pending
+     * request, applied before any queued model command with the same outcome as
+     * applying them one by one. A full-state UpdateItemEvent for an item that
+     * already has one waiting replaces it in place (last writer wins). Other
+     * events go into the bounded command queue, and a full queue is handled by
+     * the configured OverflowPolicy. Under BLOCK, a thread that drains the queue
+     * itself is never made to wait, since nothing else would make room. The
+     * thread that steps a MANUAL engine applies the queued events at once, as the
+     * next step would, and then queues its event. A full queue is an error when
+     * posting from the simulation thread during a tick (an event handler,
+     * callback or listener) or before a MANUAL engine has first been stepped.
      *
      * @param event The SimulationEvent to post.
+     * @return      True if the event was queued or coalesced, false if it was
+     *              dropped, which only happens under DROP.
+     * @throws RejectedExecutionException if the queue is full and the policy is REJECT.
+     * @throws IllegalStateException      if the queue is full, the policy is BLOCK
+     *                                    and no thread can make room.
      */
-    public void postEvent(SimulationEvent event)
+    public boolean postEvent(SimulationEvent event)
+    {
+        Objects.requireNonNull(event);
+
+        if (event instanceof EngineControlEvent)
+        {
+            requestControl(((EngineControlEvent) event).getType());
+            return true;
+        }
+
+        UpdateItemEvent<?> update = coalescibleUpdate(event);
+        if (update != null && pendingUpdates.replace(update.getItem(), update) != null)
+        {
+            return true; // an earlier update for this item is still queued and will apply this one
+        }
+
+        long seq = claimSlot();
+        if (seq < 0)
+        {
+            droppedEventCount.incrementAndGet();
+            if (overflowPolicy == OverflowPolicy.REJECT)
+            {
+                throw new RejectedExecutionException("simulation event queue is full");
+            }
+            return false;
+        }
+
+        if (update != null)
+        {
+            // only made visible once its queue entry is certain, so no other
+            // producer can coalesce into an update that is then dropped; if two
+            // are queued, the first to be handled applies the latest
+            pendingUpdates.put(update.getItem(), update);
+        }
+        eventQueue.publish(seq, event);
+        return true;
+    }
+
+    /**
+    * Returns the event as an update that may be coalesced with others for its item.
+    *
+    * @param event A posted event.
+    * @return      The full-state UpdateItemEvent, or null for any other event.
+    */
+    private static UpdateItemEvent<?> coalescibleUpdate(SimulationEvent event)
     {
-        eventQueue.add(event);
+        if (!(event instanceof UpdateItemEvent))
+        {
+            return null;
+        }
+        UpdateItemEvent<?> update = (UpdateItemEvent<?>) event;
+        return update.isFullState() && update.getItem() != null ? update : null;
+    }
+
+    /**
+    * Reserves a command queue slot according to the overflow policy. Under BLOCK,
+    * waits for room if some other thread drains the queue, and otherwise makes
+    * room by applying the queue on the calling thread when that thread owns the
+    * ticks of a MANUAL engine and is between steps.
+    *
+    * @return The claimed sequence number, or -1 if the queue is full and the
+    *         policy is not BLOCK.
+    * @throws IllegalStateException if the queue is full under BLOCK and no thread
+    *                               can make room.
+    */
+    private long claimSlot()
+    {
+        if (overflowPolicy != OverflowPolicy.BLOCK)
+        {
+            return eventQueue.tryClaim();
+        }
+        if (!isDrainedByCaller())
+        {
+            return eventQueue.claim();
+        }
+
+        long seq;
+        while ((seq = eventQueue.tryClaim()) < 0)
+        {
+            if (drainingThread == null)
+            {
+                throw new IllegalStateException("simulation event queue is full and the engine has not been stepped yet");
+            }
+            if (clockMode != ClockMode.MANUAL || manualStepRunning)
+            {
+                throw new IllegalStateException("simulation event queue is full while posting from the simulation thread");
+            }
+            processEventQueue(); // this thread owns the ticks, apply now what the next step would
+            Thread.onSpinWait(); // other producers may still be filling claimed slots
+        }
+        return seq;
+    }
+
+    private boolean isDrainedByCaller()
+    {
+        Thread drainer = drainingThread;
+        if (drainer == null)
+        {
+            return clockMode == ClockMode.MANUAL; // REAL_TIME starts its loop at construction
+        }
+        return drainer == Thread.currentThread();
+    }
+
+    /**
+    * Merges an engine control request into the pending one. STOP is kept until
+    * applied, while START and PAUSE replace each other, so applying the merged
+    * request ends in the same state as applying each request in turn.
+    *
+    * @param type The requested control action.
+    */
+    private void requestControl(EngineControlEvent.ControlType type)
+    {
+        switch (type) {
+        case START:
+            pendingControl.getAndUpdate(c -> (c & CONTROL_STOP) | CONTROL_START);
+            break;
+        case PAUSE:
+            pendingControl.getAndUpdate(c -> (c & CONTROL_STOP) | CONTROL_PAUSE);
+            break;
+        case STOP:
+            pendingControl.set(CONTROL_STOP | CONTROL_PAUSE);
+            break;
+        }
+    }
+
+    /**
+    * Applies the pending engine control request, if there is one.
+    *
+    * @return True if a request was applied.
+    */
+    private boolean applyControl()
+    {
+        if (pendingControl.get() == 0)
+        {
+            return false;
+        }
+
+        int control = pendingControl.getAndSet(0);
+        if ((control & CONTROL_STOP) != 0)
+        {
+            stop();
+        }
+        if ((control & CONTROL_START) != 0)
+        {
+            start();
+        } else if ((control & CONTROL_PAUSE) != 0)
+        {
+            pause();
+        }
+        return control != 0;
+    }
+
+    /**
+    * Returns the number of model commands waiting in the queue.
+    *
+    * @return The queue depth.
+    */
+    public int getEventQueueDepth()
+    {
+        return eventQueue.size();
+    }
+
+    /**
+    * Returns how many events were dropped or rejected because the queue was full.
+    *
+    * @return The dropped event count since construction.
+    */
+    public long getDroppedEventCount()
+    {
+        return droppedEventCount.get();
+    }
+
+    /**
+    * Returns whether the simulation is started rather than paused or stopped.
+    *
+    * @return True while the simulation is running.
+    */
+    public boolean isRunning()
+    {
+        return isRunning;
     }
 
     /**
@@ -85,23 +416,37 @@ public final class SimulationEngine
         pause();
         simTimeMillis.set(0);
 
-        for (Updatable u : updatables)
+        for (int i = 0; i < cars.size(); ++i)
         {
-            if (u instanceof Car)
-            {
-                ((Car) u).resetToInitialState();
-            }
+            cars.get(i).resetToInitialState();
+        }
+        if (vehicleStore != null)
+        {
+            vehicleStore.resetAll();
         }
     }
 
     /**
-    * Clears all simulation state, removing all updatables and roads.
+    * Clears all simulation state, removing all intersections, roads and cars.
     * Pauses the simulation and resets the simulation time.
     */
     private void clearAll()
     {
         pause();
-        updatables.clear();
+        for (int i = 0; i < signalisedIntersections.size(); ++i)
+        {
+            signalisedIntersections.get(i).setSignalChangeListener(null);
+        }
+        signalisedIntersections.clear();
+        changedSignals.clear();
+        otherIntersections.clear();
+        roundaboutCount = 0;
+        roads.clear();
+        cars.clear();
+        if (vehicleStore != null)
+        {
+            vehicleStore.clear();
+        }
         roadNet.clear();
         simTimeMillis.set(0);
     }
@@ -115,137 +460,670 @@ public final class SimulationEngine
     */
     private void addVehicle(Car car, Road spawnRoad, double spawnOffsetMeters)
     {
+        if (vehicleStore != null)
+        {
+            vehicleStore.add(car, spawnRoad, spawnOffsetMeters);
+            return;
+        }
         car.attachTo(spawnRoad, spawnOffsetMeters);
-        updatables.add(car);
+        cars.add(car);
     }
 
     /**
-    * Advances the simulation by one tick, updating all updatable objects.
+    * Advances a MANUAL engine by the given number of fixed ticks on the calling thread,
+    * applying posted events at each tick boundary. Runs as fast as the CPU allows.
+    * START and PAUSE have no effect on a manual engine; it advances exactly as far
+    * as it is asked to. Must not be called concurrently from several threads.
+    *
+    * @param ticks The number of fixed ticks to advance.
+    * @throws IllegalStateException    if the engine uses the REAL_TIME clock.
+    * @throws IllegalArgumentException if ticks is negative.
+    */
+    public void step(int ticks)
+    {
+        requireManualClock();
+        if (ticks < 0)
+        {
+            throw new IllegalArgumentException("ticks must not be negative: " + ticks);
+        }
+
+        long allocStart = metrics.currentThreadAllocatedBytes();
+        manualStepRunning = true;
+        try
+        {
+            for (int i = 0; i < ticks; ++i)
+            {
+                processEventQueue();
+                advance();
+            }
+            publishSnapshot();
+        } finally
+        {
+            manualStepRunning = false;
+        }
+        metrics.recordAllocation(metrics.currentThreadAllocatedBytes() - allocStart);
+    }
+
+    /**
+    * Advances a MANUAL engine until its simulation time reaches the given value,
+    * applying posted events at each tick boundary. Runs as fast as the CPU allows.
+    * Must not be called concurrently from several threads.
+    *
+    * @param simSeconds The simulation time, in seconds, to run up to.
+    * @return           The number of ticks that were executed.
+    * @throws IllegalStateException if the engine uses the REAL_TIME clock.
+    */
+    public long runUntil(double simSeconds)
+    {
+        requireManualClock();
+        long targetMillis = (long) Math.ceil(simSeconds * 1000.0);
+
+        long allocStart = metrics.currentThreadAllocatedBytes();
+        long ticks = 0;
+        manualStepRunning = true;
+        try
+        {
+            while (simTimeMillis.get() < targetMillis)
+            {
+                processEventQueue();
+                advance();
+                ++ticks;
+            }
+            publishSnapshot();
+        } finally
+        {
+            manualStepRunning = false;
+        }
+        metrics.recordAllocation(metrics.currentThreadAllocatedBytes() - allocStart);
+        return ticks;
+    }
+
+    private void requireManualClock()
+    {
+        if (clockMode != ClockMode.MANUAL)
+        {
+            throw new IllegalStateException("step and runUntil require a MANUAL clock engine");
+        }
+    }
+
+    /**
+    * Sets the requested time scale for a REAL_TIME engine, clamped to
+    * [MIN_TIME_SCALE, MAX_TIME_SCALE]. Each scheduler wake-up runs as many fixed
+    * tick-sized sub-steps as the scaled wall-clock time calls for. Thread-safe.
+    *
+    * @param scale Simulated seconds per wall-clock second.
+    */
+    public void setTimeScale(double scale)
+    {
+        double clamped = Math.max(MIN_TIME_SCALE, Math.min(MAX_TIME_SCALE, scale));
+        this.timeScale = clamped;
+        this.effectiveTimeScale = clamped;
+    }
+
+    /**
+    * Returns the time scale most recently requested through setTimeScale.
+    *
+    * @return The requested time scale.
+    */
+    public double getTimeScale()
+    {
+        return timeScale;
+    }
+
+    /**
+    * Returns the time scale the engine is actually running at. This is lower
+    * than the requested scale when the sub-steps overran their wall-clock budget
+    * and the engine backed off to the highest rate it can sustain.
+    *
+    * @return The effective time scale.
+    */
+    public double getEffectiveTimeScale()
+    {
+        return effectiveTimeScale;
+    }
+
+    /**
+    * Returns how many scheduler wake-ups took longer than their one-tick budget.
+    *
+    * @return The overrun count since construction.
+    */
+    public long getOverrunCount()
+    {
+        return metrics.overruns();
+    }
+
+    /**
+    * Returns the engine's phase timings, counters and entity counts. Safe to read
+    * from any thread while the engine runs.
+    *
+    * @return The engine metrics.
+    */
+    public EngineMetrics metrics()
+    {
+        return metrics;
+    }
+
+    /**
+    * Runs one scheduler wake-up: applies posted events, then advances the model by
+    * as many fixed sub-steps as the elapsed wall-clock time times the time scale
+    * calls for. Backlog beyond a couple of wake-ups is dropped instead of being
+    * caught up later, and overruns lower the effective scale.
     * Called periodically by the simulation loop.
     */
     private void step()
     {
         processEventQueue();
+
+        long wakeNanos = System.nanoTime();
+        double elapsedMillis = (wakeNanos - lastWakeNanos) / 1_000_000.0;
+        lastWakeNanos = wakeNanos;
+
         if (!isRunning)
         {
+            pendingSimMillis = 0;
+            publishSnapshot(); // edits still show while paused
             return; // no update on pause
         }
 
-        double deltaTime = TICK_MS / 1000.0;
-        simTimeMillis.addAndGet(TICK_MS);
-        for (Updatable u : updatables)
+        double scale = effectiveTimeScale;
+        pendingSimMillis += elapsedMillis * scale;
+
+        int maxSubSteps = Math.max(2, (int) Math.ceil(2 * scale));
+        int subSteps = (int) (pendingSimMillis / tickMillis);
+        if (subSteps > maxSubSteps)
+        {
+            subSteps = maxSubSteps;
+            pendingSimMillis = 0; // fell behind, drop the backlog
+            metrics.recordLateWakeUp();
+        } else
         {
-            u.update(deltaTime);
+            pendingSimMillis -= subSteps * tickMillis;
         }
+
+        long allocStart = metrics.currentThreadAllocatedBytes();
+        for (int i = 0; i < subSteps; ++i)
+        {
+            advance();
+        }
+        publishSnapshot();
+        metrics.recordAllocation(metrics.currentThreadAllocatedBytes() - allocStart);
+
+        adaptTimeScale(subSteps, System.nanoTime() - wakeNanos);
     }
 
     /**
-    * Processes all events in the event queue, dispatching them to the appropriate handlers.
-    * Handles engine control, model commands, and other simulation events.
+    * Lowers the effective time scale to what the last wake-up showed to be
+    * sustainable when its sub-steps overran their one-tick budget, and eases it back
+    * toward the requested scale when there is headroom again.
+    *
+    * @param subSteps  Number of sub-steps run in the wake-up.
+    * @param workNanos Wall-clock time the wake-up spent working.
     */
-    private void processEventQueue()
+    private void adaptTimeScale(int subSteps, long workNanos)
     {
-        SimulationEvent event;
-        while ((event = eventQueue.poll()) != null)
+        if (subSteps == 0)
         {
-            if (event instanceof EngineControlEvent)
-            {
-                handleEngineControl((EngineControlEvent) event);
-            } else if (event instanceof ModelCommandEvent)
+            return;
+        }
+
+        double workMillis = workNanos / 1_000_000.0;
+        double requested = timeScale;
+        double current = effectiveTimeScale;
+
+        if (workMillis > tickMillis)
+        {
+            metrics.recordOverrun();
+            double sustainable = (subSteps * tickMillis / workMillis) * OVERRUN_HEADROOM;
+            effectiveTimeScale = Math.max(MIN_TIME_SCALE, Math.min(current, Math.min(requested, sustainable)));
+        } else if (current < requested && workMillis < tickMillis / 2.0)
+        {
+            effectiveTimeScale = Math.min(requested, current * RECOVERY_FACTOR);
+        }
+    }
+
+    /**
+    * Fills the back snapshot with the committed state of every car and publishes
+    * it to the renderer. Runs once per scheduler wake-up, or at the end of a
+    * manual step or runUntil call, rather than once per sub-step.
+    */
+    private void publishSnapshot()
+    {
+        FrameSnapshot frame = snapshots.back();
+        int count;
+
+        if (vehicleStore != null)
+        {
+            frame.ensureCapacity(vehicleStore.size());
+            count = vehicleStore.sampleInto(frame.cars, frame.x, frame.y, frame.heading, frame.speed);
+        } else
+        {
+            count = cars.size();
+            frame.ensureCapacity(count);
+            for (int i = 0; i < count; ++i)
             {
-                handleModelCommand((ModelCommandEvent) event);
+                Car car = cars.get(i);
+                frame.cars[i] = car;
+                car.sampleInto(i, frame.x, frame.y, frame.heading, frame.speed);
             }
         }
+
+        frame.finish(count, ++snapshotSequence, simTimeMillis.get(), System.nanoTime());
+        snapshots.publish();
     }
 
     /**
-    * Handles engine control events (start, pause, stop).
+    * Returns the newest frame published by the simulation thread. Never blocks and
+    * never contends with the simulation. The returned snapshot stays unchanged
+    * until the next call, so this must always be called from the same thread,
+    * e.g. the UI thread.
     *
-    * @param event The EngineControlEvent to process.
+    * @return The newest FrameSnapshot; empty before the first publish.
     */
-    private void handleEngineControl(EngineControlEvent event)
+    public FrameSnapshot latestSnapshot()
     {
-        switch (event.getType()) {
-        case START:
-            start();
-            break;
-        case PAUSE:
-            pause();
-            break;
-        case STOP:
-            stop();
-            break;
-        }
+        return snapshots.latest();
     }
 
     /**
-    * Handles model command events, such as adding or removing items from the simulation.
+    * Hands every signal group whose state changed since the last call to the
+    * given sink, once each, and forgets them. Safe to call from any thread while
+    * the simulation runs; the sink reads each group's current state.
     *
-    * @param event The ModelCommandEvent to process.
+    * @param sink Receives each changed signal group.
     */
-    private void handleModelCommand(ModelCommandEvent event)
+    public void drainChangedSignals(Consumer<SignalGroup> sink)
     {
-        if (event instanceof AddIntersectionEvent)
+        if (changedSignals.isEmpty())
         {
-            updatables.add(((AddIntersectionEvent) event).getIntersection());
-        } else if (event instanceof AddRoadEvent)
+            return;
+        }
+        Iterator<SignalGroup> it = changedSignals.iterator();
+        while (it.hasNext())
         {
-            Road road = ((AddRoadEvent) event).getRoad();
-            updatables.add(road);
-            roadNet.add(road);
+            SignalGroup group = it.next();
+            it.remove();
+            sink.accept(group);
+        }
+    }
 
-        } else if (event instanceof AddCarEvent)
+    /**
+    * Moves simulation time forward by one fixed tick and updates every entity.
+    * Intersections and roads update first so that cars see this tick's signals
+    * and lane order.
+    */
+    private void advance()
+    {
+        EngineTickEvent tickEvent = new EngineTickEvent();
+        tickEvent.begin();
+
+        double deltaTime = tickMillis / 1000.0;
+        long simMillis = simTimeMillis.addAndGet(tickMillis);
+
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < signalisedIntersections.size(); ++i)
+        {
+            signalisedIntersections.get(i).update(deltaTime);
+        }
+        for (int i = 0; i < otherIntersections.size(); ++i)
+        {
+            otherIntersections.get(i).update(deltaTime);
+        }
+        for (int i = 0; i < roads.size(); ++i)
         {
-            AddCarEvent cmd = (AddCarEvent) event;
+            roads.get(i).update(deltaTime);
+        }
+        long carsNanos = System.nanoTime();
+        updateCars(deltaTime);
+        long endNanos = System.nanoTime();
+
+        metrics.recordTick(carsNanos - startNanos, endNanos - carsNanos);
 
-            Car car = cmd.getCar();
-            car.setSimulationObjects(this.updatables);
+        if (tickEvent.shouldCommit())
+        {
+            tickEvent.simulationTime = simMillis / 1000.0;
+            tickEvent.intersectionUpdate = carsNanos - startNanos;
+            tickEvent.carUpdate = endNanos - carsNanos;
+            tickEvent.intersections = metrics.intersectionCount();
+            tickEvent.roads = metrics.roadCount();
+            tickEvent.cars = metrics.carCount();
+            tickEvent.parallel = tickEvent.cars >= PARALLEL_CAR_THRESHOLD;
+            tickEvent.commit();
+        }
+    }
 
-            List<Road> outs = roadNet.outgoing(cmd.getSpawnPoint());
-            if (!outs.isEmpty())
+    /**
+    * Updates all cars in two phases. Every car first computes its next state from
+    * the previous tick's committed state, in parallel when there are enough cars,
+    * and only then are all next states committed. The result does not depend on
+    * the order in which cars are visited.
+    *
+    * @param deltaTime The time step in seconds.
+    */
+    private void updateCars(double deltaTime)
+    {
+        if (vehicleStore != null)
+        {
+            updateStoredCars(deltaTime);
+            return;
+        }
+
+        int count = cars.size();
+        if (count >= PARALLEL_CAR_THRESHOLD)
+        {
+            carUpdatePool.submit(() -> cars.parallelStream().forEach(car -> car.computeNext(deltaTime))).join();
+        } else
+        {
+            for (int i = 0; i < count; ++i)
             {
-                Road spawnRoad = outs.get(0);
-                addVehicle(cmd.getCar(), spawnRoad, 0.0);
+                cars.get(i).computeNext(deltaTime);
             }
-        } else if (event instanceof DeleteItemEvent)
+        }
+
+        for (int i = 0; i < count; ++i)
+        {
+            cars.get(i).commit();
+        }
+    }
+
+    /**
+    * Updates the cars held in the VehicleStore in the same two phases. Slots are
+    * split into contiguous chunks so each worker walks its arrays linearly.
+    *
+    * @param deltaTime The time step in seconds.
+    */
+    private void updateStoredCars(double deltaTime)
+    {
+        int count = vehicleStore.size();
+        if (count >= PARALLEL_CAR_THRESHOLD)
+        {
+            int chunks = carUpdatePool.getParallelism() * CHUNKS_PER_WORKER;
+            carUpdatePool.submit(() -> IntStream.range(0, chunks).parallel().forEach(
+                    c -> vehicleStore.computeRange((int) ((long) count * c / chunks),
+                            (int) ((long) count * (c + 1) / chunks), deltaTime))).join();
+        } else
+        {
+            vehicleStore.computeRange(0, count, deltaTime);
+        }
+        vehicleStore.commit();
+    }
+
+    /**
+    * Processes every event published so far, passing each to its handler
+    * through the dispatch table. The pending engine control request goes first.
+    */
+    private void processEventQueue()
+    {
+        Thread current = Thread.currentThread();
+        if (drainingThread != current)
+        {
+            drainingThread = current;
+        }
+
+        long startNanos = System.nanoTime();
+        int drained = applyControl() ? 1 : 0;
+        drained += eventQueue.drain(dispatchEvent);
+        metrics.recordEventDrain(System.nanoTime() - startNanos, drained);
+
+        // only events add or remove entities
+        if (drained > 0)
+        {
+            metrics.setEntityCounts(signalisedIntersections.size() + otherIntersections.size() + roundaboutCount,
+                    roads.size(), vehicleStore != null ? vehicleStore.size() : cars.size());
+        }
+    }
+
+    /**
+    * Dispatches an event, wrapping model commands in a CommandAppliedEvent
+    * while a Flight Recorder recording has it enabled.
+    *
+    * @param event The event to dispatch.
+    */
+    private void dispatchTraced(SimulationEvent event)
+    {
+        CommandAppliedEvent commandEvent = new CommandAppliedEvent();
+        if (!commandEvent.isEnabled() || !(event instanceof ModelCommandEvent))
+        {
+            dispatcher.dispatch(event);
+            return;
+        }
+
+        commandEvent.begin();
+        dispatcher.dispatch(event);
+        commandEvent.end();
+        if (commandEvent.shouldCommit())
+        {
+            commandEvent.commandType = event.getClass();
+            commandEvent.commit();
+        }
+    }
+
+    /**
+    * Fills the dispatch table with the handler for each event type.
+    * AppliableCommand is registered last so that it only catches commands
+    * without a handler of their own.
+    */
+    private void registerEventHandlers()
+    {
+        dispatcher.register(AddIntersectionEvent.class, e -> addIntersection(e.getIntersection()));
+        dispatcher.register(AddRoadEvent.class, e -> addRoad(e.getRoad()));
+        dispatcher.register(AddCarEvent.class, e -> spawnCar(e.getCar(), e.getSpawnPoint()));
+        dispatcher.register(AddIntersectionsEvent.class, this::handleAddIntersections);
+        dispatcher.register(AddRoadsEvent.class, this::handleAddRoads);
+        dispatcher.register(AddCarsEvent.class, this::handleAddCars);
+        dispatcher.register(PlaceCarsEvent.class, this::handlePlaceCars);
+        dispatcher.register(DeleteItemEvent.class, this::handleDeleteItem);
+        dispatcher.register(ClearAllEvent.class, e -> clearAll());
+        dispatcher.register(UpdateItemEvent.class, this::handleUpdateItem);
+        dispatcher.register(AppliableCommand.class, AppliableCommand::apply);
+    }
+
+    /**
+    * Applies an update. For a full-state update this is the latest one posted for
+    * its item, which later updates were coalesced into, or nothing if another
+    * queue entry for the item already applied it.
+    *
+    * @param event The queued UpdateItemEvent.
+    */
+    private void handleUpdateItem(UpdateItemEvent<?> event)
+    {
+        UpdateItemEvent<?> latest = coalescibleUpdate(event) != null ? pendingUpdates.remove(event.getItem()) : event;
+        if (latest != null)
+        {
+            latest.apply();
+        }
+    }
+
+    /**
+    * Adds a batch of intersections in one pass.
+    *
+    * @param event The AddIntersectionsEvent to process.
+    */
+    private void handleAddIntersections(AddIntersectionsEvent event)
+    {
+        List<Intersection> batch = event.getIntersections();
+        for (int i = 0; i < batch.size(); ++i)
         {
-            DeleteItemEvent cmd = (DeleteItemEvent) event;
-            Object item = cmd.getItemToDelete();
+            addIntersection(batch.get(i));
+        }
+    }
 
-            if (item instanceof Intersection)
+    /**
+    * Adds a batch of roads in one pass.
+    *
+    * @param event The AddRoadsEvent to process.
+    */
+    private void handleAddRoads(AddRoadsEvent event)
+    {
+        List<Road> batch = event.getRoads();
+        roads.ensureCapacity(roads.size() + batch.size());
+        for (int i = 0; i < batch.size(); ++i)
+        {
+            addRoad(batch.get(i));
+        }
+    }
+
+    /**
+    * Spawns a batch of cars in one pass.
+    *
+    * @param event The AddCarsEvent to process.
+    */
+    private void handleAddCars(AddCarsEvent event)
+    {
+        List<Car> batch = event.getCars();
+        cars.ensureCapacity(cars.size() + batch.size());
+        for (int i = 0; i < batch.size(); ++i)
+        {
+            spawnCar(batch.get(i), event.spawnPointFor(i));
+        }
+    }
+
+    /**
+    * Adds a batch of cars in one pass, each on its own road and offset. A car
+    * whose road is not in the network is dropped.
+    *
+    * @param event The PlaceCarsEvent to process.
+    */
+    private void handlePlaceCars(PlaceCarsEvent event)
+    {
+        List<Car> batch = event.getCars();
+        cars.ensureCapacity(cars.size() + batch.size());
+        for (int i = 0; i < batch.size(); ++i)
+        {
+            Road road = event.roadFor(i);
+            if (roadNet.outgoing(road.from()).contains(road))
             {
-                Intersection i = (Intersection) item;
-                List<Road> roadsToRemove = roadNet.findAllConnectedRoads(i);
-                for (Road road : roadsToRemove)
-                {
-                    updatables.remove(road);
-                    roadNet.removeRoad(road);
-                }
-                updatables.remove(i);
-                roadNet.removeIntersection(i);
-            } else if (item instanceof Road)
+                addVehicle(batch.get(i), road, event.offsetFor(i));
+            }
+        }
+    }
+
+    /**
+    * Removes an intersection (with its connected roads), a road or a car from the
+    * simulation, then runs the event's post-deletion callback.
+    *
+    * @param event The DeleteItemEvent to process.
+    */
+    private void handleDeleteItem(DeleteItemEvent event)
+    {
+        Object item = event.getItemToDelete();
+
+        if (item instanceof Intersection)
+        {
+            Intersection i = (Intersection) item;
+            List<Road> roadsToRemove = roadNet.findAllConnectedRoads(i);
+            for (Road road : roadsToRemove)
             {
-                updatables.remove(item);
-                roadNet.removeRoad((Road) item);
-            } else if (item instanceof Car)
+                removeRoad(road);
+            }
+            removeIntersection(i);
+            roadNet.removeIntersection(i);
+        } else if (item instanceof Road)
+        {
+            removeRoad((Road) item);
+        } else if (item instanceof Car)
+        {
+            if (vehicleStore != null)
             {
-                updatables.remove(item);
+                vehicleStore.remove((Car) item);
             }
-            Platform.runLater(cmd.getPostDeletionCallback());
+            cars.remove(item);
+            ((Car) item).detach();
+        }
+        callbackExecutor.execute(event.getPostDeletionCallback());
+    }
+
+    /**
+    * Adds a road to the simulation and to the road network.
+    *
+    * @param road The Road to add.
+    */
+    private void addRoad(Road road)
+    {
+        roads.add(road);
+        roadNet.add(road);
+        if (vehicleStore != null)
+        {
+            vehicleStore.registerRoad(road);
+        }
+    }
+
+    /**
+    * Removes a road from the simulation, the road network and the VehicleStore.
+    *
+    * @param road The Road to remove.
+    */
+    private void removeRoad(Road road)
+    {
+        roads.remove(road);
+        roadNet.removeRoad(road);
+        if (vehicleStore != null)
+        {
+            vehicleStore.unregisterRoad(road);
+        }
+    }
+
+    /**
+    * Spawns a car at the start of the first road leaving the given intersection.
+    * The car is dropped if no road leaves the intersection.
+    *
+    * @param car        The Car to spawn.
+    * @param spawnPoint The Intersection to spawn at.
+    */
+    private void spawnCar(Car car, Intersection spawnPoint)
+    {
+        List<Road> outs = roadNet.outgoing(spawnPoint);
+        if (!outs.isEmpty())
+        {
+            addVehicle(car, outs.get(0), 0.0);
+        }
+    }
 
-        } else if (event instanceof AppliableCommand)
+    /**
+    * Adds an intersection to the update list for its kind. Roundabouts hold no
+    * time-based state and are only counted; the road network keeps them.
+    *
+    * @param intersection The Intersection to add.
+    */
+    private void addIntersection(Intersection intersection)
+    {
+        if (intersection instanceof SignalisedIntersection)
+        {
+            SignalisedIntersection signalised = (SignalisedIntersection) intersection;
+            signalised.setSignalChangeListener(signalChangeListener);
+            signalisedIntersections.add(signalised);
+        } else if (intersection instanceof Roundabout)
         {
-            ((AppliableCommand) event).apply();
+            ++roundaboutCount;
+        } else
+        {
+            otherIntersections.add(intersection);
+        }
+    }
 
-        } else if (event instanceof ClearAllEvent)
+    /**
+    * Removes an intersection from the update list for its kind.
+    *
+    * @param intersection The Intersection to remove.
+    */
+    private void removeIntersection(Intersection intersection)
+    {
+        if (intersection instanceof SignalisedIntersection)
+        {
+            ((SignalisedIntersection) intersection).setSignalChangeListener(null);
+            signalisedIntersections.remove(intersection);
+        } else if (intersection instanceof Roundabout)
+        {
+            roundaboutCount = Math.max(0, roundaboutCount - 1);
+        } else
         {
-            clearAll();
+            otherIntersections.remove(intersection);
         }
     }
 
     /**
     * Shuts down the simulation engine and stops the simulation loop.
-    * Waits for the executor to terminate and interrupts if necessary.
+    * Waits for the executor to terminate and interrupts if necessary,
+    * then releases the car update pool and the JMX registration.
     */
     public void shutdown()
     {
@@ -264,6 +1142,18 @@ public final class SimulationEngine
                 Thread.currentThread().interrupt();
             }
         }
+        carUpdatePool.shutdown();
+        EngineManagement.unregister(mbeanName);
+    }
+
+    /**
+    * Returns how this engine's simulation time is driven.
+    *
+    * @return The ClockMode chosen at construction.
+    */
+    public ClockMode clockMode()
+    {
+        return clockMode;
     }
 
     /**
@@ -276,6 +1166,11 @@ public final class SimulationEngine
         return roadNet;
     }
 
+    /**
+    * Returns the current simulation time in seconds.
+    *
+    * @return Elapsed simulation time.
+    */
     public double simulationTimeSeconds()
     {
         return simTimeMillis.get() / 1000.0;
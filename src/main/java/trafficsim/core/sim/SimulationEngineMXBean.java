@@ -0,0 +1,89 @@
+/***************************************************************
+
+- File:        SimulationEngineMXBean.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     JMX management interface of a simulation engine.
+
+- Description:
+- Telemetry and control of one SimulationEngine for JMX consoles and
+- monitoring agents. An engine with JMX enabled in EngineConfig, as the
+- interactive application's is, is registered on the platform MBean
+- server as trafficsim:type=SimulationEngine,name=engine-N. Rates,
+- percentiles and allocation figures cover the interval between the two
+- latest samples of the engine's metrics; a new sample is taken when an
+- attribute is read at least a second after the last one.
+
+***************************************************************/
+
+package trafficsim.core.sim;
+
+public interface SimulationEngineMXBean
+{
+    double getSimulationTimeSeconds();
+
+    String getClockMode();
+
+    boolean isRunning();
+
+    double getTimeScale();
+
+    /**
+    * Requests a new time scale; clamped like SimulationEngine.setTimeScale.
+    *
+    * @param scale Simulated seconds per wall-clock second.
+    */
+    void setTimeScale(double scale);
+
+    double getEffectiveTimeScale();
+
+    long getTickCount();
+
+    double getTickRate();
+
+    long getTickBudgetNanos();
+
+    double getTickP50Millis();
+
+    double getTickP99Millis();
+
+    double getTickMaxMillis();
+
+    double getEventDrainP99Millis();
+
+    double getIntersectionUpdateP99Millis();
+
+    double getCarUpdateP99Millis();
+
+    long getTicksOverBudget();
+
+    long getOverrunCount();
+
+    long getLateWakeUpCount();
+
+    int getEventQueueDepth();
+
+    long getEventsDrained();
+
+    long getDroppedEventCount();
+
+    int getIntersectionCount();
+
+    int getRoadCount();
+
+    int getCarCount();
+
+    /**
+    * Returns the bytes the simulation thread allocated per tick, including event
+    * handling. Car update workers are not included.
+    *
+    * @return The bytes per tick, or -1 if the JVM cannot measure thread allocation.
+    */
+    double getAllocatedBytesPerTick();
+
+    void start();
+
+    void pause();
+
+    void stop();
+}
@@ -0,0 +1,66 @@
+/***************************************************************
+
+- File:        SnapshotBuffer.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Lock-free triple buffer of frame snapshots.
+
+- Description:
+- Passes FrameSnapshots from the simulation thread to one reader
+- without locks. The writer fills its back buffer and swaps it with
+- the shared middle one; the reader swaps its front buffer with the
+- middle one only when a newer frame is there. Neither side ever waits
+- for the other, and snapshots are reused instead of allocated.
+
+***************************************************************/
+
+package trafficsim.core.sim;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class SnapshotBuffer
+{
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4;
+
+    private final FrameSnapshot[] buffers = { new FrameSnapshot(), new FrameSnapshot(), new FrameSnapshot() };
+
+    // index of the shared buffer, plus FRESH if the writer published since the last read
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0; // writer only
+    private int front = 2; // reader only
+
+    /**
+    * Returns the buffer the writer fills next. Simulation thread only.
+    *
+    * @return The back buffer.
+    */
+    FrameSnapshot back()
+    {
+        return buffers[back];
+    }
+
+    /**
+    * Publishes the back buffer and takes the old middle buffer as the new back.
+    * Simulation thread only.
+    */
+    void publish()
+    {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+    * Returns the newest published snapshot. The snapshot stays unchanged until the
+    * next call. Must always be called from the same reader thread.
+    *
+    * @return The newest snapshot.
+    */
+    FrameSnapshot latest()
+    {
+        if ((middle.get() & FRESH) != 0)
+        {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return buffers[front];
+    }
+}
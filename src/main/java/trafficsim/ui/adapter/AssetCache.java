@@ -0,0 +1,73 @@
+/***************************************************************
+
+- File:        AssetCache.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Decodes each UI image resource once and shares it.
+
+- Description:
+- Central cache for images loaded from the asset directory. Every
+- resource is read and decoded the first time it is asked for, at the
+- requested size, and the same Image is handed out afterwards, so
+- building views for a large network does no I/O or PNG decoding.
+- Images can be decoded straight to the size they are displayed at,
+- which keeps large source textures out of memory. A missing or broken
+- resource gives an Image whose isError is set rather than an exception,
+- so callers can fall back as they did when loading images themselves.
+
+***************************************************************/
+
+package trafficsim.ui.adapter;
+
+import java.io.InputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javafx.scene.image.Image;
+
+public final class AssetCache
+{
+    private static final String IMAGE_DIR = "/trafficsim/assets/images/";
+
+    private static final ConcurrentMap<String, Image> images = new ConcurrentHashMap<>();
+
+    private AssetCache()
+    {
+    }
+
+    /**
+    * Returns the image with the given file name at its natural size.
+    *
+    * @param fileName The file name inside the asset image directory.
+    * @return         The shared, decoded image, in error if it could not be loaded.
+    */
+    public static Image image(String fileName)
+    {
+        return image(fileName, 0, 0);
+    }
+
+    /**
+    * Returns the image with the given file name, decoded to fit inside the given
+    * box with its aspect ratio preserved. A size of 0 keeps that dimension natural.
+    *
+    * @param fileName The file name inside the asset image directory.
+    * @param width    The width to decode to, in pixels, or 0.
+    * @param height   The height to decode to, in pixels, or 0.
+    * @return         The shared, decoded image, in error if it could not be loaded.
+    */
+    public static Image image(String fileName, double width, double height)
+    {
+        String key = fileName + '@' + width + 'x' + height;
+        return images.computeIfAbsent(key, k -> load(fileName, width, height));
+    }
+
+    private static Image load(String fileName, double width, double height)
+    {
+        InputStream stream = AssetCache.class.getResourceAsStream(IMAGE_DIR + fileName);
+        if (stream == null)
+        {
+            // decoding an empty stream fails, leaving the same error state as a broken file
+            stream = InputStream.nullInputStream();
+        }
+        return new Image(stream, width, height, true, true);
+    }
+}
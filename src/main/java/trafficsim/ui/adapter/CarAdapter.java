@@ -8,7 +8,8 @@
 - Description:
 - Provides observable properties for car position in pixels, allowing
 - the UI to bind and update car visuals in response to simulation state.
-- Converts world coordinates to pixel coordinates for rendering.
+- Positions come only from the engine's FrameSnapshots, converted from
+- world coordinates to pixels, so the UI thread never locks a Car.
 
 ***************************************************************/
 
@@ -17,31 +18,96 @@ package trafficsim.ui.adapter;
 import javafx.beans.property.ReadOnlyDoubleProperty;
 import javafx.beans.property.ReadOnlyDoubleWrapper;
 
-import trafficsim.core.model.Car;
-import trafficsim.core.model.Vec2;
+import trafficsim.core.sim.FrameSnapshot;
 
 public final class CarAdapter
 {
-    private static final double PX_PER_M = 10.0;
-
-    private final Car model;
+    private final int colourIndex = CarAssetManager.nextColourIndex();
     private final ReadOnlyDoubleWrapper xPx = new ReadOnlyDoubleWrapper();
     private final ReadOnlyDoubleWrapper yPx = new ReadOnlyDoubleWrapper();
 
-    public CarAdapter(Car model)
+    // the last two sampled positions in pixels, for interpolation
+    private double previousXPx;
+    private double previousYPx;
+    private double currentXPx;
+    private double currentYPx;
+    private long sampleSequence = -1;
+    private long drawnFrame = -1;
+
+    /**
+    * Returns the car's colour in the sprite atlas, fixed for the adapter's lifetime
+    * so the car looks the same in node and canvas mode.
+    *
+    * @return The colour index.
+    */
+    public int colourIndex()
+    {
+        return colourIndex;
+    }
+
+    /**
+    * Records the car's position from a new frame snapshot as the current sample and
+    * keeps the old one as the previous sample. Takes no locks on the model, and
+    * does nothing if the car was already sampled from this snapshot.
+    * Snaps (previous = current) when the car was not sampled from the preceding
+    * frame, e.g. because it was off screen, or jumped further than snapDistancePx,
+    * e.g. after a reset or at high time scales.
+    *
+    * @param frame            The snapshot published by the engine.
+    * @param index            The car's index in the snapshot.
+    * @param previousSequence The sequence number of the frame before this one.
+    * @param snapDistancePx   The largest jump, in pixels, that is still interpolated.
+    */
+    public void pushSample(FrameSnapshot frame, int index, long previousSequence, double snapDistancePx)
     {
-        this.model = model;
+        if (sampleSequence == frame.sequence())
+        {
+            return;
+        }
+
+        double x = frame.x(index) * IntersectionUtil.PX_PER_M;
+        double y = frame.y(index) * IntersectionUtil.PX_PER_M;
+
+        boolean isContinuous = sampleSequence == previousSequence
+                && Math.hypot(x - currentXPx, y - currentYPx) <= snapDistancePx;
+
+        previousXPx = isContinuous ? currentXPx : x;
+        previousYPx = isContinuous ? currentYPx : y;
+        currentXPx = x;
+        currentYPx = y;
+        sampleSequence = frame.sequence();
     }
 
     /**
-    * Updates the adapter's x and y properties from the car model's current world position.
-    * Converts world coordinates to pixel coordinates for UI rendering.
+    * Sets the x and y properties to a blend of the previous and current samples.
+    *
+    * @param alpha 0 for the previous sample, 1 for the current one.
+    */
+    public void interpolate(double alpha)
+    {
+        xPx.set(previousXPx + (currentXPx - previousXPx) * alpha);
+        yPx.set(previousYPx + (currentYPx - previousYPx) * alpha);
+    }
+
+    /**
+    * Records that the car was drawn in the given renderer frame.
+    *
+    * @param frame The renderer's frame number.
+    */
+    public void markDrawn(long frame)
+    {
+        this.drawnFrame = frame;
+    }
+
+    /**
+    * Returns whether the car was drawn in the given renderer frame.
+    *
+    * @param frame The renderer's frame number.
+    * @return      True if markDrawn was called with that frame.
     */
-    public void pullFromModel()
+    public boolean wasDrawnIn(long frame)
     {
-        Vec2 p = model.worldPos();
-        xPx.set(p.x * PX_PER_M);
-        yPx.set(p.y * PX_PER_M);
+        return drawnFrame == frame;
     }
 
     /**
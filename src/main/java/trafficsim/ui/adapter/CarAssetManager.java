@@ -9,39 +9,55 @@
 - Loads and provides access to car images for rendering in the simulation.
 - Supports cycling through available images to assign different appearances
 - to cars. Ensures images are loaded only once and reused efficiently.
+- The car sprite is decoded once through the AssetCache and expanded into
+- a CarSpriteAtlas of colour variants, each pre-rotated for canvas drawing.
 
 ***************************************************************/
 
 package trafficsim.ui.adapter;
 
 import javafx.scene.image.Image;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Objects;
 
 public class CarAssetManager
 {
-    private static final String[] IMAGE_FILES =
-    { "/trafficsim/assets/images/car_blue.png" };
+    private static final String BASE_IMAGE_FILE = "car_blue.png";
 
-    private static final List<Image> images = new ArrayList<>();
+    // decoded at twice the 40x20 px the renderer draws cars at, so zooming in stays sharp
+    private static final double SPRITE_BOX_W_PX = 80;
+    private static final double SPRITE_BOX_H_PX = 40;
+    private static final int ROTATION_STEPS = 48;
+
+    // paint hues of the colour variants; the first entry is the base image's own colour
+    private static final double[] PAINT_HUES = { 220, 0, 120, 48, 280, 25 };
+
+    private static final CarSpriteAtlas atlas = new CarSpriteAtlas(
+            AssetCache.image(BASE_IMAGE_FILE, SPRITE_BOX_W_PX, SPRITE_BOX_H_PX), PAINT_HUES, ROTATION_STEPS);
     private static int nextIndex = 0;
 
-    static
+    private CarAssetManager()
     {
-        for (String path : IMAGE_FILES)
-        {
-            Image img = new Image(Objects.requireNonNull(CarAssetManager.class.getResourceAsStream(path)));
-            images.add(img);
-        }
-        if (images.isEmpty())
-        {
-            throw new IllegalStateException("No car images found in assets.");
-        }
     }
 
-    private CarAssetManager()
+    /**
+    * Returns the shared sprite atlas holding every car colour and rotation.
+    *
+    * @return The car sprite atlas.
+    */
+    public static CarSpriteAtlas atlas()
+    {
+        return atlas;
+    }
+
+    /**
+    * Returns the next colour index in the sequence, cycling through the atlas colours.
+    *
+    * @return The colour index for a new car.
+    */
+    public static synchronized int nextColourIndex()
     {
+        int index = nextIndex;
+        nextIndex = (nextIndex + 1) % atlas.colourCount();
+        return index;
     }
 
     /**
@@ -50,10 +66,8 @@ public class CarAssetManager
     *
     * @return The next Image object for a car.
     */
-    public static synchronized Image getNextCarImage()
+    public static Image getNextCarImage()
     {
-        Image img = images.get(nextIndex);
-        nextIndex = (nextIndex + 1) % images.size();
-        return img;
+        return atlas.colourImage(nextColourIndex());
     }
 }
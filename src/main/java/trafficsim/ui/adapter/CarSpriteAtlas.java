@@ -0,0 +1,262 @@
+/***************************************************************
+
+- File:        CarSpriteAtlas.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Packs colour and rotation variants of the car sprite.
+
+- Description:
+- Builds, once, a set of colour variants of the base car image by
+- shifting the hue of its painted pixels, and a single atlas image
+- holding every colour pre-rotated to a fixed number of headings.
+- Canvas drawing then copies one cell of the atlas per car with no
+- per-car rotation, and every car shares one texture. All variants
+- are made with pixel operations, so no scene or FX thread is needed.
+
+***************************************************************/
+
+package trafficsim.ui.adapter;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+public final class CarSpriteAtlas
+{
+    private static final double PAINT_MIN_SATURATION = 0.25;
+    private static final int CELLS_PER_ROW = 16;
+
+    private final Image[] colourImages;
+    private final WritableImage atlas;
+    private final int rotationSteps;
+    private final int rowsPerColour;
+    private final int cellSize;
+    private final double spriteWidth;
+    private final double spriteHeight;
+
+    /**
+    * Builds the colour variants and the rotation atlas from a base image.
+    *
+    * @param base          The car image, facing along +x.
+    * @param targetHues    The hue, in degrees, of each colour variant's paint.
+    *                      The first variant is always the base image itself.
+    * @param rotationSteps The number of pre-rotated headings per colour.
+    */
+    public CarSpriteAtlas(Image base, double[] targetHues, int rotationSteps)
+    {
+        this.rotationSteps = rotationSteps;
+        this.spriteWidth = base.getWidth();
+        this.spriteHeight = base.getHeight();
+        this.cellSize = (int) Math.ceil(Math.hypot(spriteWidth, spriteHeight));
+        this.rowsPerColour = (rotationSteps + CELLS_PER_ROW - 1) / CELLS_PER_ROW;
+
+        double baseHue = dominantHue(base);
+        colourImages = new Image[Math.max(1, targetHues.length)];
+        colourImages[0] = base;
+        for (int c = 1; c < colourImages.length; ++c)
+        {
+            colourImages[c] = shiftHue(base, targetHues[c] - baseHue);
+        }
+
+        atlas = new WritableImage(CELLS_PER_ROW * cellSize, colourImages.length * rowsPerColour * cellSize);
+        for (int c = 0; c < colourImages.length; ++c)
+        {
+            for (int step = 0; step < rotationSteps; ++step)
+            {
+                drawRotated(colourImages[c], 2.0 * Math.PI * step / rotationSteps, atlas.getPixelWriter(),
+                        cellX(step), cellY(c, step));
+            }
+        }
+    }
+
+    public int colourCount()
+    {
+        return colourImages.length;
+    }
+
+    /**
+    * Returns the unrotated image of a colour variant, for use in an ImageView.
+    *
+    * @param colour The colour index, wrapped to the number of colours.
+    * @return       The colour variant.
+    */
+    public Image colourImage(int colour)
+    {
+        return colourImages[Math.floorMod(colour, colourImages.length)];
+    }
+
+    public double spriteWidth()
+    {
+        return spriteWidth;
+    }
+
+    public double spriteHeight()
+    {
+        return spriteHeight;
+    }
+
+    /**
+    * Draws a car from the atlas, centred on a point, at the pre-rotated heading
+    * nearest to the given one. The context's transform must be the identity.
+    *
+    * @param gc         The graphics context to draw into.
+    * @param colour     The colour index, wrapped to the number of colours.
+    * @param headingRad The heading in radians.
+    * @param centerX    The x coordinate of the centre.
+    * @param centerY    The y coordinate of the centre.
+    * @param scale      The factor from sprite pixels to drawn pixels.
+    */
+    public void draw(GraphicsContext gc, int colour, double headingRad, double centerX, double centerY, double scale)
+    {
+        int step = (int) Math.round(headingRad * rotationSteps / (2.0 * Math.PI));
+        step = Math.floorMod(step, rotationSteps);
+        int c = Math.floorMod(colour, colourImages.length);
+
+        double size = cellSize * scale;
+        gc.drawImage(atlas, cellX(step), cellY(c, step), cellSize, cellSize, centerX - size / 2.0,
+                centerY - size / 2.0, size, size);
+    }
+
+    private int cellX(int step)
+    {
+        return (step % CELLS_PER_ROW) * cellSize;
+    }
+
+    private int cellY(int colour, int step)
+    {
+        return (colour * rowsPerColour + step / CELLS_PER_ROW) * cellSize;
+    }
+
+    /**
+    * Returns the mean hue of the image's painted (saturated, opaque) pixels.
+    *
+    * @param image The image.
+    * @return      The hue in degrees.
+    */
+    private static double dominantHue(Image image)
+    {
+        PixelReader reader = image.getPixelReader();
+        double sumSin = 0;
+        double sumCos = 0;
+        for (int y = 0; y < (int) image.getHeight(); ++y)
+        {
+            for (int x = 0; x < (int) image.getWidth(); ++x)
+            {
+                Color color = reader.getColor(x, y);
+                if (color.getOpacity() > 0.5 && color.getSaturation() >= PAINT_MIN_SATURATION)
+                {
+                    double hueRad = Math.toRadians(color.getHue());
+                    sumSin += Math.sin(hueRad);
+                    sumCos += Math.cos(hueRad);
+                }
+            }
+        }
+        return Math.toDegrees(Math.atan2(sumSin, sumCos));
+    }
+
+    /**
+    * Returns a copy of the image with the hue of its painted pixels shifted.
+    * Unsaturated pixels (glass, tyres, highlights) are copied unchanged.
+    *
+    * @param image    The image.
+    * @param hueShift The shift in degrees.
+    * @return         The recoloured copy.
+    */
+    private static Image shiftHue(Image image, double hueShift)
+    {
+        int w = (int) image.getWidth();
+        int h = (int) image.getHeight();
+        PixelReader reader = image.getPixelReader();
+        WritableImage out = new WritableImage(w, h);
+        PixelWriter writer = out.getPixelWriter();
+
+        for (int y = 0; y < h; ++y)
+        {
+            for (int x = 0; x < w; ++x)
+            {
+                Color color = reader.getColor(x, y);
+                if (color.getSaturation() >= PAINT_MIN_SATURATION)
+                {
+                    color = color.deriveColor(hueShift, 1.0, 1.0, 1.0);
+                }
+                writer.setColor(x, y, color);
+            }
+        }
+        return out;
+    }
+
+    /**
+    * Writes the image rotated about its centre into a square cell of the atlas,
+    * sampling bilinearly with premultiplied alpha so edges stay clean.
+    *
+    * @param image    The source image.
+    * @param angleRad The rotation in radians, as GraphicsContext rotation would apply it.
+    * @param writer   The atlas writer.
+    * @param cellX    The left edge of the cell in the atlas.
+    * @param cellY    The top edge of the cell in the atlas.
+    */
+    private void drawRotated(Image image, double angleRad, PixelWriter writer, int cellX, int cellY)
+    {
+        PixelReader reader = image.getPixelReader();
+        int w = (int) image.getWidth();
+        int h = (int) image.getHeight();
+        double cos = Math.cos(angleRad);
+        double sin = Math.sin(angleRad);
+        double half = cellSize / 2.0;
+
+        for (int y = 0; y < cellSize; ++y)
+        {
+            for (int x = 0; x < cellSize; ++x)
+            {
+                // inverse rotation from the cell pixel's centre back into the source
+                double dx = x + 0.5 - half;
+                double dy = y + 0.5 - half;
+                double sx = cos * dx + sin * dy + w / 2.0 - 0.5;
+                double sy = -sin * dx + cos * dy + h / 2.0 - 0.5;
+                writer.setArgb(cellX + x, cellY + y, sampleBilinear(reader, w, h, sx, sy));
+            }
+        }
+    }
+
+    private static int sampleBilinear(PixelReader reader, int w, int h, double sx, double sy)
+    {
+        int x0 = (int) Math.floor(sx);
+        int y0 = (int) Math.floor(sy);
+        double fx = sx - x0;
+        double fy = sy - y0;
+
+        double a = 0;
+        double r = 0;
+        double g = 0;
+        double b = 0;
+        for (int j = 0; j <= 1; ++j)
+        {
+            for (int i = 0; i <= 1; ++i)
+            {
+                int px = x0 + i;
+                int py = y0 + j;
+                if (px < 0 || py < 0 || px >= w || py >= h)
+                {
+                    continue;
+                }
+                double weight = (i == 0 ? 1 - fx : fx) * (j == 0 ? 1 - fy : fy);
+                int argb = reader.getArgb(px, py);
+                double alpha = ((argb >>> 24) & 0xFF) * weight;
+                a += alpha;
+                r += ((argb >> 16) & 0xFF) * alpha;
+                g += ((argb >> 8) & 0xFF) * alpha;
+                b += (argb & 0xFF) * alpha;
+            }
+        }
+
+        if (a <= 0)
+        {
+            return 0;
+        }
+        return ((int) Math.round(a) << 24) | ((int) Math.round(r / a) << 16) | ((int) Math.round(g / a) << 8)
+                | (int) Math.round(b / a);
+    }
+}
@@ -0,0 +1,50 @@
+/***************************************************************
+
+- File:        TileAssetManager.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Shares the static tile images of the simulation UI.
+
+- Description:
+- Hands out the road, intersection, roundabout and grass tile images
+- from the AssetCache, so a large network holds one copy of each
+- texture instead of one per node. Intersection tiles are decoded at
+- twice their display size rather than at full source resolution.
+
+***************************************************************/
+
+package trafficsim.ui.adapter;
+
+import javafx.scene.image.Image;
+
+public final class TileAssetManager
+{
+    public static final double INTERSECTION_TILE_PX = 140.0;
+    private static final double DECODE_OVERSAMPLE = 2.0;
+
+    private TileAssetManager()
+    {
+    }
+
+    public static Image roadTile()
+    {
+        return AssetCache.image("road_tile.png");
+    }
+
+    public static Image intersectionTile()
+    {
+        return AssetCache.image("intersection_tile.png", INTERSECTION_TILE_PX * DECODE_OVERSAMPLE,
+                INTERSECTION_TILE_PX * DECODE_OVERSAMPLE);
+    }
+
+    public static Image roundaboutTile()
+    {
+        return AssetCache.image("roundabout_tile.png", INTERSECTION_TILE_PX * DECODE_OVERSAMPLE,
+                INTERSECTION_TILE_PX * DECODE_OVERSAMPLE);
+    }
+
+    public static Image grassTile()
+    {
+        return AssetCache.image("grass_tile.png");
+    }
+}
@@ -14,15 +14,19 @@
 
 package trafficsim.ui.controller;
 
+import java.util.List;
 import java.util.Optional;
 import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.TitledPane;
+import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
@@ -33,19 +37,24 @@ import trafficsim.core.events.EngineControlEvent;
 import trafficsim.core.events.EngineControlEvent.ControlType;
 import trafficsim.core.events.ModelCommandEvent;
 import trafficsim.core.model.Intersection;
+import trafficsim.core.sim.EngineConfig;
 import trafficsim.core.sim.SimulationEngine;
 import trafficsim.ui.adapter.IntersectionUtil;
 import trafficsim.ui.controller.helpers.InteractionModeManager;
 import trafficsim.ui.controller.helpers.PropertiesPanelManager;
 import trafficsim.ui.controller.helpers.SimulationActionHandler;
 import trafficsim.ui.controller.helpers.InteractionModeManager.Mode;
+import trafficsim.ui.view.PerformanceHud;
 import trafficsim.ui.view.SimulationRenderer;
+import trafficsim.ui.view.ViewportController;
 import trafficsim.ui.controller.helpers.BackgroundHelper;
 import trafficsim.ui.controller.helpers.DefaultLayoutHelper;
 
 public class MainController
 {
     private static final double MIN_PLACEMENT_DISTANCE = 50.0;
+    private static final String[] TIME_SCALE_CHOICES =
+    { "0.25x", "0.5x", "1x", "2x", "5x", "10x", "25x", "50x", "100x" };
 
     @FXML
     private Pane backgroundPane;
@@ -58,6 +67,8 @@ public class MainController
     @FXML
     private Pane carPane;
     @FXML
+    private Pane carCanvasPane;
+    @FXML
     private Pane lightPane;
 
     @FXML
@@ -69,6 +80,8 @@ public class MainController
     @FXML
     private Label timeLabel;
     @FXML
+    private ComboBox<String> timeScaleCombo;
+    @FXML
     private Button addIntersectionButton;
     @FXML
     private Button addRoadButton;
@@ -91,9 +104,13 @@ public class MainController
     private Button cancelEditButton;
     @FXML
     private ToggleButton toggleBubblesButton;
+    @FXML
+    private ToggleButton toggleHudButton;
 
     private SimulationEngine engine;
     private SimulationRenderer simulationRenderer;
+    private ViewportController viewport;
+    private PerformanceHud performanceHud;
 
     private InteractionModeManager modeManager;
     private PropertiesPanelManager panelManager;
@@ -111,22 +128,45 @@ public class MainController
     {
         BackgroundHelper.setupBackground(backgroundPane);
 
-        this.engine = new SimulationEngine();
-        this.simulationRenderer = new SimulationRenderer(intersectionPane, roadPane, carPane, lightPane, engine, this);
+        EngineConfig engineConfig = new EngineConfig();
+        engineConfig.setCallbackExecutor(Platform::runLater);
+        engineConfig.setJmxEnabled(true);
+        this.engine = new SimulationEngine(engineConfig);
+        this.viewport = new ViewportController(simulationStackPane,
+                List.of(roadPane, intersectionPane, carPane, lightPane));
+        this.simulationRenderer = new SimulationRenderer(intersectionPane, roadPane, carPane, carCanvasPane, lightPane,
+                engine, this, viewport);
 
-        intersectionPane.setPickOnBounds(false);
-        roadPane.setPickOnBounds(false);
-        carPane.setPickOnBounds(false);
-        lightPane.setPickOnBounds(false);
+        this.performanceHud = new PerformanceHud(engine, simulationRenderer);
+        simulationStackPane.getChildren().add(performanceHud.node());
+
+        // picking goes through the renderer's spatial indexes, not per-node handlers
+        intersectionPane.setMouseTransparent(true);
+        roadPane.setMouseTransparent(true);
+        carPane.setMouseTransparent(true);
+        lightPane.setMouseTransparent(true);
 
         simulationStackPane.setOnMouseClicked(this::handlePaneClick);
+        simulationStackPane.addEventFilter(MouseEvent.MOUSE_CLICKED, simulationRenderer::handlePickClick);
+        simulationStackPane.addEventFilter(MouseEvent.MOUSE_MOVED, simulationRenderer::handlePickHover);
+
+        timeScaleCombo.getItems().setAll(TIME_SCALE_CHOICES);
+        timeScaleCombo.getSelectionModel().select("1x");
 
         AnimationTimer timer = new AnimationTimer() {
             @Override
             public void handle(long now)
             {
                 double time = engine.simulationTimeSeconds();
-                timeLabel.setText(String.format("Time: %.1fs", time));
+                double requestedScale = engine.getTimeScale();
+                double effectiveScale = engine.getEffectiveTimeScale();
+                if (effectiveScale < requestedScale)
+                {
+                    timeLabel.setText(String.format("Time: %.1fs (x%.2f)", time, effectiveScale));
+                } else
+                {
+                    timeLabel.setText(String.format("Time: %.1fs", time));
+                }
             }
         };
         timer.start();
@@ -237,6 +277,15 @@ public class MainController
         toggleBubblesButton.setText(show ? "Hide Bubbles" : "Show Bubbles");
     }
 
+    /**
+    * Handles showing and hiding the performance HUD.
+    */
+    @FXML
+    private void handleToggleHud()
+    {
+        performanceHud.setVisible(toggleHudButton.isSelected());
+    }
+
     /**
     * Handles mouse clicks on the simulation pane for intersection placement.
     * Places a new intersection if in the correct mode and location is valid.
@@ -245,15 +294,18 @@ public class MainController
     */
     private void handlePaneClick(MouseEvent event)
     {
-        if (event.getTarget() != simulationStackPane || getCurrentMode() != Mode.PLACING_INTERSECTION)
+        if (event.getTarget() != simulationStackPane || getCurrentMode() != Mode.PLACING_INTERSECTION
+                || event.getButton() != MouseButton.PRIMARY)
         {
             return;
         }
 
-        double xWorld = event.getX() / IntersectionUtil.PX_PER_M;
-        double yWorld = event.getY() / IntersectionUtil.PX_PER_M;
+        double xPx = viewport.toContentX(event.getX());
+        double yPx = viewport.toContentY(event.getY());
+        double xWorld = xPx / IntersectionUtil.PX_PER_M;
+        double yWorld = yPx / IntersectionUtil.PX_PER_M;
 
-        if (!isFarEnough(event.getX(), event.getY()))
+        if (!isFarEnough(xPx, yPx))
         {
             panelManager.setValidationMessage(
                     "Too close to another intersection (min " + MIN_PLACEMENT_DISTANCE + " px).", true);
@@ -394,16 +446,7 @@ public class MainController
     */
     private boolean isFarEnough(double newPxX, double newPxY)
     {
-        for (Intersection i : simulationRenderer.getIntersections())
-        {
-            double dx = newPxX - IntersectionUtil.toPx(i.position().x);
-            double dy = newPxY - IntersectionUtil.toPx(i.position().y);
-            if (Math.hypot(dx, dy) < MIN_PLACEMENT_DISTANCE)
-            {
-                return false;
-            }
-        }
-        return true;
+        return !simulationRenderer.hasIntersectionWithin(newPxX, newPxY, MIN_PLACEMENT_DISTANCE);
     }
 
     /**
@@ -431,6 +474,21 @@ public class MainController
         updateStopButtonState();
     }
 
+    /**
+    * Handles a change of the simulation speed selection.
+    * Applies the chosen time scale to the engine.
+    */
+    @FXML
+    private void handleTimeScale()
+    {
+        String choice = timeScaleCombo.getValue();
+        if (choice == null)
+        {
+            return;
+        }
+        engine.setTimeScale(Double.parseDouble(choice.replace("x", "")));
+    }
+
     /**
     * Handles the pause button action. Pauses the simulation.
     */
@@ -13,7 +13,6 @@
 
 package trafficsim.ui.controller.helpers;
 
-import java.util.Objects;
 import javafx.scene.image.Image;
 import javafx.scene.layout.Background;
 import javafx.scene.layout.BackgroundImage;
@@ -22,6 +21,8 @@ import javafx.scene.layout.BackgroundRepeat;
 import javafx.scene.layout.BackgroundSize;
 import javafx.scene.layout.Pane;
 
+import trafficsim.ui.adapter.TileAssetManager;
+
 public final class BackgroundHelper
 {
     private BackgroundHelper()
@@ -36,8 +37,7 @@ public final class BackgroundHelper
     */
     public static void setupBackground(Pane backgroundPane)
     {
-        Image grassImage = new Image(Objects.requireNonNull(
-                BackgroundHelper.class.getResourceAsStream("/trafficsim/assets/images/grass_tile.png")));
+        Image grassImage = TileAssetManager.grassTile();
 
         if (grassImage.isError())
         {
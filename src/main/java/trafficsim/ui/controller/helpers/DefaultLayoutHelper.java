@@ -51,23 +51,19 @@ public final class DefaultLayoutHelper
         intersections.add(i3);
         intersections.add(i4);
 
-        for (Intersection i : intersections)
-        {
-            actionHandler.addIntersection(i);
-        }
+        actionHandler.addIntersections(intersections);
 
         double defaultSpeedMps = UnitConverter.mphToMps(35);
-        actionHandler.addRoad(i1, i2, defaultSpeedMps);
-        actionHandler.addRoad(i2, i3, defaultSpeedMps);
-        actionHandler.addRoad(i3, i4, defaultSpeedMps);
-        actionHandler.addRoad(i4, i1, defaultSpeedMps);
+        actionHandler.addRoads(List.of(i1, i2, i3, i4), List.of(i2, i3, i4, i1),
+                List.of(defaultSpeedMps, defaultSpeedMps, defaultSpeedMps, defaultSpeedMps));
 
-        for (Intersection i : intersections)
+        List<Car> cars = new ArrayList<>();
+        for (int k = 0; k < intersections.size(); ++k)
         {
             double maxSpeedMps = UnitConverter.mphToMps(30);
             double accelMps2 = UnitConverter.MPH_60_IN_MPS / 15.0;
-            Car carToAdd = new Car(roadNetwork, maxSpeedMps, accelMps2);
-            actionHandler.addCar(carToAdd, i);
+            cars.add(new Car(roadNetwork, maxSpeedMps, accelMps2));
         }
+        actionHandler.addCars(cars, intersections);
     }
 }
@@ -357,7 +357,7 @@ public class PropertiesPanelManager
                     m.setTotalCycleTime(newTotalTime);
                     m.setYellowDuration(newYellow);
                 };
-                return Optional.of(new UpdateItemEvent<>(model, updater));
+                return Optional.of(new UpdateItemEvent<>(model, updater, true));
 
             } else if (item instanceof Roundabout)
             {
@@ -369,7 +369,7 @@ public class PropertiesPanelManager
                     return Optional.empty();
                 }
                 Consumer<Roundabout> updater = m -> m.setSpeedLimit(UnitConverter.mphToMps(newSpeedMph));
-                return Optional.of(new UpdateItemEvent<>(model, updater));
+                return Optional.of(new UpdateItemEvent<>(model, updater, true));
 
             } else if (item instanceof Road)
             {
@@ -381,7 +381,7 @@ public class PropertiesPanelManager
                     return Optional.empty();
                 }
                 Consumer<Road> updater = m -> m.setSpeedLimit(UnitConverter.mphToMps(newSpeedMph));
-                return Optional.of(new UpdateItemEvent<>(model, updater));
+                return Optional.of(new UpdateItemEvent<>(model, updater, true));
 
             } else if (item instanceof Car)
             {
@@ -406,7 +406,7 @@ public class PropertiesPanelManager
                     }
                     c.setShowDataBubble(showBubble);
                 };
-                return Optional.of(new UpdateItemEvent<>(model, updater));
+                return Optional.of(new UpdateItemEvent<>(model, updater, true));
             }
         } catch (NumberFormatException e)
         {
@@ -14,6 +14,7 @@
 
 package trafficsim.ui.controller.helpers;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -44,6 +45,18 @@ public class SimulationActionHandler
         renderer.onIntersectionAdded(intersection);
     }
 
+    /**
+    * Adds a batch of intersections to the simulation with a single event and a
+    * single UI update.
+    *
+    * @param intersections The intersections to add.
+    */
+    public void addIntersections(List<? extends Intersection> intersections)
+    {
+        engine.postEvent(new AddIntersectionsEvent(intersections));
+        renderer.onIntersectionsAdded(intersections);
+    }
+
     /**
     * Adds a bidirectional road between two intersections with the specified speed.
     * Posts events for both directions and updates the UI.
@@ -64,6 +77,36 @@ public class SimulationActionHandler
         renderer.onRoadAdded(road2);
     }
 
+    /**
+    * Adds bidirectional roads between pairs of intersections with a single event and
+    * a single UI update. The road between from.get(i) and to.get(i) uses speedsMps.get(i).
+    *
+    * @param from      The starting intersections.
+    * @param to        The ending intersections.
+    * @param speedsMps The speed limits for the roads in meters per second.
+    * @throws IllegalArgumentException if the lists differ in size.
+    */
+    public void addRoads(List<? extends Intersection> from, List<? extends Intersection> to, List<Double> speedsMps)
+    {
+        if (from.size() != to.size() || from.size() != speedsMps.size())
+        {
+            throw new IllegalArgumentException("from, to and speedsMps must be the same size");
+        }
+
+        List<Road> roads = new ArrayList<>(from.size() * 2);
+        for (int i = 0; i < from.size(); ++i)
+        {
+            Intersection a = from.get(i);
+            Intersection b = to.get(i);
+            double length = a.position().distanceTo(b.position());
+            roads.add(new Road(a, b, length, speedsMps.get(i)));
+            roads.add(new Road(b, a, length, speedsMps.get(i)));
+        }
+
+        engine.postEvent(new AddRoadsEvent(roads));
+        renderer.onRoadsAdded(roads);
+    }
+
     /**
     * Adds a car to the simulation at the specified intersection and updates the UI.
     *
@@ -76,6 +119,19 @@ public class SimulationActionHandler
         renderer.onCarAdded(car);
     }
 
+    /**
+    * Adds a batch of cars to the simulation with a single event and a single UI
+    * update. Cars are dealt out over the spawn points in turn.
+    *
+    * @param cars        The cars to add.
+    * @param spawnPoints The intersections where the cars will be spawned.
+    */
+    public void addCars(List<Car> cars, List<? extends Intersection> spawnPoints)
+    {
+        engine.postEvent(new AddCarsEvent(cars, spawnPoints));
+        renderer.onCarsAdded(cars);
+    }
+
     /**
     * Deletes the specified item (intersection, road, or car) from the simulation.
     * Posts a deletion event and updates the UI accordingly.
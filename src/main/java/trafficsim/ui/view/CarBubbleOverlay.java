@@ -0,0 +1,306 @@
+/***************************************************************
+
+- File:        CarBubbleOverlay.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Shows data bubbles above cars, on demand.
+
+- Description:
+- Bubbles are only attached to cars that are drawn this frame and
+- have their bubble enabled; every other car costs nothing. Bubble
+- nodes are pooled and reused as cars scroll in and out of view.
+- Positions follow the cars every frame, but the text is refreshed at
+- a lower, configurable rate through a formatter that writes into a
+- reused StringBuilder, and only replaced when it actually changes.
+- Bubbles have a fixed width, so placing one never needs a layout pass.
+
+***************************************************************/
+
+package trafficsim.ui.view;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Text;
+import javafx.scene.text.TextAlignment;
+
+import trafficsim.core.model.Car;
+import trafficsim.ui.adapter.UnitConverter;
+
+final class CarBubbleOverlay
+{
+    static final double DEFAULT_TEXT_REFRESH_HZ = 5.0;
+
+    private static final double BUBBLE_WIDTH_PX = 120;
+    private static final double BUBBLE_HEIGHT_PX = 50;
+    private static final double POINTER_HEIGHT_PX = 10;
+    private static final double TEXT_PADDING_PX = 10;
+
+    private final Group layer = new Group();
+    private final Map<Car, Bubble> activeBubbles = new HashMap<>();
+    private final ArrayDeque<Bubble> freeBubbles = new ArrayDeque<>();
+    private final StringBuilder textBuilder = new StringBuilder(32);
+
+    private long textRefreshIntervalNanos;
+    private long lastTextRefreshNanos = Long.MIN_VALUE;
+    private boolean isTextRefreshFrame = true;
+    private long frameStamp = 0;
+
+    /**
+    * Constructs an empty overlay that refreshes text at the default rate.
+    */
+    CarBubbleOverlay()
+    {
+        setTextRefreshHz(DEFAULT_TEXT_REFRESH_HZ);
+        layer.setManaged(false);
+    }
+
+    /**
+    * Returns the node holding every bubble, to be added above the car views.
+    *
+    * @return The overlay's root node.
+    */
+    Node node()
+    {
+        return layer;
+    }
+
+    /**
+    * Returns how many bubble nodes exist, shown or pooled.
+    *
+    * @return The bubble node count.
+    */
+    int pooledCount()
+    {
+        return layer.getChildren().size();
+    }
+
+    /**
+    * Sets how often bubble text is refreshed. Positions still follow every frame.
+    *
+    * @param hz Refreshes per second; values of zero or less refresh every frame.
+    */
+    void setTextRefreshHz(double hz)
+    {
+        textRefreshIntervalNanos = hz > 0 ? (long) (1_000_000_000L / hz) : 0L;
+    }
+
+    /**
+    * Starts a frame. Every bubble not shown again before endFrame is released.
+    *
+    * @param now The pulse time in nanoseconds.
+    */
+    void beginFrame(long now)
+    {
+        ++frameStamp;
+        isTextRefreshFrame = lastTextRefreshNanos == Long.MIN_VALUE
+                || now - lastTextRefreshNanos >= textRefreshIntervalNanos;
+        if (isTextRefreshFrame)
+        {
+            lastTextRefreshNanos = now;
+        }
+    }
+
+    /**
+    * Shows the car's bubble for this frame, above the given point. Takes a bubble
+    * from the pool if the car has none yet, in which case its text is filled in
+    * straight away.
+    *
+    * @param car       The car.
+    * @param centerX   The x coordinate of the car's centre, in content pixels.
+    * @param topY      The y coordinate of the car's top edge, in content pixels.
+    * @param worldX    The car's x world coordinate in meters.
+    * @param worldY    The car's y world coordinate in meters.
+    * @param speedMps  The car's speed in meters per second.
+    */
+    void show(Car car, double centerX, double topY, double worldX, double worldY, double speedMps)
+    {
+        Bubble bubble = activeBubbles.get(car);
+        boolean isNew = bubble == null;
+        if (isNew)
+        {
+            bubble = acquire();
+            activeBubbles.put(car, bubble);
+        }
+        bubble.stamp = frameStamp;
+
+        bubble.group.setLayoutX(centerX - BUBBLE_WIDTH_PX / 2.0);
+        bubble.group.setLayoutY(topY - BUBBLE_HEIGHT_PX - POINTER_HEIGHT_PX);
+
+        if (isNew || isTextRefreshFrame)
+        {
+            formatInto(textBuilder, worldX, worldY, UnitConverter.mpsToMph(speedMps));
+            if (!bubble.shownText.contentEquals(textBuilder))
+            {
+                bubble.shownText = textBuilder.toString();
+                bubble.text.setText(bubble.shownText);
+            }
+        }
+    }
+
+    /**
+    * Ends a frame, returning the bubbles of cars that were not shown to the pool.
+    */
+    void endFrame()
+    {
+        Iterator<Bubble> it = activeBubbles.values().iterator();
+        while (it.hasNext())
+        {
+            Bubble bubble = it.next();
+            if (bubble.stamp != frameStamp)
+            {
+                it.remove();
+                release(bubble);
+            }
+        }
+    }
+
+    /**
+    * Releases the car's bubble straight away, e.g. when the car is removed.
+    *
+    * @param car The car.
+    */
+    void remove(Car car)
+    {
+        Bubble bubble = activeBubbles.remove(car);
+        if (bubble != null)
+        {
+            release(bubble);
+        }
+    }
+
+    /**
+    * Releases every bubble.
+    */
+    void clear()
+    {
+        for (Bubble bubble : activeBubbles.values())
+        {
+            release(bubble);
+        }
+        activeBubbles.clear();
+    }
+
+    private Bubble acquire()
+    {
+        Bubble bubble = freeBubbles.poll();
+        if (bubble == null)
+        {
+            bubble = new Bubble();
+            layer.getChildren().add(bubble.group);
+        }
+        bubble.group.setVisible(true);
+        return bubble;
+    }
+
+    private void release(Bubble bubble)
+    {
+        bubble.group.setVisible(false);
+        freeBubbles.push(bubble);
+    }
+
+    /**
+    * Writes the bubble text for a car into the builder without allocating.
+    *
+    * @param sb       The builder to overwrite.
+    * @param worldX   The x world coordinate in meters.
+    * @param worldY   The y world coordinate in meters.
+    * @param speedMph The speed in miles per hour.
+    */
+    static void formatInto(StringBuilder sb, double worldX, double worldY, double speedMph)
+    {
+        sb.setLength(0);
+        sb.append("X: ");
+        appendFixed(sb, worldX, 1);
+        sb.append(", Y: ");
+        appendFixed(sb, worldY, 1);
+        sb.append("\nSpd: ");
+        long roundedMph = Math.round(speedMph);
+        if (roundedMph >= 0 && roundedMph < 10)
+        {
+            sb.append(' ');
+        }
+        sb.append(roundedMph);
+        sb.append(" mph");
+    }
+
+    /**
+    * Appends a value with a fixed number of decimals, rounding half up, like
+    * String.format with "%.nf" for the values a bubble shows.
+    *
+    * @param sb       The builder to append to.
+    * @param value    The value.
+    * @param decimals The number of decimals, from 1 to 9.
+    */
+    private static void appendFixed(StringBuilder sb, double value, int decimals)
+    {
+        if (Double.isNaN(value) || Double.isInfinite(value))
+        {
+            sb.append(value);
+            return;
+        }
+
+        long pow = 1;
+        for (int i = 0; i < decimals; ++i)
+        {
+            pow *= 10;
+        }
+
+        long scaled = Math.round(Math.abs(value) * pow);
+        if (value < 0 && scaled != 0)
+        {
+            sb.append('-');
+        }
+        sb.append(scaled / pow).append('.');
+
+        long fraction = scaled % pow;
+        for (long digit = pow / 10; digit > fraction && digit > 1; digit /= 10)
+        {
+            sb.append('0');
+        }
+        sb.append(fraction);
+    }
+
+    /**
+    * One pooled bubble: a fixed-width background, a pointer and the text.
+    */
+    private static final class Bubble
+    {
+        final Group group;
+        final Text text;
+        String shownText = "";
+        long stamp;
+
+        Bubble()
+        {
+            Rectangle background = new Rectangle(BUBBLE_WIDTH_PX, BUBBLE_HEIGHT_PX);
+            background.setArcWidth(20);
+            background.setArcHeight(20);
+            background.setFill(Color.rgb(0, 0, 0, 0.6));
+            background.setStroke(Color.WHITE);
+            background.setStrokeWidth(1.5);
+
+            double mid = BUBBLE_WIDTH_PX / 2.0;
+            Polygon pointer = new Polygon(mid - 10, BUBBLE_HEIGHT_PX, mid + 10, BUBBLE_HEIGHT_PX, mid,
+                    BUBBLE_HEIGHT_PX + POINTER_HEIGHT_PX);
+            pointer.setFill(Color.rgb(0, 0, 0, 0.7));
+            pointer.setStroke(Color.WHITE);
+            pointer.setStrokeWidth(1.5);
+
+            text = new Text();
+            text.setFill(Color.WHITE);
+            text.setTextAlignment(TextAlignment.CENTER);
+            text.setWrappingWidth(BUBBLE_WIDTH_PX - 2 * TEXT_PADDING_PX);
+            text.setLayoutX(TEXT_PADDING_PX);
+            text.setLayoutY(20);
+
+            group = new Group(background, pointer, text);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/***************************************************************
+
+- File:        CarCanvasLayer.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Draws every car onto a single canvas.
+
+- Description:
+- Alternative to one ImageView per car for large scenarios. All cars are
+- drawn each frame from one shared sprite atlas, already rotated, onto a
+- Canvas that fills its host pane, so the scene graph holds a single
+- node no matter how many cars there are. The canvas stays screen-sized
+- and draws in screen coordinates, so the caller applies the viewport's
+- pan and zoom. The canvas ignores the mouse; picking is done by the
+- renderer through a SpatialGrid.
+
+***************************************************************/
+
+package trafficsim.ui.view;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+import trafficsim.ui.adapter.CarSpriteAtlas;
+
+final class CarCanvasLayer
+{
+    private static final double DOT_SIZE_PX = 3.0;
+    private static final Color DOT_COLOR = Color.rgb(80, 160, 255);
+
+    private final Pane host;
+    private final Canvas canvas = new Canvas();
+    private final GraphicsContext gc;
+
+    private final CarSpriteAtlas atlas;
+    private final double fitScale;
+
+    /**
+    * Constructs the layer and adds its canvas to the host pane, hidden.
+    *
+    * @param host   The pane to draw in; the canvas follows its size.
+    * @param atlas  The sprite atlas cars are drawn from.
+    * @param fitW   The largest width a car is drawn at, in pixels.
+    * @param fitH   The largest height a car is drawn at, in pixels.
+    */
+    CarCanvasLayer(Pane host, CarSpriteAtlas atlas, double fitW, double fitH)
+    {
+        this.host = host;
+        this.atlas = atlas;
+        this.gc = canvas.getGraphicsContext2D();
+
+        // preserve the sprite's ratio inside the fit box, like ImageView does
+        this.fitScale = Math.min(fitW / atlas.spriteWidth(), fitH / atlas.spriteHeight());
+
+        canvas.widthProperty().bind(host.widthProperty());
+        canvas.heightProperty().bind(host.heightProperty());
+        canvas.setMouseTransparent(true);
+        host.getChildren().add(canvas);
+        host.setMouseTransparent(true);
+        setVisible(false);
+    }
+
+    /**
+    * Shows or hides the layer.
+    *
+    * @param visible True to show the canvas.
+    */
+    void setVisible(boolean visible)
+    {
+        host.setVisible(visible);
+        if (!visible)
+        {
+            clear();
+        }
+    }
+
+    /**
+    * Clears the whole canvas before a new frame is drawn.
+    */
+    void clear()
+    {
+        gc.setTransform(1, 0, 0, 1, 0, 0);
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+    }
+
+    /**
+    * Clears the whole canvas and prepares it for a frame of dots.
+    */
+    void beginDots()
+    {
+        clear();
+        gc.setFill(DOT_COLOR);
+    }
+
+    /**
+    * Draws one car centred on the given point, rotated to its heading and scaled.
+    * Call clear first, so the transform is the identity.
+    *
+    * @param screenX    The x coordinate in screen pixels.
+    * @param screenY    The y coordinate in screen pixels.
+    * @param headingRad The heading in radians.
+    * @param colour     The car's colour index in the atlas.
+    * @param scale      The viewport zoom factor.
+    */
+    void drawCar(double screenX, double screenY, double headingRad, int colour, double scale)
+    {
+        atlas.draw(gc, colour, headingRad, screenX, screenY, fitScale * scale);
+    }
+
+    /**
+    * Draws one car as a small dot, for far-out zoom levels. Call beginDots first.
+    *
+    * @param screenX The x coordinate in screen pixels.
+    * @param screenY The y coordinate in screen pixels.
+    */
+    void drawDot(double screenX, double screenY)
+    {
+        gc.fillRect(screenX - DOT_SIZE_PX / 2.0, screenY - DOT_SIZE_PX / 2.0, DOT_SIZE_PX, DOT_SIZE_PX);
+    }
+}
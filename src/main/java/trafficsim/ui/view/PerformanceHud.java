@@ -0,0 +1,274 @@
+/***************************************************************
+
+- File:        PerformanceHud.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     On-screen performance overlay for the simulation view.
+
+- Description:
+- Shows, a few times per second, the simulation tick rate, tick phase
+- percentiles over the last refresh interval, event queue depth and
+- drain rate, ticks over budget, entity counts, FX pulse time and rate,
+- renderer frame time, scene node count, heap use and allocation rate.
+- Meant to tell at a glance whether a slowdown comes from the simulation
+- thread or from the renderer. Samples nothing while hidden.
+
+***************************************************************/
+
+package trafficsim.ui.view;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.StackPane;
+
+import trafficsim.core.sim.EngineMetrics;
+import trafficsim.core.sim.EngineMetrics.Phase;
+import trafficsim.core.sim.LatencyHistogram;
+import trafficsim.core.sim.SimulationEngine;
+
+public final class PerformanceHud
+{
+    private static final long REFRESH_INTERVAL_NANOS = 500_000_000L;
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double BYTES_PER_MB = 1024.0 * 1024.0;
+
+    private final SimulationEngine engine;
+    private final SimulationRenderer renderer;
+    private final Label label = new Label();
+    private final AnimationTimer timer;
+    private final Runnable pulseEndListener = this::onPulseEnd;
+    private Scene listenedScene = null;
+    private final com.sun.management.ThreadMXBean threadBean;
+    private final Map<Long, Long> lastThreadAllocatedBytes = new HashMap<>();
+    private final Map<Phase, LatencyHistogram.Snapshot> windowStartPhases = new EnumMap<>(Phase.class);
+
+    // sampling window, reset on every refresh
+    private long windowStartNanos = 0;
+    private long windowStartTicks = 0;
+    private long windowStartEvents = 0;
+    private long windowStartOverBudget = 0;
+    private long lastPulseNanos = 0;
+    private long pulseCount = 0;
+    private long pulseIntervalSumNanos = 0;
+    private long pulseStartNanos = 0;
+    private long timedPulseCount = 0;
+    private long pulseDurationSumNanos = 0;
+    private long worstPulseDurationNanos = 0;
+    private long worstRefreshNanos = 0;
+
+    /**
+    * Constructs a hidden HUD for the given engine and renderer.
+    *
+    * @param engine   The engine whose statistics are shown.
+    * @param renderer The renderer whose frame time and node count are shown.
+    */
+    public PerformanceHud(SimulationEngine engine, SimulationRenderer renderer)
+    {
+        this.engine = engine;
+        this.renderer = renderer;
+        this.threadBean = EngineMetrics.allocationBean();
+
+        label.setStyle("-fx-background-color: rgba(0, 0, 0, 0.7); -fx-text-fill: white; "
+                + "-fx-font-family: monospace; -fx-font-size: 12px; -fx-padding: 8;");
+        label.setMouseTransparent(true);
+        label.setVisible(false);
+        StackPane.setAlignment(label, Pos.TOP_LEFT);
+
+        timer = new AnimationTimer() {
+            @Override
+            public void handle(long now)
+            {
+                onPulse(now);
+            }
+        };
+    }
+
+    /**
+    * Returns the HUD node, to be added on top of the simulation pane.
+    *
+    * @return The HUD node.
+    */
+    public Node node()
+    {
+        return label;
+    }
+
+    /**
+    * Shows or hides the HUD. Sampling only runs while it is shown.
+    *
+    * @param visible True to show the HUD.
+    */
+    public void setVisible(boolean visible)
+    {
+        label.setVisible(visible);
+        if (visible)
+        {
+            windowStartNanos = 0;
+            lastPulseNanos = 0;
+            pulseStartNanos = 0;
+            listenedScene = label.getScene();
+            if (listenedScene != null)
+            {
+                listenedScene.addPostLayoutPulseListener(pulseEndListener);
+            }
+            timer.start();
+        } else
+        {
+            timer.stop();
+            if (listenedScene != null)
+            {
+                listenedScene.removePostLayoutPulseListener(pulseEndListener);
+                listenedScene = null;
+            }
+        }
+    }
+
+    private void onPulse(long now)
+    {
+        if (lastPulseNanos != 0)
+        {
+            pulseIntervalSumNanos += now - lastPulseNanos;
+            ++pulseCount;
+        }
+        lastPulseNanos = now;
+        pulseStartNanos = now; // the pulse's start time, shared by all its timers
+        worstRefreshNanos = Math.max(worstRefreshNanos, renderer.lastRefreshNanos());
+
+        if (windowStartNanos == 0)
+        {
+            startWindow(now);
+            sampleAllocatedBytes();
+            return;
+        }
+        if (now - windowStartNanos >= REFRESH_INTERVAL_NANOS)
+        {
+            label.setText(formatReport(now));
+            startWindow(now);
+        }
+    }
+
+    /**
+    * Times the pulse from its start to the end of its layout pass, which covers
+    * the animation, CSS and layout work done on the FX thread.
+    */
+    private void onPulseEnd()
+    {
+        if (pulseStartNanos == 0)
+        {
+            return;
+        }
+        long duration = System.nanoTime() - pulseStartNanos;
+        pulseStartNanos = 0;
+        pulseDurationSumNanos += duration;
+        worstPulseDurationNanos = Math.max(worstPulseDurationNanos, duration);
+        ++timedPulseCount;
+    }
+
+    private void startWindow(long now)
+    {
+        EngineMetrics metrics = engine.metrics();
+        windowStartNanos = now;
+        windowStartTicks = metrics.tickCount();
+        windowStartEvents = metrics.eventsDrained();
+        windowStartOverBudget = metrics.ticksOverBudget();
+        for (Phase phase : Phase.values())
+        {
+            windowStartPhases.put(phase, metrics.histogram(phase).snapshot());
+        }
+        pulseCount = 0;
+        pulseIntervalSumNanos = 0;
+        timedPulseCount = 0;
+        pulseDurationSumNanos = 0;
+        worstPulseDurationNanos = 0;
+        worstRefreshNanos = 0;
+    }
+
+    private String formatReport(long now)
+    {
+        EngineMetrics metrics = engine.metrics();
+        double windowSeconds = (now - windowStartNanos) / 1e9;
+        double tickRate = (metrics.tickCount() - windowStartTicks) / windowSeconds;
+        double eventRate = (metrics.eventsDrained() - windowStartEvents) / windowSeconds;
+
+        double meanPulseIntervalMs = pulseCount > 0 ? pulseIntervalSumNanos / NANOS_PER_MILLI / pulseCount : 0;
+        double fps = meanPulseIntervalMs > 0 ? 1000.0 / meanPulseIntervalMs : 0;
+        double meanPulseMs = timedPulseCount > 0 ? pulseDurationSumNanos / NANOS_PER_MILLI / timedPulseCount : 0;
+
+        Runtime runtime = Runtime.getRuntime();
+        double heapUsedMb = (runtime.totalMemory() - runtime.freeMemory()) / BYTES_PER_MB;
+        double heapMaxMb = runtime.maxMemory() / BYTES_PER_MB;
+        long allocatedBytes = sampleAllocatedBytes();
+        String allocRate = allocatedBytes >= 0
+                ? String.format("%.1f MB/s", allocatedBytes / BYTES_PER_MB / windowSeconds)
+                : "n/a";
+
+        StringBuilder sb = new StringBuilder(512);
+        sb.append(String.format("Sim     %6.1f ticks/s   x%.2f%n", tickRate, engine.getEffectiveTimeScale()));
+        sb.append(String.format("Budget  %d ms: %d ticks over, %d overruns, %d late%n",
+                metrics.tickBudgetNanos() / 1_000_000, metrics.ticksOverBudget() - windowStartOverBudget,
+                metrics.overruns(), metrics.lateWakeUps()));
+        sb.append(String.format("Queue   %d pending, %.0f events/s, %d dropped%n", engine.getEventQueueDepth(),
+                eventRate, engine.getDroppedEventCount()));
+        sb.append(String.format("World   %d intersections, %d roads, %d cars%n", metrics.intersectionCount(),
+                metrics.roadCount(), metrics.carCount()));
+        appendPhase(sb, metrics, "Tick    ", Phase.TICK);
+        appendPhase(sb, metrics, " events ", Phase.EVENT_DRAIN);
+        appendPhase(sb, metrics, " signals", Phase.INTERSECTION_UPDATE);
+        appendPhase(sb, metrics, " cars   ", Phase.CAR_UPDATE);
+        sb.append(String.format("FX pulse%6.2f ms avg %6.2f max (%.0f fps)%n", meanPulseMs,
+                worstPulseDurationNanos / NANOS_PER_MILLI, fps));
+        sb.append(String.format("Render  %6.2f ms last %6.2f max%n", renderer.lastRefreshNanos() / NANOS_PER_MILLI,
+                worstRefreshNanos / NANOS_PER_MILLI));
+        sb.append(String.format("Nodes   %d%s%n", renderer.sceneNodeCount(),
+                renderer.isCanvasMode() ? " (cars on canvas)" : ""));
+        sb.append(String.format("Heap    %.0f / %.0f MB, alloc %s", heapUsedMb, heapMaxMb, allocRate));
+        return sb.toString();
+    }
+
+    private void appendPhase(StringBuilder sb, EngineMetrics metrics, String name, Phase phase)
+    {
+        LatencyHistogram.Snapshot recent = metrics.histogram(phase).snapshot().minus(windowStartPhases.get(phase));
+        sb.append(String.format("%s p50 %7.3f  p99 %7.3f  max %7.3f ms%n", name,
+                recent.valueAtPercentile(50) / NANOS_PER_MILLI, recent.valueAtPercentile(99) / NANOS_PER_MILLI,
+                recent.maxNanos() / NANOS_PER_MILLI));
+    }
+
+    /**
+    * Returns the bytes allocated by all live threads since the previous call, or
+    * -1 if the JVM cannot measure per-thread allocation. Threads that died in
+    * between are not counted.
+    *
+    * @return The allocated bytes, or -1.
+    */
+    private long sampleAllocatedBytes()
+    {
+        if (threadBean == null)
+        {
+            return -1;
+        }
+
+        long[] ids = threadBean.getAllThreadIds();
+        long[] allocated = threadBean.getThreadAllocatedBytes(ids);
+        Map<Long, Long> previous = new HashMap<>(lastThreadAllocatedBytes);
+        lastThreadAllocatedBytes.clear();
+
+        long total = 0;
+        for (int i = 0; i < ids.length; ++i)
+        {
+            if (allocated[i] < 0)
+            {
+                continue; // thread ended while sampling
+            }
+            Long before = previous.get(ids[i]);
+            total += allocated[i] - (before != null ? before : 0L);
+            lastThreadAllocatedBytes.put(ids[i], allocated[i]);
+        }
+        return Math.max(0, total);
+    }
+}
@@ -0,0 +1,51 @@
+/***************************************************************
+
+- File:        RenderFrameEvent.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Flight Recorder event for one rendered frame.
+
+- Description:
+- Committed by the SimulationRenderer for every animation pulse while a
+- Flight Recorder recording has it enabled, spanning the frame refresh
+- on the JavaFX thread. Records how many car views or canvas sprites and
+- signal lights the frame touched.
+
+***************************************************************/
+
+package trafficsim.ui.view;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("trafficsim.RenderFrame")
+@Label("Render Frame")
+@Category({"TrafficSim", "Renderer"})
+@Description("One refresh of the simulation view on the JavaFX thread")
+@StackTrace(false)
+final class RenderFrameEvent extends Event
+{
+    @Label("Snapshot Sequence")
+    @Description("Sequence number of the engine snapshot drawn")
+    long snapshotSequence;
+
+    @Label("New Snapshot")
+    boolean newSnapshot;
+
+    @Label("Cars Drawn")
+    @Description("Car nodes updated or canvas sprites drawn")
+    int carsDrawn;
+
+    @Label("Signals Recoloured")
+    int signalsRecoloured;
+
+    @Label("Canvas Mode")
+    boolean canvasMode;
+
+    @Label("Level Of Detail")
+    String levelOfDetail;
+}
@@ -0,0 +1,311 @@
+/***************************************************************
+
+- File:        SegmentGrid.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Uniform grid index for picking line segments by position.
+
+- Description:
+- Registers each segment in the square cells it actually passes
+- through, found by walking the grid along the segment, so the segment
+- nearest to a point is found by testing the few segments in the
+- surrounding cells instead of every segment. Cell entries live in flat
+- arrays chained from a hash of the cell coordinates, so a lookup boxes
+- nothing. Meant for static geometry such as roads: segments are added
+- and removed on topology edits, not rebuilt every frame.
+
+***************************************************************/
+
+package trafficsim.ui.view;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class SegmentGrid<T>
+{
+    private static final int EMPTY = -1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final double cellSize;
+    private final Map<T, Segment<T>> segments = new HashMap<>();
+
+    // cell entries, chained per hash bucket; freed entries are chained from free
+    private int[] buckets;
+    private int mask;
+    private long[] entryCells = new long[INITIAL_CAPACITY];
+    private Object[] entrySegments = new Object[INITIAL_CAPACITY];
+    private int[] entryNext = new int[INITIAL_CAPACITY];
+    private int entryCount = 0;
+    private int free = EMPTY;
+
+    /**
+    * Constructs an empty grid.
+    *
+    * @param cellSize The cell edge length, ideally a few times the usual pick radius.
+    */
+    public SegmentGrid(double cellSize)
+    {
+        if (cellSize <= 0)
+        {
+            throw new IllegalArgumentException("cell size must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+        allocateBuckets(INITIAL_CAPACITY);
+    }
+
+    /**
+    * Returns the number of segments in the grid.
+    *
+    * @return The segment count.
+    */
+    public int size()
+    {
+        return segments.size();
+    }
+
+    /**
+    * Removes every segment, keeping the arrays for reuse.
+    */
+    public void clear()
+    {
+        segments.clear();
+        Arrays.fill(entrySegments, 0, entryCount, null);
+        Arrays.fill(buckets, EMPTY);
+        entryCount = 0;
+        free = EMPTY;
+    }
+
+    /**
+    * Adds a segment for an item, replacing the item's previous segment if any.
+    *
+    * @param item The item.
+    * @param x1   The x coordinate of the first end.
+    * @param y1   The y coordinate of the first end.
+    * @param x2   The x coordinate of the second end.
+    * @param y2   The y coordinate of the second end.
+    */
+    public void insert(T item, double x1, double y1, double x2, double y2)
+    {
+        remove(item);
+
+        Segment<T> segment = new Segment<>(item, x1, y1, x2, y2);
+        segments.put(item, segment);
+
+        int cx = cellOf(x1);
+        int cy = cellOf(y1);
+        int endCx = cellOf(x2);
+        int endCy = cellOf(y2);
+        int steps = Math.abs(endCx - cx) + Math.abs(endCy - cy);
+        segment.entries = new int[steps + 1];
+
+        // Amanatides-Woo walk: step into whichever neighbouring cell the segment reaches first
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        int stepX = dx > 0 ? 1 : -1;
+        int stepY = dy > 0 ? 1 : -1;
+        double tDeltaX = dx != 0 ? cellSize / Math.abs(dx) : Double.POSITIVE_INFINITY;
+        double tDeltaY = dy != 0 ? cellSize / Math.abs(dy) : Double.POSITIVE_INFINITY;
+        double tMaxX = dx != 0 ? ((cx + (stepX > 0 ? 1 : 0)) * cellSize - x1) / dx : Double.POSITIVE_INFINITY;
+        double tMaxY = dy != 0 ? ((cy + (stepY > 0 ? 1 : 0)) * cellSize - y1) / dy : Double.POSITIVE_INFINITY;
+
+        segment.entries[0] = addEntry(cx, cy, segment);
+        for (int i = 1; i <= steps; ++i)
+        {
+            // the end cell bounds the walk, so rounding can never carry it past
+            if (cy == endCy || (cx != endCx && tMaxX < tMaxY))
+            {
+                cx += stepX;
+                tMaxX += tDeltaX;
+            } else
+            {
+                cy += stepY;
+                tMaxY += tDeltaY;
+            }
+            segment.entries[i] = addEntry(cx, cy, segment);
+        }
+    }
+
+    /**
+    * Removes the item's segment, if it has one.
+    *
+    * @param item The item.
+    */
+    public void remove(T item)
+    {
+        Segment<T> segment = segments.remove(item);
+        if (segment == null)
+        {
+            return;
+        }
+
+        for (int entry : segment.entries)
+        {
+            removeEntry(entry);
+        }
+    }
+
+    /**
+    * Returns the item whose segment passes closest to the given position,
+    * within maxDistance.
+    *
+    * @param x           The x coordinate.
+    * @param y           The y coordinate.
+    * @param maxDistance The largest distance that counts as a hit.
+    * @return            The nearest item, or null if none is close enough.
+    */
+    @SuppressWarnings("unchecked")
+    public T nearest(double x, double y, double maxDistance)
+    {
+        T best = null;
+        double bestDistSq = maxDistance * maxDistance;
+
+        for (int cy = cellOf(y - maxDistance); cy <= cellOf(y + maxDistance); ++cy)
+        {
+            for (int cx = cellOf(x - maxDistance); cx <= cellOf(x + maxDistance); ++cx)
+            {
+                long cell = cellKey(cx, cy);
+                for (int i = buckets[bucketOf(cx, cy)]; i != EMPTY; i = entryNext[i])
+                {
+                    if (entryCells[i] != cell)
+                    {
+                        continue;
+                    }
+                    Segment<T> segment = (Segment<T>) entrySegments[i];
+                    double distSq = segment.distanceSquaredTo(x, y);
+                    if (distSq <= bestDistSq)
+                    {
+                        bestDistSq = distSq;
+                        best = segment.item;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private int addEntry(int cx, int cy, Segment<T> segment)
+    {
+        int i;
+        if (free != EMPTY)
+        {
+            i = free;
+            free = entryNext[i];
+        } else
+        {
+            if (entryCount == entryCells.length)
+            {
+                grow();
+            }
+            i = entryCount++;
+        }
+
+        int bucket = bucketOf(cx, cy);
+        entryCells[i] = cellKey(cx, cy);
+        entrySegments[i] = segment;
+        entryNext[i] = buckets[bucket];
+        buckets[bucket] = i;
+        return i;
+    }
+
+    private void removeEntry(int i)
+    {
+        long cell = entryCells[i];
+        int bucket = bucketOf((int) (cell >> 32), (int) cell);
+        if (buckets[bucket] == i)
+        {
+            buckets[bucket] = entryNext[i];
+        } else
+        {
+            int previous = buckets[bucket];
+            while (entryNext[previous] != i)
+            {
+                previous = entryNext[previous];
+            }
+            entryNext[previous] = entryNext[i];
+        }
+
+        entrySegments[i] = null;
+        entryNext[i] = free;
+        free = i;
+    }
+
+    private int cellOf(double coordinate)
+    {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static long cellKey(int cx, int cy)
+    {
+        return ((long) cx << 32) | (cy & 0xFFFFFFFFL);
+    }
+
+    private int bucketOf(int cx, int cy)
+    {
+        int h = cx * 73856093 ^ cy * 19349663;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void allocateBuckets(int capacity)
+    {
+        int length = Integer.highestOneBit(capacity - 1) << 1;
+        buckets = new int[length];
+        mask = length - 1;
+        Arrays.fill(buckets, EMPTY);
+    }
+
+    /**
+    * Doubles the entry arrays and rebuilds the bucket chains for the larger table.
+    * Only called when no entry is free, so every entry below entryCount is in use.
+    */
+    private void grow()
+    {
+        int capacity = entryCells.length * 2;
+        entryCells = Arrays.copyOf(entryCells, capacity);
+        entrySegments = Arrays.copyOf(entrySegments, capacity);
+        entryNext = Arrays.copyOf(entryNext, capacity);
+
+        allocateBuckets(capacity);
+        for (int i = 0; i < entryCount; ++i)
+        {
+            int bucket = bucketOf((int) (entryCells[i] >> 32), (int) entryCells[i]);
+            entryNext[i] = buckets[bucket];
+            buckets[bucket] = i;
+        }
+    }
+
+    /**
+    * One indexed segment, its item and the cell entries it occupies.
+    */
+    private static final class Segment<T>
+    {
+        final T item;
+        final double x1;
+        final double y1;
+        final double x2;
+        final double y2;
+        int[] entries;
+
+        Segment(T item, double x1, double y1, double x2, double y2)
+        {
+            this.item = item;
+            this.x1 = x1;
+            this.y1 = y1;
+            this.x2 = x2;
+            this.y2 = y2;
+        }
+
+        double distanceSquaredTo(double x, double y)
+        {
+            double dx = x2 - x1;
+            double dy = y2 - y1;
+            double lengthSq = dx * dx + dy * dy;
+            double t = lengthSq > 0 ? ((x - x1) * dx + (y - y1) * dy) / lengthSq : 0;
+            t = Math.max(0, Math.min(1, t));
+
+            double px = x1 + t * dx - x;
+            double py = y1 + t * dy - y;
+            return px * px + py * py;
+        }
+    }
+}
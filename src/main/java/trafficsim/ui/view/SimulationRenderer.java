@@ -6,38 +6,54 @@
 - Purpose:     Handles all JavaFX rendering for the TrafficSim simulation.
 
 - Description:
-- Manages the creation, updating, and removal of all visual elements
-- in the simulation, including intersections, roads, cars, and traffic
+- Manages the creation, updating, and removal of all visual elements in
+- the simulation, including intersections, roads, cars, and traffic
 - lights. Synchronizes the UI with the simulation model state and
-- provides interaction hooks for editing and selection.
+- provides interaction hooks for editing and selection. Hover and click
+- picking go through spatial indexes over intersections, roads and cars
+- instead of per-node mouse handlers. Above a car count threshold, cars
+- are drawn onto a single canvas instead of one node each, and picked
+- through a spatial grid. Each frame culls cars against the viewport
+- from their snapshot positions before any other per-car work, and car
+- nodes are only shown or hidden when that changes. Each road surface is
+- a single tile-patterned node, and the static road and intersection
+- panes are cached as bitmaps between edits while the bitmap stays small
+- enough for a texture, reusing it scaled while a zoom is under way.
+- Data bubbles come from a pooled overlay and exist only for cars on
+- screen. Off-screen cars and signals that did not change are not
+- updated, and zoomed-out views switch to cheaper representations. Each
+- frame refresh is emitted as a Flight Recorder event.
 
 ***************************************************************/
 
 package trafficsim.ui.view;
 
 import java.util.*;
-import java.util.function.Consumer;
 import javafx.animation.AnimationTimer;
+import javafx.geometry.Bounds;
 import javafx.scene.Cursor;
-import javafx.scene.Group;
+import javafx.scene.CacheHint;
 import javafx.scene.Node;
 import javafx.scene.effect.BlurType;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
+import javafx.scene.paint.ImagePattern;
 import javafx.scene.shape.Line;
-import javafx.scene.shape.Polygon;
 import javafx.scene.shape.Rectangle;
-import javafx.scene.text.Text;
-import javafx.scene.text.TextAlignment;
+import javafx.scene.transform.Rotate;
 
 import trafficsim.core.model.*;
+import trafficsim.core.sim.FrameSnapshot;
 import trafficsim.core.sim.SimulationEngine;
 import trafficsim.ui.adapter.*;
 import trafficsim.ui.controller.MainController;
 import trafficsim.ui.view.intersection.*;
+import trafficsim.ui.view.ViewportController.LevelOfDetail;
 import trafficsim.ui.controller.helpers.InteractionModeManager.Mode;
 
 public class SimulationRenderer
@@ -47,41 +63,95 @@ public class SimulationRenderer
     private final Pane intersectionPane;
     private final Pane roadPane;
     private final Pane carPane;
+    private final CarCanvasLayer carCanvas;
     private final Pane lightPane;
 
     private final SimulationEngine engine;
     private final MainController controller;
+    private final ViewportController viewport;
 
     private final Map<Car, ImageView> carViews = new HashMap<>();
     private final Map<Car, CarAdapter> carAdapters = new HashMap<>();
 
     private final Map<Intersection, IntersectionView> intersectionViewMgrs = new HashMap<>();
     private final Map<Road, Line> roadViews = new HashMap<>();
-    private final Map<Road, Group> roadTileViews = new HashMap<>();
-
-    private final Map<Car, Group> carDataBubbleViews = new HashMap<>();
-    private final Map<Car, Text> carDataTexts = new HashMap<>();
+    private final Map<Road, Rectangle> roadSurfaceViews = new HashMap<>();
 
+    private final CarBubbleOverlay bubbles = new CarBubbleOverlay();
     private boolean areBubblesGloballyVisible = true;
 
+    // canvas car layer for large car counts; switches back below the lower threshold
+    private static final int CANVAS_CAR_THRESHOLD = 1500;
+    private static final int NODE_CAR_THRESHOLD = 1000;
+    private static final double CAR_FIT_W_PX = 40;
+    private static final double CAR_FIT_H_PX = 20;
+    private boolean isCanvasMode = false;
+
+    // picking, in content pixels; cars are re-indexed every frame, the rest on edits
+    private static final double CAR_PICK_RADIUS_PX = 15.0;
+    private static final double INTERSECTION_PICK_RADIUS_PX = 70.0;
+    private static final double ROAD_PICK_RADIUS_PX = 28.0;
+    private static final double ROAD_GRID_CELL_PX = 200.0;
+    private static final double MIN_PICK_SCREEN_PX = 6.0;
+    private static final DropShadow ROAD_GLOW = new DropShadow(BlurType.GAUSSIAN, Color.ORANGE, 12, 0.7, 0, 0);
+    private static final String CAR_GLOW_STYLE = "-fx-effect: dropshadow(gaussian, orange, 8, 0.5, 0, 0);";
+    private final SpatialGrid<Car> carGrid = new SpatialGrid<>(2 * CAR_PICK_RADIUS_PX, 1024);
+    private final SpatialGrid<Intersection> intersectionGrid = new SpatialGrid<>(INTERSECTION_PICK_RADIUS_PX, 256);
+    private final SegmentGrid<Road> roadGrid = new SegmentGrid<>(ROAD_GRID_CELL_PX);
+    private Object hoveredItem = null;
+
+    // viewport culling and level of detail
+    private static final double CAR_CULL_MARGIN_PX = 40.0;
+    private LevelOfDetail levelOfDetail = LevelOfDetail.FULL;
+
     private static final double ROAD_ENDPOINT_OFFSET_PX = 25.0;
 
-    public SimulationRenderer(Pane intersectionPane, Pane roadPane, Pane carPane, Pane lightPane,
-            SimulationEngine engine, MainController controller)
+    // bitmap caching of the static panes; textures are commonly limited to
+    // 8192 pixels a side, so stay well clear of that
+    private static final double MAX_CACHED_PANE_PX = 4096.0;
+    private static final long ZOOM_SETTLE_NANOS = 250_000_000L;
+    private double cachedPaneScale = Double.NaN;
+    private long lastZoomNanos = 0;
+
+    // interpolation between the last two published frames
+    private static final long MAX_INTERPOLATION_GAP_NANOS = 250_000_000L;
+    private static final double SNAP_DISTANCE_PX = 100.0;
+    private long lastFrameSequence = 0;
+    private long lastRefreshNanos = 0;
+    private boolean isLastFrameNew = false;
+    private long frameNumber = 0;
+    private List<Car> shownCars = new ArrayList<>();     // cars whose node the last frame showed
+    private List<Car> nextShownCars = new ArrayList<>();
+    private int carsDrawn = 0;         // in the last frame
+    private int signalsRecoloured = 0; // in the last frame
+    private long previousPublishNanos = 0;
+    private long currentPublishNanos = 0;
+
+    public SimulationRenderer(Pane intersectionPane, Pane roadPane, Pane carPane, Pane carCanvasPane, Pane lightPane,
+            SimulationEngine engine, MainController controller, ViewportController viewport)
     {
         this.intersectionPane = intersectionPane;
         this.roadPane = roadPane;
         this.carPane = carPane;
         this.lightPane = lightPane;
+        this.carCanvas = new CarCanvasLayer(carCanvasPane, CarAssetManager.atlas(), CAR_FIT_W_PX, CAR_FIT_H_PX);
 
         this.engine = engine;
         this.controller = controller;
+        this.viewport = viewport;
+
+        carPane.getChildren().add(bubbles.node());
 
         new AnimationTimer() {
             @Override
             public void handle(long now)
             {
-                refreshFrame();
+                RenderFrameEvent frameEvent = new RenderFrameEvent();
+                frameEvent.begin();
+                long startNanos = System.nanoTime();
+                refreshFrame(now);
+                lastRefreshNanos = System.nanoTime() - startNanos;
+                commitFrameEvent(frameEvent);
             }
         }.start();
     }
@@ -94,10 +164,29 @@ public class SimulationRenderer
     */
     public void onIntersectionAdded(Intersection intersection)
     {
-        IntersectionView viewMgr = buildViewManager(intersection);
-        intersectionViewMgrs.put(intersection, viewMgr);
+        onIntersectionsAdded(List.of(intersection));
+    }
+
+    /**
+    * Called when a batch of intersections is added to the simulation.
+    * Builds every IntersectionView first and adds all their nodes to the pane in
+    * a single change.
+    *
+    * @param intersections The intersection model objects to render.
+    */
+    public void onIntersectionsAdded(List<? extends Intersection> intersections)
+    {
+        List<Node> baseNodes = new ArrayList<>();
+        for (Intersection intersection : intersections)
+        {
+            IntersectionView viewMgr = buildViewManager(intersection);
+            intersectionViewMgrs.put(intersection, viewMgr);
+            baseNodes.addAll(viewMgr.getBaseNodes());
+            intersectionGrid.insert(intersection, IntersectionUtil.toPx(intersection.position().x),
+                    IntersectionUtil.toPx(intersection.position().y));
+        }
 
-        intersectionPane.getChildren().addAll(viewMgr.getBaseNodes());
+        intersectionPane.getChildren().addAll(baseNodes);
     }
 
     /**
@@ -114,6 +203,9 @@ public class SimulationRenderer
     public void removeIntersection(Intersection intersection)
     {
         IntersectionView viewMgr = intersectionViewMgrs.remove(intersection);
+        clearHoverIf(intersection);
+        intersectionGrid.remove(intersection, IntersectionUtil.toPx(intersection.position().x),
+                IntersectionUtil.toPx(intersection.position().y));
         if (viewMgr != null)
         {
             intersectionPane.getChildren().removeAll(viewMgr.getBaseNodes());
@@ -138,11 +230,13 @@ public class SimulationRenderer
             roadPane.getChildren().remove(view);
         }
 
-        Group tiles = roadTileViews.remove(road);
-        if (tiles != null)
+        Rectangle surface = roadSurfaceViews.remove(road);
+        if (surface != null)
         {
-            roadPane.getChildren().removeAll(tiles);
+            roadPane.getChildren().remove(surface);
         }
+        roadGrid.remove(road);
+        clearHoverIf(road);
     }
 
     private boolean isCanonical(Road road)
@@ -154,53 +248,367 @@ public class SimulationRenderer
 
     /**
     * Called when a new road is added to the simulation.
-    * Creates and registers the corresponding JavaFX Line and tile graphics.
+    * Creates and registers the corresponding JavaFX Line and road surface.
     *
     * @param road The road model object to render.
     */
     public void onRoadAdded(Road road)
     {
-        Line line = buildRoadView(road);
-        roadViews.put(road, line);
-        roadPane.getChildren().add(line);
+        onRoadsAdded(List.of(road));
+    }
 
-        if (isCanonical(road))
-        {
-            Group tiles = buildRoadTiles(road);
-            roadTileViews.put(road, tiles);
-            roadPane.getChildren().addAll(tiles);
-        }
+    /**
+    * Called when a batch of roads is added to the simulation.
+    * Builds every road's graphics and signal first, then adds them to their panes
+    * in a single change per pane.
+    *
+    * @param roads The road model objects to render.
+    */
+    public void onRoadsAdded(List<Road> roads)
+    {
+        List<Node> roadNodes = new ArrayList<>();
+        List<Node> signalNodes = new ArrayList<>();
 
-        Intersection destination = road.to();
-        if (destination instanceof SignalisedIntersection)
+        for (Road road : roads)
         {
-            IntersectionView viewMgr = intersectionViewMgrs.get(destination);
-            if (viewMgr instanceof SignalisedIntersectionView)
+            Line line = buildRoadView(road);
+            line.setVisible(levelOfDetail == LevelOfDetail.DOTS);
+            roadViews.put(road, line);
+            roadNodes.add(line);
+
+            if (isCanonical(road))
+            {
+                Rectangle surface = buildRoadSurface(road);
+                surface.setVisible(levelOfDetail != LevelOfDetail.DOTS);
+                roadSurfaceViews.put(road, surface);
+                roadNodes.add(surface);
+                indexRoad(road);
+            }
+
+            Intersection destination = road.to();
+            if (destination instanceof SignalisedIntersection)
             {
-                Node signalNode = ((SignalisedIntersectionView) viewMgr).createSignalForRoad(road,
-                        controller::selectForEditing, controller);
-                lightPane.getChildren().add(signalNode);
+                IntersectionView viewMgr = intersectionViewMgrs.get(destination);
+                if (viewMgr instanceof SignalisedIntersectionView)
+                {
+                    signalNodes.add(((SignalisedIntersectionView) viewMgr).createSignalForRoad(road));
+                }
             }
         }
+
+        roadPane.getChildren().addAll(roadNodes);
+        lightPane.getChildren().addAll(signalNodes);
     }
 
     /**
     * Called when a new car is added to the simulation.
-    * Creates and registers the corresponding ImageView and data bubble.
+    * Creates and registers the corresponding ImageView.
     *
     * @param car The car model object to render.
     */
     public void onCarAdded(Car car)
+    {
+        onCarsAdded(List.of(car));
+    }
+
+    /**
+    * Called when a batch of cars is added to the simulation.
+    * Builds every car's view, then adds them to the pane in a single change.
+    * In canvas mode no nodes are built.
+    *
+    * @param cars The car model objects to render.
+    */
+    public void onCarsAdded(List<Car> cars)
+    {
+        for (Car car : cars)
+        {
+            carAdapters.put(car, new CarAdapter());
+        }
+
+        if (!isCanvasMode && carAdapters.size() <= CANVAS_CAR_THRESHOLD)
+        {
+            List<Node> carNodes = new ArrayList<>(cars.size());
+            for (Car car : cars)
+            {
+                buildCarNodes(car, carNodes);
+            }
+            carPane.getChildren().addAll(carNodes);
+            bubbles.node().toFront();
+        }
+        updateCarLayerMode();
+    }
+
+    /**
+    * Builds and registers a car's view.
+    *
+    * @param car   The car model object.
+    * @param nodes Receives the new nodes, to be added to the car pane.
+    */
+    private void buildCarNodes(Car car, List<Node> nodes)
     {
         ImageView view = buildCarView(car);
         carViews.put(car, view);
-        carAdapters.put(car, new CarAdapter(car));
-        carPane.getChildren().add(view);
+        nodes.add(view);
+    }
+
+    /**
+    * Switches between per-car nodes and the canvas layer when the car count
+    * crosses the thresholds, or when the level of detail calls for dots. The gap
+    * between the two thresholds keeps the renderer from flipping back and forth
+    * around a single count.
+    */
+    private void updateCarLayerMode()
+    {
+        int count = carAdapters.size();
+        boolean wantsCanvas = levelOfDetail == LevelOfDetail.DOTS
+                || (isCanvasMode ? count >= NODE_CAR_THRESHOLD : count > CANVAS_CAR_THRESHOLD);
+        if (wantsCanvas != isCanvasMode)
+        {
+            useCanvasLayer(wantsCanvas);
+        }
+    }
+
+    /**
+    * Applies a new level of detail: at DOTS, roads are drawn as plain lines instead
+    * of tiles, signal lights are hidden and cars move to the canvas as dots.
+    *
+    * @param newLevel The level of detail for the current zoom.
+    */
+    private void applyLevelOfDetail(LevelOfDetail newLevel)
+    {
+        if (newLevel == levelOfDetail)
+        {
+            return;
+        }
+        levelOfDetail = newLevel;
 
-        Group bubble = buildCarDataBubble(car);
-        carDataBubbleViews.put(car, bubble);
-        carPane.getChildren().add(bubble);
-        bubble.setVisible(areBubblesGloballyVisible && car.getShowDataBubble());
+        boolean isDots = newLevel == LevelOfDetail.DOTS;
+        lightPane.setVisible(!isDots);
+        for (Line line : roadViews.values())
+        {
+            line.setVisible(isDots);
+        }
+        for (Rectangle surface : roadSurfaceViews.values())
+        {
+            surface.setVisible(!isDots);
+        }
+        updateCarLayerMode();
+    }
+
+    /**
+    * Moves every car onto the canvas layer, dropping their nodes, or back to one
+    * node per car.
+    *
+    * @param canvas True for the canvas layer, false for per-car nodes.
+    */
+    private void useCanvasLayer(boolean canvas)
+    {
+        isCanvasMode = canvas;
+        if (hoveredItem instanceof Car)
+        {
+            clearHoverIf(hoveredItem);
+        }
+
+        if (canvas)
+        {
+            bubbles.clear();
+            carPane.getChildren().setAll(bubbles.node());
+            carViews.clear();
+            carPane.setVisible(false);
+            carCanvas.setVisible(true);
+        } else
+        {
+            carCanvas.setVisible(false);
+
+            List<Node> carNodes = new ArrayList<>(carAdapters.size());
+            for (Car car : carAdapters.keySet())
+            {
+                buildCarNodes(car, carNodes);
+            }
+            carPane.getChildren().addAll(carNodes);
+            bubbles.node().toFront();
+            carPane.setVisible(true);
+        }
+    }
+
+    /**
+    * Returns whether any intersection lies within the given distance of a point,
+    * e.g. to validate the placement of a new one.
+    *
+    * @param xPx        The x coordinate in content pixels.
+    * @param yPx        The y coordinate in content pixels.
+    * @param distancePx The distance in content pixels.
+    * @return           True if an intersection is closer than distancePx.
+    */
+    public boolean hasIntersectionWithin(double xPx, double yPx, double distancePx)
+    {
+        return intersectionGrid.nearest(xPx, yPx, distancePx) != null;
+    }
+
+    /**
+    * Acts on a click over a car, intersection or road, according to the current
+    * interaction mode. Registered as an event filter on the simulation pane, which
+    * is the only node that receives mouse events; a picked click is consumed so
+    * that placement handlers below do not see it.
+    *
+    * @param event The mouse click, in simulation pane coordinates.
+    */
+    public void handlePickClick(MouseEvent event)
+    {
+        if (event.getButton() != MouseButton.PRIMARY)
+        {
+            return;
+        }
+        Object item = pickAt(event.getX(), event.getY());
+        if (item == null)
+        {
+            return;
+        }
+        event.consume();
+
+        Mode mode = controller.getCurrentMode();
+        if (item instanceof Intersection)
+        {
+            Intersection intersection = (Intersection) item;
+            switch (mode) {
+            case NORMAL:
+                controller.selectForEditing(intersection);
+                break;
+            case PLACING_ROAD:
+                controller.onIntersectionPickedForRoad(intersection);
+                break;
+            case PLACING_CAR:
+                controller.onIntersectionPickedForCar(intersection);
+                break;
+            default:
+                //ignoring
+            }
+        } else if (mode == Mode.NORMAL)
+        {
+            controller.selectForEditing(item);
+        }
+    }
+
+    /**
+    * Highlights the car, intersection or road under the mouse and sets the cursor,
+    * for the items the current interaction mode can act on.
+    *
+    * @param event The mouse move, in simulation pane coordinates.
+    */
+    public void handlePickHover(MouseEvent event)
+    {
+        Mode mode = controller.getCurrentMode();
+        Object item = pickAt(event.getX(), event.getY());
+        boolean isActionable = item instanceof Intersection
+                ? mode == Mode.NORMAL || mode == Mode.PLACING_ROAD || mode == Mode.PLACING_CAR
+                : mode == Mode.NORMAL;
+        if (!isActionable)
+        {
+            item = null;
+        }
+        if (item == hoveredItem)
+        {
+            return;
+        }
+
+        setHighlighted(hoveredItem, false);
+        setHighlighted(item, true);
+        hoveredItem = item;
+
+        if (item != null)
+        {
+            carPane.getScene().setCursor(mode == Mode.NORMAL ? Cursor.HAND : Cursor.CROSSHAIR);
+        } else if (mode == Mode.NORMAL)
+        {
+            carPane.getScene().setCursor(Cursor.DEFAULT);
+        }
+    }
+
+    /**
+    * Returns the item under a point of the simulation pane: a car first, then an
+    * intersection, then a road.
+    *
+    * @param screenX The x coordinate in simulation pane pixels.
+    * @param screenY The y coordinate in simulation pane pixels.
+    * @return        The Car, Intersection or Road under the point, or null.
+    */
+    private Object pickAt(double screenX, double screenY)
+    {
+        double x = viewport.toContentX(screenX);
+        double y = viewport.toContentY(screenY);
+        double minRadius = MIN_PICK_SCREEN_PX / viewport.scale();
+
+        Car car = carGrid.nearest(x, y, Math.max(CAR_PICK_RADIUS_PX, minRadius));
+        if (car != null)
+        {
+            return car;
+        }
+
+        Intersection intersection = intersectionGrid.nearest(x, y, Math.max(INTERSECTION_PICK_RADIUS_PX, minRadius));
+        if (intersection != null)
+        {
+            return intersection;
+        }
+
+        return roadGrid.nearest(x, y, Math.max(ROAD_PICK_RADIUS_PX, minRadius));
+    }
+
+    private void setHighlighted(Object item, boolean highlighted)
+    {
+        if (item instanceof Car)
+        {
+            ImageView view = carViews.get(item);
+            if (view != null)
+            {
+                view.setStyle(highlighted ? CAR_GLOW_STYLE : "");
+            }
+        } else if (item instanceof Intersection)
+        {
+            IntersectionView viewMgr = intersectionViewMgrs.get(item);
+            if (viewMgr != null)
+            {
+                viewMgr.setHighlighted(highlighted);
+            }
+        } else if (item instanceof Road)
+        {
+            Rectangle surface = roadSurfaceViews.get(item);
+            if (surface != null)
+            {
+                surface.setEffect(highlighted ? ROAD_GLOW : null);
+            }
+        }
+    }
+
+    /**
+    * Forgets the hovered item if it is the given one, e.g. because it was removed.
+    *
+    * @param item The item that is going away.
+    */
+    private void clearHoverIf(Object item)
+    {
+        if (hoveredItem != null && hoveredItem == item)
+        {
+            setHighlighted(hoveredItem, false);
+            hoveredItem = null;
+        }
+    }
+
+    /**
+    * Adds a road's centre line, between the two intersection buffers, to the road index.
+    *
+    * @param road The road model.
+    */
+    private void indexRoad(Road road)
+    {
+        double fromX = IntersectionUtil.toPx(road.from().position().x);
+        double fromY = IntersectionUtil.toPx(road.from().position().y);
+        double toX = IntersectionUtil.toPx(road.to().position().x);
+        double toY = IntersectionUtil.toPx(road.to().position().y);
+
+        double length = Math.hypot(toX - fromX, toY - fromY);
+        double inset = length > 2 * ROAD_ENDPOINT_OFFSET_PX ? ROAD_ENDPOINT_OFFSET_PX / length : 0.5;
+        roadGrid.insert(road, fromX + (toX - fromX) * inset, fromY + (toY - fromY) * inset,
+                toX - (toX - fromX) * inset, toY - (toY - fromY) * inset);
     }
 
     /**
@@ -216,13 +624,9 @@ public class SimulationRenderer
             carPane.getChildren().remove(view);
         }
         carAdapters.remove(car);
-
-        Group bubble = carDataBubbleViews.remove(car);
-        if (bubble != null)
-        {
-            carPane.getChildren().remove(bubble);
-        }
-        carDataTexts.remove(car);
+        bubbles.remove(car);
+        clearHoverIf(car);
+        updateCarLayerMode();
     }
 
     /**
@@ -235,35 +639,125 @@ public class SimulationRenderer
         carAdapters.clear();
         intersectionViewMgrs.clear();
         roadViews.clear();
-        carDataBubbleViews.clear();
-        carDataTexts.clear();
+        roadSurfaceViews.clear();
+        bubbles.clear();
+        carGrid.clear();
+        intersectionGrid.clear();
+        roadGrid.clear();
+        hoveredItem = null;
 
         intersectionPane.getChildren().clear();
         roadPane.getChildren().clear();
-        carPane.getChildren().clear();
+        carPane.getChildren().setAll(bubbles.node());
         lightPane.getChildren().clear();
+        updateCarLayerMode();
     }
 
     /**
     * Updates all car and intersection views to reflect the current simulation state.
-    * Called on every animation frame.
+    * Called on every animation frame. Car state comes only from the engine's latest
+    * FrameSnapshot, so the UI thread never locks model objects. Car positions are
+    * interpolated between the last two snapshots, one publish interval behind,
+    * so motion stays smooth when the pulse rate is higher than the tick rate.
+    * Cars outside the viewport are not updated, and only signal lights the engine
+    * reported as changed are recoloured.
+    *
+    * @param now The pulse time in nanoseconds, from the AnimationTimer.
     */
-    private void refreshFrame()
+    private void refreshFrame(long now)
     {
-        for (Map.Entry<Car, CarAdapter> e : carAdapters.entrySet())
+        applyLevelOfDetail(viewport.levelOfDetail());
+        boolean isDots = levelOfDetail == LevelOfDetail.DOTS;
+        double scale = viewport.scale();
+        updateStaticPaneCaching(now, scale);
+
+        FrameSnapshot frame = engine.latestSnapshot();
+        boolean isNewFrame = frame.sequence() != lastFrameSequence;
+        isLastFrameNew = isNewFrame;
+        long previousSequence = lastFrameSequence;
+        if (isNewFrame)
+        {
+            lastFrameSequence = frame.sequence();
+            previousPublishNanos = currentPublishNanos;
+            currentPublishNanos = frame.publishNanos();
+        }
+        double alpha = interpolationAlpha(now);
+        boolean areBubblesShown = areBubblesGloballyVisible && !isCanvasMode
+                && levelOfDetail == LevelOfDetail.FULL;
+        bubbles.beginFrame(now);
+        carsDrawn = 0;
+        signalsRecoloured = 0;
+
+        if (isCanvasMode)
+        {
+            if (isDots)
+            {
+                carCanvas.beginDots();
+            } else
+            {
+                carCanvas.clear();
+            }
+        }
+        carGrid.clear();
+        ++frameNumber;
+
+        // cull on the latest snapshot position, before touching the car's adapter;
+        // the margin covers the distance the interpolated position can lag behind
+        Bounds visible = viewport.visibleContentBounds(CAR_CULL_MARGIN_PX);
+        double minX = visible.getMinX();
+        double minY = visible.getMinY();
+        double maxX = visible.getMaxX();
+        double maxY = visible.getMaxY();
+
+        for (int i = 0; i < frame.size(); ++i)
         {
-            Car car = e.getKey();
-            CarAdapter adapter = e.getValue();
-            adapter.pullFromModel();
+            double sampleX = frame.x(i) * IntersectionUtil.PX_PER_M;
+            double sampleY = frame.y(i) * IntersectionUtil.PX_PER_M;
+            if (sampleX < minX || sampleX > maxX || sampleY < minY || sampleY > maxY)
+            {
+                continue;
+            }
 
-            ImageView view = carViews.get(car);
-            if (view == null)
+            Car car = frame.car(i);
+            CarAdapter adapter = carAdapters.get(car);
+            if (adapter == null)
             {
                 continue;
             }
+            adapter.pushSample(frame, i, previousSequence, SNAP_DISTANCE_PX);
+            adapter.interpolate(alpha);
 
             double centerX = adapter.xProperty().get();
             double centerY = adapter.yProperty().get();
+            carGrid.insert(car, centerX, centerY);
+
+            if (isCanvasMode)
+            {
+                double screenX = viewport.toScreenX(centerX);
+                double screenY = viewport.toScreenY(centerY);
+                if (isDots)
+                {
+                    carCanvas.drawDot(screenX, screenY);
+                } else
+                {
+                    carCanvas.drawCar(screenX, screenY, frame.heading(i), adapter.colourIndex(), scale);
+                }
+                ++carsDrawn;
+                continue;
+            }
+
+            ImageView view = carViews.get(car);
+            if (view == null)
+            {
+                continue;
+            }
+
+            if (!view.isVisible())
+            {
+                view.setVisible(true);
+            }
+            adapter.markDrawn(frameNumber);
+            nextShownCars.add(car);
 
             double fitW = view.getFitWidth();
             double fitH = view.getFitHeight();
@@ -271,66 +765,136 @@ public class SimulationRenderer
             view.setX(centerX - fitW / 2.0);
             view.setY(centerY - fitH / 2.0);
 
-            double angleDeg = Math.toDegrees(car.headingRad());
+            double angleDeg = Math.toDegrees(frame.heading(i));
             view.setRotate(angleDeg);
+            ++carsDrawn;
 
-            // Data Bubble
-            Group bubble = carDataBubbleViews.get(car);
-            Text dataText = carDataTexts.get(car);
-            if (bubble == null || dataText == null)
+            if (areBubblesShown && car.getShowDataBubble())
             {
-                continue;
+                bubbles.show(car, centerX, centerY - fitH / 2.0, frame.x(i), frame.y(i), frame.speed(i));
             }
+        }
+        hideCarsLeftBehind();
+        bubbles.endFrame();
 
-            bubble.setVisible(areBubblesGloballyVisible && car.getShowDataBubble());
-
-            double bubbleHeight = 50;
-            double pointerHeight = 10;
-            bubble.setLayoutX(centerX - bubble.getBoundsInLocal().getWidth() / 2.0);
-            bubble.setLayoutY(centerY - fitH / 2.0 - bubbleHeight - pointerHeight);
+        engine.drainChangedSignals(this::onSignalChanged);
+    }
 
-            Vec2 pos = car.worldPos();
-            double currentSpeedMps = car.getVelocity();
-            double currentSpeedMph = UnitConverter.mpsToMph(currentSpeedMps);
-            dataText.setText(String.format("X: %.1f, Y: %.1f\nSpd: %2.0f mph", pos.x, pos.y, currentSpeedMph));
+    /**
+    * Roads and intersection tiles only change on topology edits, so JavaFX keeps
+    * their panes as cached bitmaps between edits. While the zoom is changing the
+    * bitmap is reused scaled (CacheHint.SCALE) instead of being redrawn at every
+    * step, and once the zoom has settled for ZOOM_SETTLE_NANOS it is redrawn
+    * sharp at the new scale. A pane whose bitmap would exceed MAX_CACHED_PANE_PX
+    * at the current scale, as large generated networks do, is not cached.
+    *
+    * @param now   The pulse time in nanoseconds.
+    * @param scale The current zoom factor.
+    */
+    private void updateStaticPaneCaching(long now, double scale)
+    {
+        if (scale != cachedPaneScale)
+        {
+            cachedPaneScale = scale;
+            lastZoomNanos = now;
         }
+        CacheHint hint = now - lastZoomNanos < ZOOM_SETTLE_NANOS ? CacheHint.SCALE : CacheHint.QUALITY;
+        applyPaneCaching(roadPane, scale, hint);
+        applyPaneCaching(intersectionPane, scale, hint);
+    }
+
+    private static void applyPaneCaching(Pane pane, double scale, CacheHint hint)
+    {
+        Bounds bounds = pane.getBoundsInLocal();
+        boolean isSmallEnough = Math.max(bounds.getWidth(), bounds.getHeight()) * scale <= MAX_CACHED_PANE_PX;
+        pane.setCache(isSmallEnough);
+        pane.setCacheHint(hint);
+    }
 
-        for (IntersectionView viewMgr : intersectionViewMgrs.values())
+    /**
+    * Hides the nodes of cars the previous frame showed and this one did not, so
+    * only cars crossing the viewport edge have their visibility changed.
+    */
+    private void hideCarsLeftBehind()
+    {
+        for (int i = 0; i < shownCars.size(); ++i)
         {
-            viewMgr.updateView();
+            Car car = shownCars.get(i);
+            CarAdapter adapter = carAdapters.get(car);
+            if (adapter != null && adapter.wasDrawnIn(frameNumber))
+            {
+                continue;
+            }
+            ImageView view = carViews.get(car);
+            if (view != null)
+            {
+                view.setVisible(false);
+            }
         }
+
+        List<Car> swap = shownCars;
+        shownCars = nextShownCars;
+        nextShownCars = swap;
+        nextShownCars.clear();
     }
 
     /**
-    * Creates a data bubble UI element for the specified car, displaying its position and speed.
+    * Recolours the signal light of a signal group the engine reported as changed.
     *
-    * @param car The car model object.
-    * @return A JavaFX Group representing the data bubble.
+    * @param group The changed signal group.
     */
-    private Group buildCarDataBubble(Car car)
+    private void onSignalChanged(SignalGroup group)
     {
-        Rectangle bubbleBg = new Rectangle(120, 50);
-        bubbleBg.setArcWidth(20);
-        bubbleBg.setArcHeight(20);
-        bubbleBg.setFill(Color.rgb(0, 0, 0, 0.6));
-        bubbleBg.setStroke(Color.WHITE);
-        bubbleBg.setStrokeWidth(1.5);
-
-        Polygon pointer = new Polygon();
-        pointer.getPoints().addAll(50.0, 50.0, 70.0, 50.0, 60.0, 60.0);
+        Road road = group.incomingRoad();
+        IntersectionView viewMgr = intersectionViewMgrs.get(road.to());
+        if (viewMgr instanceof SignalisedIntersectionView)
+        {
+            ((SignalisedIntersectionView) viewMgr).updateSignal(road, group.state());
+            ++signalsRecoloured;
+        }
+    }
 
-        pointer.setFill(Color.rgb(0, 0, 0, 0.7));
-        pointer.setStroke(Color.WHITE);
-        pointer.setStrokeWidth(1.5);
+    /**
+    * Fills in and commits the Flight Recorder event of the frame just refreshed,
+    * if a recording has it enabled.
+    *
+    * @param frameEvent The event begun before the refresh.
+    */
+    private void commitFrameEvent(RenderFrameEvent frameEvent)
+    {
+        frameEvent.end();
+        if (!frameEvent.shouldCommit())
+        {
+            return;
+        }
 
-        Text dataText = new Text("X: 0, Y: 0\nSpd: 0 mph");
-        dataText.setFill(Color.WHITE);
-        dataText.setTextAlignment(TextAlignment.CENTER);
-        dataText.setLayoutX(10);
-        dataText.setLayoutY(20);
-        carDataTexts.put(car, dataText);
+        frameEvent.snapshotSequence = lastFrameSequence;
+        frameEvent.newSnapshot = isLastFrameNew;
+        frameEvent.carsDrawn = carsDrawn;
+        frameEvent.signalsRecoloured = signalsRecoloured;
+        frameEvent.canvasMode = isCanvasMode;
+        frameEvent.levelOfDetail = levelOfDetail.name();
+        frameEvent.commit();
+    }
 
-        return new Group(bubbleBg, pointer, dataText);
+    /**
+    * Returns how far the current pulse is between the previous and the current
+    * snapshot, as a fraction of the interval between their publish times.
+    * Returns 1 (no interpolation) after a stall or pause longer than
+    * MAX_INTERPOLATION_GAP_NANOS.
+    *
+    * @param now The pulse time in nanoseconds.
+    * @return    The interpolation factor in [0, 1].
+    */
+    private double interpolationAlpha(long now)
+    {
+        long interval = currentPublishNanos - previousPublishNanos;
+        if (interval <= 0 || interval > MAX_INTERPOLATION_GAP_NANOS)
+        {
+            return 1.0;
+        }
+        double alpha = (double) (now - currentPublishNanos) / interval;
+        return Math.max(0.0, Math.min(1.0, alpha));
     }
 
     /**
@@ -341,54 +905,33 @@ public class SimulationRenderer
     public void setAllBubblesVisible(boolean visible)
     {
         this.areBubblesGloballyVisible = visible;
-        for (Map.Entry<Car, Group> entry : carDataBubbleViews.entrySet())
-        {
-            Car car = entry.getKey();
-            Group bubble = entry.getValue();
-            bubble.setVisible(visible && car.getShowDataBubble());
-        }
     }
 
     /**
-    * Creates and returns the ImageView for a car, including mouse event handlers.
+    * Sets how often data bubble text is refreshed. Bubble positions still follow
+    * their cars every frame.
+    *
+    * @param hz Refreshes per second; values of zero or less refresh every frame.
+    */
+    public void setBubbleTextRefreshHz(double hz)
+    {
+        bubbles.setTextRefreshHz(hz);
+    }
+
+    /**
+    * Creates and returns the ImageView for a car. Picking is handled by the renderer.
     *
     * @param car The car model object.
     * @return The ImageView representing the car.
     */
     private ImageView buildCarView(Car car)
     {
-        Image img = CarAssetManager.getNextCarImage();
-        ImageView view = new ImageView(img);
-        view.setFitWidth(40);
-        view.setFitHeight(20);
+        ImageView view = new ImageView(CarAssetManager.atlas().colourImage(carAdapters.get(car).colourIndex()));
+        view.setFitWidth(CAR_FIT_W_PX);
+        view.setFitHeight(CAR_FIT_H_PX);
         view.setPreserveRatio(true);
         view.setSmooth(true);
-
-        view.setOnMouseEntered(e ->
-        {
-            if (controller.getCurrentMode() == Mode.NORMAL)
-            {
-                view.setStyle("-fx-effect: dropshadow(gaussian, orange, 8, 0.5, 0, 0);");
-                view.getScene().setCursor(Cursor.HAND);
-            }
-        });
-
-        view.setOnMouseExited(e ->
-        {
-            view.setStyle("");
-            if (controller.getCurrentMode() == Mode.NORMAL)
-            {
-                view.getScene().setCursor(Cursor.DEFAULT);
-            }
-        });
-
-        view.setOnMouseClicked(e ->
-        {
-            if (controller.getCurrentMode() == Mode.NORMAL)
-            {
-                controller.selectForEditing(car);
-            }
-        });
+        view.setVisible(false); // until a frame finds it on screen
 
         return view;
     }
@@ -402,13 +945,12 @@ public class SimulationRenderer
     */
     private IntersectionView buildViewManager(Intersection intersection)
     {
-        Consumer<Intersection> editCallback = controller::selectForEditing;
         if (intersection instanceof SignalisedIntersection)
         {
-            return new SignalisedIntersectionView(intersection, editCallback, controller);
+            return new SignalisedIntersectionView(intersection);
         } else if (intersection instanceof Roundabout)
         {
-            return new RoundaboutView(intersection, editCallback, controller);
+            return new RoundaboutView(intersection);
         } else
         {
             throw new IllegalArgumentException("unknown intersection type");
@@ -459,17 +1001,14 @@ public class SimulationRenderer
     }
 
     /**
-    * Creates a group of tiled road images along the given road segment.
+    * Creates the road surface for the given road segment: a single rectangle
+    * filled with the repeating road tile, instead of one image node per tile.
     *
     * @param road The road model.
-    * @return A Group containing the tiled road images.
+    * @return A Rectangle covering the road between the two intersection buffers.
     */
-    private Group buildRoadTiles(Road road)
+    private Rectangle buildRoadSurface(Road road)
     {
-        Group tileGroup = new Group();
-        Image tileImg = new Image(
-                Objects.requireNonNull(getClass().getResourceAsStream("/trafficsim/assets/images/road_tile.png")));
-
         Vec2 from = road.from().position();
         Vec2 to = road.to().position();
 
@@ -483,73 +1022,57 @@ public class SimulationRenderer
         double length = Math.hypot(dx, dy);
 
         // Offset for intersection buffer
-        double ux = dx / length;
-        double uy = dy / length;
-        double startX = fromX + ROAD_ENDPOINT_OFFSET_PX * ux;
-        double startY = fromY + ROAD_ENDPOINT_OFFSET_PX * uy;
-        double endX = toX - ROAD_ENDPOINT_OFFSET_PX * ux;
-        double endY = toY - ROAD_ENDPOINT_OFFSET_PX * uy;
-        double usableLength = Math.hypot(endX - startX, endY - startY);
-
-        int nTiles = (int) Math.ceil(usableLength / ROAD_TILE_PX);
-
-        // double angleRad = Math.atan2(dy, dx);
-        double angleDeg = Math.toDegrees(Math.atan2(dy, dx));
-
-        for (int i = 0; i < nTiles; ++i)
+        double usableLength = Math.max(0.0, length - 2 * ROAD_ENDPOINT_OFFSET_PX);
+        double startX = fromX;
+        double startY = fromY;
+        if (length > 1e-6)
         {
-            double t = Math.min(1.0, (i + 0.5) * ROAD_TILE_PX / usableLength);
-            // t = Math.min(t, 1.0);
-
-            double px = startX + (endX - startX) * t;
-            double py = startY + (endY - startY) * t;
-
-            ImageView tile = new ImageView(tileImg);
-            tile.setFitWidth(ROAD_TILE_PX);
-            tile.setPreserveRatio(true);
-            tile.setSmooth(true);
-            // tile.setMouseTransparent(true);
-
-            double tileWidth = tile.getFitWidth();
-            double tileHeight = tile.getImage().getHeight() * (tileWidth / tile.getImage().getWidth());
-
-            // Center the tile
-            tile.setX(px - tileWidth / 2.0);
-            tile.setY(py - tileHeight / 2.0);
-            tile.setRotate(angleDeg);
-
-            tileGroup.getChildren().add(tile);
+            startX += ROAD_ENDPOINT_OFFSET_PX * dx / length;
+            startY += ROAD_ENDPOINT_OFFSET_PX * dy / length;
         }
 
-        DropShadow glow = new DropShadow(BlurType.GAUSSIAN, Color.ORANGE, 12, 0.7, 0, 0);
+        Image tileImg = TileAssetManager.roadTile();
+        double tileHeight = tileImg.getHeight() * (ROAD_TILE_PX / tileImg.getWidth());
 
-        tileGroup.setOnMouseEntered(e ->
-        {
-            if (controller.getCurrentMode() == Mode.NORMAL)
-            {
-                tileGroup.setEffect(glow);
-                roadPane.getScene().setCursor(Cursor.HAND);
-            }
-        });
+        // laid out along +x from the start point, then rotated about it
+        Rectangle surface = new Rectangle(startX, startY - tileHeight / 2.0, usableLength, tileHeight);
+        surface.setFill(new ImagePattern(tileImg, startX, startY - tileHeight / 2.0, ROAD_TILE_PX, tileHeight,
+                false));
+        surface.getTransforms().add(new Rotate(Math.toDegrees(Math.atan2(dy, dx)), startX, startY));
 
-        tileGroup.setOnMouseExited(e ->
-        {
-            if (controller.getCurrentMode() == Mode.NORMAL)
-            {
-                tileGroup.setEffect(null);
-                roadPane.getScene().setCursor(Cursor.DEFAULT);
-            }
-        });
+        return surface;
+    }
 
-        tileGroup.setOnMouseClicked(e ->
-        {
-            if (controller.getCurrentMode() == Mode.NORMAL)
-            {
-                controller.selectForEditing(road);
-            }
-        });
+    /**
+    * Returns how long the renderer's most recent frame update took on the FX thread.
+    *
+    * @return The duration in nanoseconds.
+    */
+    public long lastRefreshNanos()
+    {
+        return lastRefreshNanos;
+    }
 
-        return tileGroup;
+    /**
+    * Returns the number of nodes the renderer keeps in the scene graph: every
+    * road, intersection, car and signal node, plus the pooled data bubbles.
+    *
+    * @return The node count.
+    */
+    public int sceneNodeCount()
+    {
+        return roadPane.getChildren().size() + intersectionPane.getChildren().size()
+                + carPane.getChildren().size() + lightPane.getChildren().size() + bubbles.pooledCount();
+    }
+
+    /**
+    * Returns whether cars are currently drawn on the canvas layer instead of as nodes.
+    *
+    * @return True in canvas mode.
+    */
+    public boolean isCanvasMode()
+    {
+        return isCanvasMode;
     }
 
     /**
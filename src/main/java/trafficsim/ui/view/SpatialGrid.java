@@ -0,0 +1,237 @@
+/***************************************************************
+
+- File:        SpatialGrid.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Uniform grid index for picking items by screen position.
+
+- Description:
+- Buckets point items into square cells through a hash of the cell
+- coordinates, so the item nearest to a point is found by looking at
+- a few cells instead of every item. Backed by flat arrays that are
+- reused between rebuilds, so refilling it every frame allocates
+- nothing once it has grown to size. Single items can also be removed,
+- for indexes kept up to date across edits.
+
+***************************************************************/
+
+package trafficsim.ui.view;
+
+import java.util.Arrays;
+
+public final class SpatialGrid<T>
+{
+    private static final int EMPTY = -1;
+
+    private final double cellSize;
+
+    private int[] buckets;
+    private int mask;
+
+    private int size = 0;
+    private Object[] items;
+    private double[] xs;
+    private double[] ys;
+    private int[] next;
+
+    /**
+    * Constructs an empty grid.
+    *
+    * @param cellSize         The cell edge length, ideally about the usual pick radius.
+    * @param expectedCapacity The number of items expected, used to size the arrays.
+    */
+    public SpatialGrid(double cellSize, int expectedCapacity)
+    {
+        if (cellSize <= 0)
+        {
+            throw new IllegalArgumentException("cell size must be positive: " + cellSize);
+        }
+        this.cellSize = cellSize;
+
+        int capacity = Math.max(16, expectedCapacity);
+        this.items = new Object[capacity];
+        this.xs = new double[capacity];
+        this.ys = new double[capacity];
+        this.next = new int[capacity];
+        allocateBuckets(capacity);
+    }
+
+    /**
+    * Returns the number of items in the grid.
+    *
+    * @return The item count.
+    */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+    * Removes every item, keeping the arrays for reuse.
+    */
+    public void clear()
+    {
+        Arrays.fill(items, 0, size, null);
+        Arrays.fill(buckets, EMPTY);
+        size = 0;
+    }
+
+    /**
+    * Adds an item at the given position.
+    *
+    * @param item The item.
+    * @param x    The x coordinate.
+    * @param y    The y coordinate.
+    */
+    public void insert(T item, double x, double y)
+    {
+        if (size == items.length)
+        {
+            grow();
+        }
+
+        int i = size++;
+        items[i] = item;
+        xs[i] = x;
+        ys[i] = y;
+
+        int bucket = bucketOf(cellOf(x), cellOf(y));
+        next[i] = buckets[bucket];
+        buckets[bucket] = i;
+    }
+
+    /**
+    * Removes an item, given the position it was inserted at. The last item
+    * takes its place, so the arrays stay dense.
+    *
+    * @param item The item.
+    * @param x    The x coordinate it was inserted at.
+    * @param y    The y coordinate it was inserted at.
+    * @return     True if the item was found and removed.
+    */
+    public boolean remove(T item, double x, double y)
+    {
+        int i = buckets[bucketOf(cellOf(x), cellOf(y))];
+        while (i != EMPTY && items[i] != item)
+        {
+            i = next[i];
+        }
+        if (i == EMPTY)
+        {
+            return false;
+        }
+
+        unlink(i);
+        int last = --size;
+        if (i != last)
+        {
+            unlink(last);
+            items[i] = items[last];
+            xs[i] = xs[last];
+            ys[i] = ys[last];
+            int bucket = bucketOf(cellOf(xs[i]), cellOf(ys[i]));
+            next[i] = buckets[bucket];
+            buckets[bucket] = i;
+        }
+        items[last] = null;
+        return true;
+    }
+
+    /**
+    * Returns the item closest to the given position within maxDistance.
+    *
+    * @param x           The x coordinate.
+    * @param y           The y coordinate.
+    * @param maxDistance The largest distance that counts as a hit.
+    * @return            The nearest item, or null if none is close enough.
+    */
+    @SuppressWarnings("unchecked")
+    public T nearest(double x, double y, double maxDistance)
+    {
+        int minCx = cellOf(x - maxDistance);
+        int maxCx = cellOf(x + maxDistance);
+        int minCy = cellOf(y - maxDistance);
+        int maxCy = cellOf(y + maxDistance);
+
+        int best = EMPTY;
+        double bestDistSq = maxDistance * maxDistance;
+
+        for (int cy = minCy; cy <= maxCy; ++cy)
+        {
+            for (int cx = minCx; cx <= maxCx; ++cx)
+            {
+                for (int i = buckets[bucketOf(cx, cy)]; i != EMPTY; i = next[i])
+                {
+                    double dx = xs[i] - x;
+                    double dy = ys[i] - y;
+                    double distSq = dx * dx + dy * dy;
+                    if (distSq <= bestDistSq)
+                    {
+                        bestDistSq = distSq;
+                        best = i;
+                    }
+                }
+            }
+        }
+        return best != EMPTY ? (T) items[best] : null;
+    }
+
+    private int cellOf(double coordinate)
+    {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private int bucketOf(int cx, int cy)
+    {
+        int h = cx * 73856093 ^ cy * 19349663;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+    * Takes an item index out of its bucket's chain.
+    */
+    private void unlink(int i)
+    {
+        int bucket = bucketOf(cellOf(xs[i]), cellOf(ys[i]));
+        if (buckets[bucket] == i)
+        {
+            buckets[bucket] = next[i];
+            return;
+        }
+
+        int previous = buckets[bucket];
+        while (next[previous] != i)
+        {
+            previous = next[previous];
+        }
+        next[previous] = next[i];
+    }
+
+    private void allocateBuckets(int capacity)
+    {
+        int length = Integer.highestOneBit(capacity - 1) << 1;
+        buckets = new int[length];
+        mask = length - 1;
+        Arrays.fill(buckets, EMPTY);
+    }
+
+    /**
+    * Doubles the item arrays and rebuilds the bucket chains for the larger table.
+    */
+    private void grow()
+    {
+        int capacity = items.length * 2;
+        items = Arrays.copyOf(items, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        next = Arrays.copyOf(next, capacity);
+
+        allocateBuckets(capacity);
+        for (int i = 0; i < size; ++i)
+        {
+            int bucket = bucketOf(cellOf(xs[i]), cellOf(ys[i]));
+            next[i] = buckets[bucket];
+            buckets[bucket] = i;
+        }
+    }
+}
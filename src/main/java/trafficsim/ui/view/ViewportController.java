@@ -0,0 +1,260 @@
+/***************************************************************
+
+- File:        ViewportController.java
+- Date:        17 October 2026
+- Author:      Edmond Leaveck
+- Purpose:     Pan and zoom for the simulation display.
+
+- Description:
+- Applies one scale-and-translate transform to every content pane of
+- the simulation display, driven by the scroll wheel (zoom about the
+- cursor) and right or middle button drags (pan). Converts between
+- screen and content pixel coordinates, tells the renderer which
+- content area is on screen, and picks a level of detail from the
+- zoom so far-out views can use cheaper representations.
+
+***************************************************************/
+
+package trafficsim.ui.view;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.Pane;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Affine;
+
+public final class ViewportController
+{
+    /**
+    * How much detail the renderer draws at the current zoom.
+    * FULL draws everything, REDUCED drops car data bubbles, and DOTS draws
+    * cars as dots on the canvas, roads as lines, and no signal lights.
+    */
+    public enum LevelOfDetail {
+        FULL, REDUCED, DOTS
+    }
+
+    public static final double MIN_SCALE = 0.05;
+    public static final double MAX_SCALE = 4.0;
+    private static final double REDUCED_BELOW_SCALE = 0.6;
+    private static final double DOTS_BELOW_SCALE = 0.3;
+    private static final double ZOOM_STEP = 1.1;
+
+    private final Pane viewportPane;
+    private final List<Affine> transforms = new ArrayList<>();
+
+    private double scale = 1.0;
+    private double translateX = 0.0;
+    private double translateY = 0.0;
+
+    private double dragAnchorX;
+    private double dragAnchorY;
+
+    /**
+    * Constructs a ViewportController, clips the viewport pane to its bounds and
+    * installs the pan and zoom handlers on it.
+    *
+    * @param viewportPane The pane that receives mouse input and defines the visible area.
+    * @param contentPanes The panes whose content is panned and zoomed.
+    */
+    public ViewportController(Pane viewportPane, List<Pane> contentPanes)
+    {
+        this.viewportPane = viewportPane;
+
+        for (Pane pane : contentPanes)
+        {
+            Affine transform = new Affine();
+            pane.getTransforms().add(transform);
+            transforms.add(transform);
+        }
+
+        Rectangle clip = new Rectangle();
+        clip.widthProperty().bind(viewportPane.widthProperty());
+        clip.heightProperty().bind(viewportPane.heightProperty());
+        viewportPane.setClip(clip);
+
+        viewportPane.addEventHandler(ScrollEvent.SCROLL, this::handleScroll);
+        viewportPane.addEventFilter(MouseEvent.MOUSE_PRESSED, this::handlePress);
+        viewportPane.addEventFilter(MouseEvent.MOUSE_DRAGGED, this::handleDrag);
+    }
+
+    /**
+    * Returns the current zoom factor.
+    *
+    * @return Screen pixels per content pixel.
+    */
+    public double scale()
+    {
+        return scale;
+    }
+
+    /**
+    * Returns the level of detail for the current zoom.
+    *
+    * @return The LevelOfDetail.
+    */
+    public LevelOfDetail levelOfDetail()
+    {
+        if (scale < DOTS_BELOW_SCALE)
+        {
+            return LevelOfDetail.DOTS;
+        }
+        return scale < REDUCED_BELOW_SCALE ? LevelOfDetail.REDUCED : LevelOfDetail.FULL;
+    }
+
+    /**
+    * Converts a screen x coordinate, relative to the viewport pane, to content pixels.
+    *
+    * @param screenX The screen x coordinate.
+    * @return        The content x coordinate.
+    */
+    public double toContentX(double screenX)
+    {
+        return (screenX - translateX) / scale;
+    }
+
+    /**
+    * Converts a screen y coordinate, relative to the viewport pane, to content pixels.
+    *
+    * @param screenY The screen y coordinate.
+    * @return        The content y coordinate.
+    */
+    public double toContentY(double screenY)
+    {
+        return (screenY - translateY) / scale;
+    }
+
+    /**
+    * Converts a content x coordinate to a screen x coordinate relative to the viewport pane.
+    *
+    * @param contentX The content x coordinate.
+    * @return         The screen x coordinate.
+    */
+    public double toScreenX(double contentX)
+    {
+        return contentX * scale + translateX;
+    }
+
+    /**
+    * Converts a content y coordinate to a screen y coordinate relative to the viewport pane.
+    *
+    * @param contentY The content y coordinate.
+    * @return         The screen y coordinate.
+    */
+    public double toScreenY(double contentY)
+    {
+        return contentY * scale + translateY;
+    }
+
+    /**
+    * Checks whether a content point is on screen, or within a margin of it.
+    *
+    * @param contentX The content x coordinate.
+    * @param contentY The content y coordinate.
+    * @param marginPx The margin in content pixels, e.g. half the size of the item.
+    * @return         True if the point lies inside the visible area plus margin.
+    */
+    public boolean isVisible(double contentX, double contentY, double marginPx)
+    {
+        double screenX = toScreenX(contentX);
+        double screenY = toScreenY(contentY);
+        double marginScreen = marginPx * scale;
+        return screenX >= -marginScreen && screenY >= -marginScreen
+                && screenX <= viewportPane.getWidth() + marginScreen
+                && screenY <= viewportPane.getHeight() + marginScreen;
+    }
+
+    /**
+    * Returns the part of the content shown in the viewport, grown by a margin, for
+    * culling many points against the same view.
+    *
+    * @param marginPx The margin in content pixels.
+    * @return         The visible rectangle in content pixels.
+    */
+    public Bounds visibleContentBounds(double marginPx)
+    {
+        return new BoundingBox(toContentX(0) - marginPx, toContentY(0) - marginPx,
+                viewportPane.getWidth() / scale + 2 * marginPx, viewportPane.getHeight() / scale + 2 * marginPx);
+    }
+
+    /**
+    * Zooms by the given factor, keeping the content under the given screen point fixed.
+    *
+    * @param factor  The zoom factor; above 1 zooms in.
+    * @param screenX The screen x coordinate to zoom about.
+    * @param screenY The screen y coordinate to zoom about.
+    */
+    public void zoomAt(double factor, double screenX, double screenY)
+    {
+        double newScale = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale * factor));
+        double contentX = toContentX(screenX);
+        double contentY = toContentY(screenY);
+
+        scale = newScale;
+        translateX = screenX - contentX * scale;
+        translateY = screenY - contentY * scale;
+        applyTransforms();
+    }
+
+    /**
+    * Moves the view by the given screen distance.
+    *
+    * @param dx The horizontal distance in screen pixels.
+    * @param dy The vertical distance in screen pixels.
+    */
+    public void panBy(double dx, double dy)
+    {
+        translateX += dx;
+        translateY += dy;
+        applyTransforms();
+    }
+
+    private void applyTransforms()
+    {
+        for (Affine transform : transforms)
+        {
+            transform.setToTransform(scale, 0, translateX, 0, scale, translateY);
+        }
+    }
+
+    private void handleScroll(ScrollEvent event)
+    {
+        if (event.getDeltaY() == 0)
+        {
+            return;
+        }
+        zoomAt(event.getDeltaY() > 0 ? ZOOM_STEP : 1.0 / ZOOM_STEP, event.getX(), event.getY());
+        event.consume();
+    }
+
+    private void handlePress(MouseEvent event)
+    {
+        if (isPanButton(event.getButton()))
+        {
+            dragAnchorX = event.getX();
+            dragAnchorY = event.getY();
+            event.consume();
+        }
+    }
+
+    private void handleDrag(MouseEvent event)
+    {
+        if (isPanButton(event.getButton()))
+        {
+            panBy(event.getX() - dragAnchorX, event.getY() - dragAnchorY);
+            dragAnchorX = event.getX();
+            dragAnchorY = event.getY();
+            event.consume();
+        }
+    }
+
+    private static boolean isPanButton(MouseButton button)
+    {
+        return button == MouseButton.SECONDARY || button == MouseButton.MIDDLE;
+    }
+}
@@ -7,8 +7,8 @@
 
 - Description:
 - Defines the interface and shared logic for JavaFX visual
-- representations of intersections, including mouse interaction
-- handling and update hooks for subclasses.
+- representations of intersections, including the hover highlight
+- and update hooks for subclasses.
 
 ***************************************************************/
 
@@ -16,16 +16,12 @@ package trafficsim.ui.view.intersection;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Consumer;
-import javafx.scene.Cursor;
 import javafx.scene.Node;
 import javafx.scene.effect.BlurType;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.paint.Color;
 
 import trafficsim.core.model.Intersection;
-import trafficsim.ui.controller.MainController;
-import trafficsim.ui.controller.helpers.InteractionModeManager.Mode;
 
 public abstract class IntersectionView
 {
@@ -37,14 +33,11 @@ public abstract class IntersectionView
     /**
     * Constructs an IntersectionView for the given intersection model.
     *
-    * @param model        The intersection model to visualize.
-    * @param editAction   Callback to invoke when the intersection is selected for editing.
-    * @param controller   Reference to the main controller for interaction context.
+    * @param model The intersection model to visualize.
     */
-    public IntersectionView(Intersection model, Consumer<Intersection> editAction, MainController controller)
+    public IntersectionView(Intersection model)
     {
         this.model = model;
-
     }
 
     /**
@@ -59,53 +52,17 @@ public abstract class IntersectionView
     }
 
     /**
-    * Attaches mouse event handlers to the given node for interaction modes
-    * such as editing, road placement, and car placement.
+    * Shows or hides the hover highlight on the intersection's base nodes.
+    * Picking is done by the renderer, so the nodes carry no mouse handlers.
     *
-    * @param node        The JavaFX node to attach handlers to.
-    * @param editAction  Callback for edit selection.
-    * @param controller  Reference to the main controller for interaction context.
+    * @param highlighted True to highlight the intersection.
     */
-    protected void attachMouseHandlers(Node node, Consumer<Intersection> editAction, MainController controller)
+    public void setHighlighted(boolean highlighted)
     {
-        node.setOnMouseEntered(event ->
-        {
-            Mode mode = controller.getCurrentMode();
-            if (mode == Mode.NORMAL || mode == Mode.PLACING_ROAD || mode == Mode.PLACING_CAR)
-            {
-                node.setEffect((GLOW_EFFECT));
-                Cursor cursor = (mode == Mode.NORMAL) ? Cursor.HAND : Cursor.CROSSHAIR;
-                node.getScene().setCursor(cursor);
-            }
-        });
-
-        node.setOnMouseExited(event ->
-        {
-            node.setEffect(null);
-            if (controller.getCurrentMode() == Mode.NORMAL)
-            {
-                node.getScene().setCursor(Cursor.DEFAULT);
-            }
-        });
-
-        node.setOnMouseClicked(event ->
+        for (Node node : baseNodes)
         {
-            Mode mode = controller.getCurrentMode();
-            switch (mode) {
-            case NORMAL:
-                editAction.accept(model);
-                break;
-            case PLACING_ROAD:
-                controller.onIntersectionPickedForRoad(model);
-                break;
-            case PLACING_CAR:
-                controller.onIntersectionPickedForCar(model);
-                break;
-            default:
-                //ignoring
-            }
-            event.consume();
-        });
+            node.setEffect(highlighted ? GLOW_EFFECT : null);
+        }
     }
 
     /**
@@ -7,43 +7,35 @@
 
 - Description:
 - Provides the JavaFX visual representation for roundabout intersections,
-- including the roundabout image and user interaction handlers for editing
-- and selection.
+- including the roundabout image.
 
 ***************************************************************/
 
 package trafficsim.ui.view.intersection;
 
-import java.util.Objects;
-import java.util.function.Consumer;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 
 import trafficsim.core.model.Intersection;
-import trafficsim.ui.controller.MainController;
+import trafficsim.ui.adapter.TileAssetManager;
 
 public class RoundaboutView extends IntersectionView
 {
     /**
     * Constructs a RoundaboutView for the given intersection model.
-    * Initializes the roundabout image and sets up interaction handlers.
+    * Initializes the roundabout image.
     *
-    * @param model        The intersection model to visualize (should be a Roundabout).
-    * @param editAction   Callback to invoke when the intersection is selected for editing.
-    * @param controller   Reference to the main controller for interaction context.
+    * @param model The intersection model to visualize (should be a Roundabout).
     */
-    public RoundaboutView(Intersection model, Consumer<Intersection> editAction, MainController controller)
+    public RoundaboutView(Intersection model)
     {
-        super(model, editAction, controller);
+        super(model);
 
         double px = model.position().x * 10.0;
         double py = model.position().y * 10.0;
 
-        Image roundaboutImage = new Image(Objects
-                .requireNonNull(getClass().getResourceAsStream("/trafficsim/assets/images/roundabout_tile.png")));
-        ImageView roundaboutView = new ImageView(roundaboutImage);
+        ImageView roundaboutView = new ImageView(TileAssetManager.roundaboutTile());
 
-        double imageSize = 140.0;
+        double imageSize = TileAssetManager.INTERSECTION_TILE_PX;
         roundaboutView.setFitWidth(imageSize);
         roundaboutView.setFitHeight(imageSize);
         roundaboutView.setX(px - imageSize / 2.0);
@@ -52,7 +44,6 @@ public class RoundaboutView extends IntersectionView
         roundaboutView.setSmooth(true);
 
         baseNodes.add(roundaboutView);
-        attachMouseHandlers(roundaboutView, editAction, controller);
     }
 
     /**
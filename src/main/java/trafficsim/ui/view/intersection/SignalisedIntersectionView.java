@@ -8,32 +8,30 @@
 - Description:
 - Provides the JavaFX visual representation for intersections with
 - traffic lights, including the intersection image and per-road
-- signal indicators. Handles updates to signal states and user
-- interaction for editing and selection.
+- signal indicators. Handles updates to signal states. Signal circles
+- are recoloured one at a time as the engine reports changes, not
+- every frame.
 
 ***************************************************************/
 
 package trafficsim.ui.view.intersection;
 
-import java.util.function.Consumer;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
 
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
 import javafx.scene.Node;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Pane;
 
 import trafficsim.core.model.Intersection;
-import trafficsim.ui.controller.MainController;
 import trafficsim.core.model.Road;
 import trafficsim.core.model.SignalGroup;
 import trafficsim.core.model.SignalisedIntersection;
 import trafficsim.core.model.TrafficLightState;
 import trafficsim.core.model.Vec2;
+import trafficsim.ui.adapter.TileAssetManager;
 
 public class SignalisedIntersectionView extends IntersectionView
 {
@@ -47,23 +45,19 @@ public class SignalisedIntersectionView extends IntersectionView
     * Constructs a SignalisedIntersectionView for the given intersection model.
     * Initializes the intersection image and prepares the view for signal light rendering.
     *
-    * @param model        The intersection model to visualize (must be SignalisedIntersection).
-    * @param editAction   Callback to invoke when the intersection is selected for editing.
-    * @param controller   Reference to the main controller for interaction context.
+    * @param model The intersection model to visualize (must be SignalisedIntersection).
     */
-    public SignalisedIntersectionView(Intersection model, Consumer<Intersection> editAction, MainController controller)
+    public SignalisedIntersectionView(Intersection model)
     {
-        super(model, editAction, controller);
+        super(model);
         this.sigModel = (SignalisedIntersection) model;
 
         double px = model.position().x * 10.0;
         double py = model.position().y * 10.0;
 
-        Image intersectionImage = new Image(Objects
-                .requireNonNull(getClass().getResourceAsStream("/trafficsim/assets/images/intersection_tile.png")));
-        ImageView intersectionView = new ImageView(intersectionImage);
+        ImageView intersectionView = new ImageView(TileAssetManager.intersectionTile());
 
-        double imageSize = 140;
+        double imageSize = TileAssetManager.INTERSECTION_TILE_PX;
         intersectionView.setFitWidth(imageSize);
         intersectionView.setFitHeight(imageSize);
         intersectionView.setX(px - imageSize / 2.0);
@@ -72,20 +66,16 @@ public class SignalisedIntersectionView extends IntersectionView
         intersectionView.setSmooth(true);
 
         baseNodes.add(intersectionView);
-
-        baseNodes.forEach(node -> attachMouseHandlers(node, editAction, controller));
     }
 
     /**
     * Creates a signal light UI element for a specific incoming road at this intersection.
     * Positions the signal indicator based on the road's direction.
     *
-    * @param road         The incoming road for which to create the signal.
-    * @param editAction   Callback for edit selection.
-    * @param controller   Reference to the main controller for interaction context.
-    * @return             The JavaFX Node representing the signal light.
+    * @param road The incoming road for which to create the signal.
+    * @return     The JavaFX Node representing the signal light.
     */
-    public Node createSignalForRoad(Road road, Consumer<Intersection> editAction, MainController controller)
+    public Node createSignalForRoad(Road road)
     {
         Vec2 roadOriginPos = road.from().position();
         Vec2 intersectionCenterPos = model.position();
@@ -101,12 +91,10 @@ public class SignalisedIntersectionView extends IntersectionView
 
         Circle signalCircle = new Circle(lightX, lightY, SIGNAL_RADIUS_PX);
         signalCircle.setStroke(Color.BLACK);
-        signalCircle.setFill(Color.DARKSLATEGRAY);
+        updateCircleColor(signalCircle, sigModel.getSignalStateFor(road));
 
         signalViews.put(road, signalCircle);
 
-        attachMouseHandlers(signalCircle, editAction, controller);
-
         return signalCircle;
     }
 
@@ -125,9 +113,25 @@ public class SignalisedIntersectionView extends IntersectionView
         }
     }
 
+    /**
+    * Updates the signal light for one incoming road, e.g. after the engine
+    * reported that its signal group changed.
+    *
+    * @param road  The incoming road whose signal changed.
+    * @param state The new state.
+    */
+    public void updateSignal(Road road, TrafficLightState state)
+    {
+        Circle circle = signalViews.get(road);
+        if (circle != null)
+        {
+            updateCircleColor(circle, state);
+        }
+    }
+
     /**
     * Updates the visual state of all signal lights to match the current model state.
-    * Should be called on each frame or when the signal state changes.
+    * Individual changes are applied through updateSignal; this re-applies every light.
     */
     @Override
     public void updateView()
@@ -0,0 +1,155 @@
+package trafficsim.core.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class RoadTest
+{
+    private static final double LENGTH = 1_000.0;
+
+    private final RoadNetwork net = new RoadNetwork();
+    private final Road road = new Road(new Roundabout(0, 0, 10), new Roundabout(LENGTH, 0, 10), LENGTH, 10);
+    private final Random rng = new Random(42);
+
+    @Test
+    public void carsAreOrderedFrontToBack()
+    {
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < 50; ++i)
+        {
+            cars.add(attach(road, rng.nextDouble() * LENGTH));
+        }
+        assertLaneOrder(road, cars);
+    }
+
+    @Test
+    public void orderSurvivesMixedArrivalsAndDepartures()
+    {
+        List<Car> cars = new ArrayList<>();
+        for (int round = 0; round < 2_000; ++round)
+        {
+            if (!cars.isEmpty() && rng.nextInt(3) == 0)
+            {
+                cars.remove(rng.nextInt(cars.size())).detach();
+            } else
+            {
+                cars.add(attach(road, rng.nextDouble() * LENGTH));
+            }
+            assertLaneOrder(road, cars);
+        }
+    }
+
+    @Test
+    public void orderSurvivesManyWrapsOfTheRing()
+    {
+        List<Car> cars = new ArrayList<>();
+        double back = LENGTH;
+        for (int i = 0; i < 5; ++i)
+        {
+            cars.add(attach(road, back -= 1.0));
+        }
+        for (int round = 0; round < 500; ++round)
+        {
+            sortFrontToBack(cars);
+            cars.remove(0).detach(); // the front car leaves
+            cars.add(attach(road, back -= 1.0)); // a new car joins at the back
+            assertLaneOrder(road, cars);
+        }
+    }
+
+    @Test
+    public void carsMovingBetweenRoadsLeaveBothInOrder()
+    {
+        Road other = new Road(new Roundabout(LENGTH, 0, 10), new Roundabout(LENGTH, LENGTH, 10), LENGTH, 10);
+        List<Car> onRoad = new ArrayList<>();
+        List<Car> onOther = new ArrayList<>();
+        for (int i = 0; i < 40; ++i)
+        {
+            onRoad.add(attach(road, rng.nextDouble() * LENGTH));
+        }
+        for (int i = 0; i < 20; ++i)
+        {
+            Car car = onRoad.remove(rng.nextInt(onRoad.size()));
+            car.attachTo(other, rng.nextDouble() * LENGTH);
+            onOther.add(car);
+        }
+        assertLaneOrder(road, onRoad);
+        assertLaneOrder(other, onOther);
+    }
+
+    @Test
+    public void updateRestoresOrderAfterCarsOvertake()
+    {
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < 30; ++i)
+        {
+            cars.add(attach(road, rng.nextDouble() * LENGTH));
+        }
+        for (Car car : cars)
+        {
+            // a move along the same road changes the offset without reindexing
+            car.attachTo(road, rng.nextDouble() * LENGTH);
+        }
+        road.update(0.1);
+        assertLaneOrder(road, cars);
+    }
+
+    @Test
+    public void emptyRoadHasNoNeighbours()
+    {
+        Car car = attach(road, 10.0);
+        assertNull(road.leaderOf(car));
+        assertNull(road.followerOf(car));
+        car.detach();
+        assertEquals(0, road.carCount());
+        assertNull(road.leaderOf(car));
+        assertNull(road.followerOf(car));
+    }
+
+    private Car attach(Road target, double offset)
+    {
+        Car car = new Car(net, 30.0, 2.0, rng.nextLong());
+        car.attachTo(target, offset);
+        return car;
+    }
+
+    private static void sortFrontToBack(List<Car> cars)
+    {
+        cars.sort(Comparator.comparingDouble(Car::distanceAlongRoad).reversed());
+    }
+
+    private static void assertLaneOrder(Road road, List<Car> cars)
+    {
+        assertEquals(cars.size(), road.carCount());
+        if (cars.isEmpty())
+        {
+            return;
+        }
+
+        Car front = cars.get(0);
+        while (road.leaderOf(front) != null)
+        {
+            front = road.leaderOf(front);
+        }
+
+        int seen = 1;
+        Car car = front;
+        for (Car next = road.followerOf(car); next != null; next = road.followerOf(car))
+        {
+            assertTrue(next.distanceAlongRoad() <= car.distanceAlongRoad(), "follower ahead of its leader");
+            assertSame(car, road.leaderOf(next));
+            car = next;
+            ++seen;
+        }
+        assertEquals(cars.size(), seen);
+    }
+}
@@ -0,0 +1,126 @@
+package trafficsim.core.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class VehicleStoreTest
+{
+    private static final double LENGTH = 1_000.0;
+
+    private final RoadNetwork net = new RoadNetwork();
+    private final Road road = new Road(new Roundabout(0, 0, 10), new Roundabout(LENGTH, 0, 10), LENGTH, 10);
+    private final VehicleStore store = new VehicleStore(net);
+    private final Random rng = new Random(7);
+
+    @Test
+    public void commitRestoresOrderWhenSeveralCarsOvertake()
+    {
+        // slots in the order B, A, J; lane order A(8), J(7), B(5)
+        Car b = add(road, 5.0);
+        Car a = add(road, 8.0);
+        Car j = add(road, 7.0);
+        store.computeRange(0, store.size(), 0.0);
+
+        // lane order is now A(3), J(9), B(5), and B's slot is visited first
+        store.setNextOffset(a, 3.0);
+        store.setNextOffset(j, 9.0);
+        store.setNextOffset(b, 5.0);
+        store.commit();
+
+        assertNull(store.leaderOf(j));
+        assertSame(j, store.leaderOf(b));
+        assertSame(b, store.leaderOf(a));
+    }
+
+    @Test
+    public void commitRestoresOrderAfterRandomMoves()
+    {
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < 60; ++i)
+        {
+            cars.add(add(road, rng.nextDouble() * LENGTH));
+        }
+
+        for (int round = 0; round < 50; ++round)
+        {
+            store.computeRange(0, store.size(), 0.0);
+            Map<Car, Double> offsets = new HashMap<>();
+            for (Car car : cars)
+            {
+                double offset = rng.nextDouble() * LENGTH;
+                store.setNextOffset(car, offset);
+                offsets.put(car, offset);
+            }
+            store.commit();
+
+            List<Car> expected = new ArrayList<>(cars);
+            expected.sort(Comparator.comparingDouble((Car car) -> offsets.get(car)).reversed());
+            assertNull(store.leaderOf(expected.get(0)));
+            for (int i = 1; i < expected.size(); ++i)
+            {
+                assertSame(expected.get(i - 1), store.leaderOf(expected.get(i)));
+            }
+        }
+    }
+
+    @Test
+    public void removedCarReportsDetachedState()
+    {
+        Car car = add(road, 100.0);
+        store.remove(car);
+
+        assertEquals(0.0, store.velocityOf(car));
+        assertEquals(0.0, store.headingOf(car));
+        Vec2 position = store.worldPosOf(car);
+        assertEquals(0.0, position.x);
+        assertEquals(0.0, position.y);
+        assertEquals(0.0, car.getVelocity());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void unregisteredRoadReleasesItsCarsAndIndex()
+    {
+        Road other = new Road(new Roundabout(LENGTH, 0, 10), new Roundabout(LENGTH, LENGTH, 10), LENGTH, 10);
+        Car onRoad = add(road, 200.0);
+        Car back = add(other, 100.0);
+        Car front = add(other, 300.0);
+
+        store.unregisterRoad(road);
+
+        assertEquals(-1, road.storeId);
+        assertEquals(0, other.storeId);
+        assertEquals(0.0, store.velocityOf(onRoad));
+        assertNull(store.leaderOf(onRoad));
+        assertSame(front, store.leaderOf(back));
+
+        Vec2 expected = CarDynamics.worldPosition(other, 300.0);
+        Vec2 actual = store.worldPosOf(front);
+        assertEquals(expected.x, actual.x, 1e-9);
+        assertEquals(expected.y, actual.y, 1e-9);
+
+        store.resetAll();
+        store.computeRange(0, store.size(), 0.1);
+        store.commit();
+        assertSame(front, store.leaderOf(back));
+        assertEquals(0.0, store.worldPosOf(onRoad).x);
+        assertEquals(0.0, store.worldPosOf(onRoad).y);
+    }
+
+    private Car add(Road target, double offset)
+    {
+        Car car = new Car(net, 30.0, 2.0, rng.nextLong());
+        store.add(car, target, offset);
+        return car;
+    }
+}
@@ -0,0 +1,191 @@
+package trafficsim.core.sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import trafficsim.core.events.SimulationEvent;
+
+public class EventRingTest
+{
+    private static final class Numbered implements SimulationEvent
+    {
+        private final int producer;
+        private final int number;
+
+        private Numbered(int producer, int number)
+        {
+            this.producer = producer;
+            this.number = number;
+        }
+    }
+
+    @Test
+    public void capacityIsRoundedUpToPowerOfTwo()
+    {
+        assertEquals(1, new EventRing(1).capacity());
+        assertEquals(8, new EventRing(5).capacity());
+        assertEquals(64, new EventRing(64).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new EventRing(0));
+    }
+
+    @Test
+    public void manyProducersLoseNothingAndKeepTheirOwnOrder() throws InterruptedException
+    {
+        final int producers = 4;
+        final int perProducer = 50_000;
+        EventRing ring = new EventRing(256);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; ++p)
+        {
+            final int producer = p;
+            Thread thread = new Thread(() ->
+            {
+                awaitQuietly(start);
+                for (int n = 0; n < perProducer; ++n)
+                {
+                    if (n % 2 == 0)
+                    {
+                        ring.put(new Numbered(producer, n));
+                    } else
+                    {
+                        ring.publish(ring.claim(), new Numbered(producer, n));
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+
+        int[] next = new int[producers];
+        int[] received = new int[1];
+        start.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (received[0] < producers * perProducer)
+        {
+            assertTrue(System.nanoTime() < deadline, "timed out after " + received[0] + " events");
+            ring.drain(event ->
+            {
+                Numbered numbered = (Numbered) event;
+                assertEquals(next[numbered.producer], numbered.number, "out of order for producer " + numbered.producer);
+                ++next[numbered.producer];
+                ++received[0];
+            });
+        }
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        for (int p = 0; p < producers; ++p)
+        {
+            assertEquals(perProducer, next[p]);
+        }
+        assertEquals(0, ring.drain(event -> { }));
+        assertEquals(0, ring.size());
+    }
+
+    @Test
+    public void fullRingRejectsOffersUntilDrained()
+    {
+        EventRing ring = new EventRing(4);
+        for (int n = 0; n < 4; ++n)
+        {
+            assertTrue(ring.offer(new Numbered(0, n)));
+        }
+        assertEquals(4, ring.size());
+        assertFalse(ring.offer(new Numbered(0, 4)));
+        assertEquals(-1, ring.tryClaim());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(4, ring.drain(event -> drained.add(((Numbered) event).number)));
+        assertEquals(List.of(0, 1, 2, 3), drained);
+
+        assertTrue(ring.offer(new Numbered(0, 4)));
+        assertEquals(1, ring.size());
+    }
+
+    @Test
+    public void putWaitsForRoomOnAFullRing() throws InterruptedException
+    {
+        EventRing ring = new EventRing(2);
+        ring.put(new Numbered(0, 0));
+        ring.put(new Numbered(0, 1));
+
+        AtomicBoolean done = new AtomicBoolean(false);
+        Thread producer = new Thread(() ->
+        {
+            ring.put(new Numbered(0, 2));
+            done.set(true);
+        });
+        producer.start();
+        Thread.sleep(50);
+        assertFalse(done.get());
+
+        List<Integer> drained = new ArrayList<>();
+        ring.drain(event -> drained.add(((Numbered) event).number));
+        producer.join(5_000);
+        assertTrue(done.get());
+
+        ring.drain(event -> drained.add(((Numbered) event).number));
+        assertEquals(List.of(0, 1, 2), drained);
+    }
+
+    @Test
+    public void unpublishedClaimHoldsBackLaterEvents()
+    {
+        EventRing ring = new EventRing(8);
+        long reserved = ring.claim();
+        assertTrue(ring.offer(new Numbered(0, 1)));
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(0, ring.drain(event -> drained.add(((Numbered) event).number)));
+        assertEquals(2, ring.size());
+
+        ring.publish(reserved, new Numbered(0, 0));
+        assertEquals(2, ring.drain(event -> drained.add(((Numbered) event).number)));
+        assertEquals(List.of(0, 1), drained);
+    }
+
+    @Test
+    public void slotsAreReusedAcrossManyWraps()
+    {
+        EventRing ring = new EventRing(4);
+        int[] expected = { 0 };
+        for (int round = 0; round < 1_000; ++round)
+        {
+            for (int n = 0; n < 3; ++n)
+            {
+                assertTrue(ring.offer(new Numbered(0, round * 3 + n)));
+            }
+            ring.drain(event ->
+            {
+                assertEquals(expected[0], ((Numbered) event).number);
+                ++expected[0];
+            });
+        }
+        assertEquals(3_000, expected[0]);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch)
+    {
+        try
+        {
+            latch.await();
+        } catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
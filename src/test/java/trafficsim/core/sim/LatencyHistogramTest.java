@@ -0,0 +1,114 @@
+package trafficsim.core.sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest
+{
+    @Test
+    public void emptyHistogramReportsZero()
+    {
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram().snapshot();
+        assertEquals(0, snapshot.count());
+        assertEquals(0.0, snapshot.meanNanos());
+        assertEquals(0, snapshot.valueAtPercentile(99));
+        assertEquals(0, snapshot.maxNanos());
+    }
+
+    @Test
+    public void smallValuesAreExact()
+    {
+        for (long value = 0; value < 32; ++value)
+        {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(value);
+            assertEquals(value, histogram.snapshot().maxNanos());
+        }
+    }
+
+    @Test
+    public void bucketBoundsStayWithinOneThirtySecond()
+    {
+        long[] values = { 32, 33, 63, 64, 65, 100, 1_000, 4_095, 4_096, 123_456, 16_666_667,
+                1_000_000_000L, LatencyHistogram.MAX_TRACKABLE_NANOS };
+        for (long value : values)
+        {
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(value);
+            long bound = histogram.snapshot().maxNanos();
+            assertTrue(bound >= value, value + " reported as " + bound);
+            assertTrue(bound - value <= value / 32, value + " reported as " + bound);
+        }
+    }
+
+    @Test
+    public void valuesBelowAPowerOfTwoEndTheirBucket()
+    {
+        for (int exponent = 5; exponent < 41; ++exponent)
+        {
+            long power = 1L << exponent;
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.record(power - 1);
+            assertEquals(power - 1, histogram.snapshot().maxNanos());
+        }
+    }
+
+    @Test
+    public void outOfRangeValuesAreClamped()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(2, snapshot.count());
+        assertEquals(0, snapshot.valueAtPercentile(50));
+        assertEquals(LatencyHistogram.MAX_TRACKABLE_NANOS, snapshot.maxNanos());
+    }
+
+    @Test
+    public void percentilesFollowTheRecordedValues()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1_000; ++value)
+        {
+            histogram.record(value * 1_000);
+        }
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(1_000, snapshot.count());
+        assertEquals(500_500.0, snapshot.meanNanos());
+        assertWithinBucket(1_000, snapshot.valueAtPercentile(0));
+        assertWithinBucket(500_000, snapshot.valueAtPercentile(50));
+        assertWithinBucket(990_000, snapshot.valueAtPercentile(99));
+        assertWithinBucket(1_000_000, snapshot.valueAtPercentile(100));
+        assertEquals(snapshot.valueAtPercentile(100), snapshot.maxNanos());
+    }
+
+    @Test
+    public void minusKeepsOnlyLaterValues()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 100; ++i)
+        {
+            histogram.record(10);
+        }
+        LatencyHistogram.Snapshot earlier = histogram.snapshot();
+        histogram.record(20);
+        histogram.record(30);
+
+        LatencyHistogram.Snapshot interval = histogram.snapshot().minus(earlier);
+        assertEquals(2, interval.count());
+        assertEquals(25.0, interval.meanNanos());
+        assertEquals(20, interval.valueAtPercentile(50));
+        assertEquals(30, interval.maxNanos());
+    }
+
+    private static void assertWithinBucket(long expected, long reported)
+    {
+        assertTrue(reported >= expected && reported - expected <= expected / 32,
+                "expected about " + expected + " but was " + reported);
+    }
+}
@@ -0,0 +1,77 @@
+package trafficsim.core.sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import trafficsim.core.events.AddIntersectionEvent;
+import trafficsim.core.events.DeleteItemEvent;
+import trafficsim.core.model.Roundabout;
+
+public class SimulationEngineTest
+{
+    private static final int QUEUE_CAPACITY = 8;
+
+    @Test
+    public void blockingPostFromSteppingThreadAppliesQueueInline()
+    {
+        SimulationEngine engine = manualEngine();
+        engine.step(1);
+
+        for (int i = 0; i < 100; ++i)
+        {
+            assertTrue(engine.postEvent(new AddIntersectionEvent(new Roundabout(i, 0, 10))));
+        }
+        engine.step(1);
+
+        assertEquals(100, engine.metrics().intersectionCount());
+        assertEquals(0, engine.getDroppedEventCount());
+        engine.shutdown();
+    }
+
+    @Test
+    public void blockingPostBeforeFirstStepFailsWhenFull()
+    {
+        SimulationEngine engine = manualEngine();
+        for (int i = 0; i < QUEUE_CAPACITY; ++i)
+        {
+            assertTrue(engine.postEvent(new AddIntersectionEvent(new Roundabout(i, 0, 10))));
+        }
+
+        assertThrows(IllegalStateException.class,
+                () -> engine.postEvent(new AddIntersectionEvent(new Roundabout(-1, 0, 10))));
+        engine.shutdown();
+    }
+
+    @Test
+    public void blockingPostDuringTickFailsWhenFull()
+    {
+        SimulationEngine engine = manualEngine();
+        engine.step(1);
+
+        Roundabout deleted = new Roundabout(0, 0, 10);
+        engine.postEvent(new AddIntersectionEvent(deleted));
+        engine.postEvent(new DeleteItemEvent(deleted, () ->
+        {
+            for (int i = 0; i <= QUEUE_CAPACITY; ++i)
+            {
+                engine.postEvent(new AddIntersectionEvent(new Roundabout(i, 0, 10)));
+            }
+        }));
+
+        assertThrows(IllegalStateException.class, () -> engine.step(1));
+        engine.shutdown();
+    }
+
+    private static SimulationEngine manualEngine()
+    {
+        EngineConfig config = new EngineConfig();
+        config.setClockMode(SimulationEngine.ClockMode.MANUAL);
+        config.setCallbackExecutor(Runnable::run);
+        config.setEventQueueCapacity(QUEUE_CAPACITY);
+        config.setOverflowPolicy(SimulationEngine.OverflowPolicy.BLOCK);
+        return new SimulationEngine(config);
+    }
+}
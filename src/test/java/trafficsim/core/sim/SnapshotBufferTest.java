@@ -0,0 +1,128 @@
+package trafficsim.core.sim;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class SnapshotBufferTest
+{
+    private static final int CARS = 16;
+
+    @Test
+    public void latestIsEmptyBeforeAnyPublish()
+    {
+        SnapshotBuffer buffer = new SnapshotBuffer();
+        assertEquals(0, buffer.latest().sequence());
+        assertEquals(0, buffer.latest().size());
+    }
+
+    @Test
+    public void latestReturnsNewestPublishedFrame()
+    {
+        SnapshotBuffer buffer = new SnapshotBuffer();
+        fill(buffer.back(), 1);
+        buffer.publish();
+        fill(buffer.back(), 2);
+        buffer.publish();
+
+        FrameSnapshot latest = buffer.latest();
+        assertEquals(2, latest.sequence());
+        assertEquals(2.0, latest.x(CARS - 1));
+        assertSame(latest, buffer.latest());
+    }
+
+    @Test
+    public void writerNeverFillsTheReadersFrame()
+    {
+        SnapshotBuffer buffer = new SnapshotBuffer();
+        for (long sequence = 1; sequence <= 100; ++sequence)
+        {
+            FrameSnapshot held = buffer.latest();
+            long heldSequence = held.sequence();
+
+            for (int i = 0; i < (int) (sequence % 4); ++i)
+            {
+                assertNotSame(held, buffer.back());
+                fill(buffer.back(), sequence);
+                buffer.publish();
+            }
+
+            assertEquals(heldSequence, held.sequence());
+            assertFrameConsistent(held);
+        }
+    }
+
+    @Test
+    public void concurrentReaderSeesWholeFramesInOrder() throws InterruptedException
+    {
+        SnapshotBuffer buffer = new SnapshotBuffer();
+        AtomicBoolean stop = new AtomicBoolean(false);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread writer = new Thread(() ->
+        {
+            long sequence = 0;
+            while (!stop.get())
+            {
+                fill(buffer.back(), ++sequence);
+                buffer.publish();
+            }
+        });
+        writer.start();
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+        long lastSequence = 0;
+        try
+        {
+            while (System.nanoTime() < deadline)
+            {
+                FrameSnapshot frame = buffer.latest();
+                assertTrue(frame.sequence() >= lastSequence, "sequence went backwards");
+                lastSequence = frame.sequence();
+                assertFrameConsistent(frame);
+            }
+        } catch (Throwable t)
+        {
+            failure.set(t);
+        } finally
+        {
+            stop.set(true);
+            writer.join();
+        }
+
+        if (failure.get() != null)
+        {
+            throw new AssertionError(failure.get());
+        }
+        assertTrue(lastSequence > 0);
+    }
+
+    private static void fill(FrameSnapshot frame, long sequence)
+    {
+        frame.ensureCapacity(CARS);
+        for (int i = 0; i < CARS; ++i)
+        {
+            frame.x[i] = sequence;
+            frame.y[i] = -sequence;
+        }
+        frame.finish(CARS, sequence, sequence, 0);
+    }
+
+    private static void assertFrameConsistent(FrameSnapshot frame)
+    {
+        long sequence = frame.sequence();
+        for (int i = 0; i < frame.size(); ++i)
+        {
+            assertEquals(sequence, frame.x(i), "torn frame");
+            assertEquals(-sequence, frame.y(i), "torn frame");
+        }
+        assertEquals(sequence, frame.sequence(), "frame changed while held");
+    }
+}
@@ -0,0 +1,121 @@
+package trafficsim.ui.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class SegmentGridTest
+{
+    private static final double EXTENT = 2_000.0;
+    private static final double PICK_RADIUS = 6.0;
+
+    private final Random rng = new Random(11);
+
+    @Test
+    public void longDiagonalIsFoundAlongItsWholeLength()
+    {
+        SegmentGrid<String> grid = new SegmentGrid<>(32.0);
+        grid.insert("diagonal", -500.0, -300.0, 1_700.0, 1_900.0);
+
+        for (double t = 0.0; t <= 1.0; t += 0.01)
+        {
+            double x = -500.0 + t * 2_200.0;
+            double y = -300.0 + t * 2_200.0;
+            assertEquals("diagonal", grid.nearest(x + 3.0, y - 3.0, PICK_RADIUS));
+        }
+        assertNull(grid.nearest(0.0, 1_000.0, PICK_RADIUS));
+    }
+
+    @Test
+    public void nearestMatchesBruteForceAcrossEdits()
+    {
+        SegmentGrid<Integer> grid = new SegmentGrid<>(40.0);
+        Map<Integer, double[]> segments = new HashMap<>();
+
+        for (int round = 0; round < 400; ++round)
+        {
+            int item = rng.nextInt(150);
+            if (segments.containsKey(item) && rng.nextBoolean())
+            {
+                grid.remove(item);
+                segments.remove(item);
+            } else
+            {
+                double[] segment = { coordinate(), coordinate(), coordinate(), coordinate() };
+                grid.insert(item, segment[0], segment[1], segment[2], segment[3]);
+                segments.put(item, segment);
+            }
+        }
+        assertEquals(segments.size(), grid.size());
+
+        for (int probe = 0; probe < 2_000; ++probe)
+        {
+            double x = coordinate();
+            double y = coordinate();
+            double radius = 1.0 + rng.nextDouble() * 60.0;
+            Integer expected = bruteForceNearest(segments, x, y, radius);
+            Integer actual = grid.nearest(x, y, radius);
+            if (expected == null)
+            {
+                assertNull(actual);
+            } else
+            {
+                double[] e = segments.get(expected);
+                double[] a = segments.get(actual);
+                assertEquals(distanceSquared(e, x, y), distanceSquared(a, x, y), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void clearEmptiesTheGrid()
+    {
+        SegmentGrid<String> grid = new SegmentGrid<>(10.0);
+        grid.insert("road", 0.0, 0.0, 500.0, 20.0);
+        grid.clear();
+        assertEquals(0, grid.size());
+        assertNull(grid.nearest(250.0, 10.0, PICK_RADIUS));
+
+        grid.insert("road", 0.0, 0.0, 0.0, 500.0);
+        assertSame("road", grid.nearest(2.0, 250.0, PICK_RADIUS));
+    }
+
+    private double coordinate()
+    {
+        return (rng.nextDouble() - 0.5) * EXTENT;
+    }
+
+    private static Integer bruteForceNearest(Map<Integer, double[]> segments, double x, double y, double radius)
+    {
+        Integer best = null;
+        double bestDistSq = radius * radius;
+        for (Map.Entry<Integer, double[]> entry : segments.entrySet())
+        {
+            double distSq = distanceSquared(entry.getValue(), x, y);
+            if (distSq <= bestDistSq)
+            {
+                bestDistSq = distSq;
+                best = entry.getKey();
+            }
+        }
+        return best;
+    }
+
+    private static double distanceSquared(double[] s, double x, double y)
+    {
+        double dx = s[2] - s[0];
+        double dy = s[3] - s[1];
+        double lengthSq = dx * dx + dy * dy;
+        double t = lengthSq > 0 ? ((x - s[0]) * dx + (y - s[1]) * dy) / lengthSq : 0;
+        t = Math.max(0, Math.min(1, t));
+        double px = s[0] + t * dx - x;
+        double py = s[1] + t * dy - y;
+        return px * px + py * py;
+    }
+}
@@ -0,0 +1,68 @@
+package trafficsim.ui.view;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class SpatialGridTest
+{
+    private static final class Point
+    {
+        private final double x;
+        private final double y;
+
+        private Point(double x, double y)
+        {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    @Test
+    public void removedItemsAreNoLongerFound()
+    {
+        Random rng = new Random(3);
+        SpatialGrid<Point> grid = new SpatialGrid<>(20.0, 16);
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < 300; ++i)
+        {
+            Point point = new Point(rng.nextDouble() * 1_000.0, rng.nextDouble() * 1_000.0);
+            points.add(point);
+            grid.insert(point, point.x, point.y);
+        }
+
+        for (int i = 0; i < 150; ++i)
+        {
+            Point point = points.remove(rng.nextInt(points.size()));
+            assertTrue(grid.remove(point, point.x, point.y));
+            assertFalse(grid.remove(point, point.x, point.y));
+            assertNotSame(point, grid.nearest(point.x, point.y, 0.0));
+        }
+
+        assertEquals(points.size(), grid.size());
+        for (Point point : points)
+        {
+            assertSame(point, grid.nearest(point.x, point.y, 0.0));
+        }
+    }
+
+    @Test
+    public void removingTheOnlyItemEmptiesTheGrid()
+    {
+        SpatialGrid<Point> grid = new SpatialGrid<>(20.0, 16);
+        Point point = new Point(5.0, 5.0);
+        grid.insert(point, point.x, point.y);
+        assertTrue(grid.remove(point, point.x, point.y));
+        assertEquals(0, grid.size());
+        assertNull(grid.nearest(5.0, 5.0, 50.0));
+    }
+}